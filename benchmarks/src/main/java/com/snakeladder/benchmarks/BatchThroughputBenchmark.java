@@ -0,0 +1,75 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.engine.BatchGameEngine;
+import com.snakeladder.engine.CompactGameEngine;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.strategy.SplittableDice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Games per second on one thread: CompactGameEngine one game at a time against
+ * BatchGameEngine in lock-step, with the vector and scalar kernels
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"--add-modules", "jdk.incubator.vector"})
+@State(Scope.Thread)
+public class BatchThroughputBenchmark {
+    private static final int GAMES = 16_384;
+    
+    @Param({"3"})
+    public int players;
+    
+    @Param({"vector", "scalar"})
+    public String kernel;
+    
+    @Param({"256"})
+    public int lanes;
+    
+    private CompactGameEngine compactEngine;
+    private BatchGameEngine batchEngine;
+    private long turns;
+    
+    @Setup
+    public void setUp() {
+        System.setProperty(BatchGameEngine.SCALAR_PROPERTY, Boolean.toString("scalar".equals(kernel)));
+        GameBoard board = GameBoard.standard();
+        compactEngine = new CompactGameEngine(board, new SplittableDice(42L), players);
+        batchEngine = new BatchGameEngine(board, new SplittableDice(42L), players, lanes);
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long compactGames() {
+        long total = 0;
+        for (int i = 0; i < GAMES; i++) {
+            compactEngine.reset();
+            compactEngine.playGame();
+            total += compactEngine.getState().getTurns();
+        }
+        return total;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(GAMES)
+    public long batchGames() {
+        turns = 0;
+        batchEngine.playGames(GAMES, (gameTurns, winner) -> turns += gameTurns);
+        return turns;
+    }
+}
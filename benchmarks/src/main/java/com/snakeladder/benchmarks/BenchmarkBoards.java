@@ -0,0 +1,44 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Ladder;
+import com.snakeladder.models.Snake;
+
+import java.util.Random;
+
+/**
+ * Boards shared by the benchmarks. The large board is generated from a fixed seed so
+ * every run measures the same layout.
+ */
+final class BenchmarkBoards {
+    static final int LARGE_BOARD_SIZE = 10_000;
+    private static final int LARGE_BOARD_JUMPS = 400;
+    private static final long LARGE_BOARD_SEED = 42L;
+    
+    private BenchmarkBoards() {
+    }
+    
+    static GameBoard byName(String name) {
+        switch (name) {
+            case "default":
+                return GameBoard.standard();
+            case "large":
+                return large();
+            default:
+                throw new IllegalArgumentException("Unknown board: " + name);
+        }
+    }
+    
+    static GameBoard large() {
+        Random random = new Random(LARGE_BOARD_SEED);
+        GameBoard.Builder builder = GameBoard.builder(LARGE_BOARD_SIZE);
+        for (int i = 0; i < LARGE_BOARD_JUMPS; i++) {
+            // Keep jumps off the first and last cells so every game can finish
+            int head = random.nextInt(LARGE_BOARD_SIZE - 20) + 11;
+            builder.addSnake(new Snake(head, head - random.nextInt(10) - 1));
+            int bottom = random.nextInt(LARGE_BOARD_SIZE - 200) + 1;
+            builder.addLadder(new Ladder(bottom, bottom + random.nextInt(100) + 1));
+        }
+        return builder.build();
+    }
+}
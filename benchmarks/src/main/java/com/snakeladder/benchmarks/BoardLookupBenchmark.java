@@ -0,0 +1,81 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+import com.snakeladder.models.Ladder;
+import com.snakeladder.models.Snake;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Resolving a landing cell through the GameBoard's sorted snake and ladder arrays
+ * versus the compiled jump table
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class BoardLookupBenchmark {
+    private static final int LOOKUPS = 1024;
+    
+    @Param({"default", "large"})
+    public String board;
+    
+    private GameBoard gameBoard;
+    private JumpTable jumpTable;
+    private int[] positions;
+    
+    @Setup
+    public void setUp() {
+        gameBoard = BenchmarkBoards.byName(board);
+        jumpTable = gameBoard.compile();
+        positions = new int[LOOKUPS];
+        Random random = new Random(7);
+        for (int i = 0; i < LOOKUPS; i++) {
+            positions[i] = random.nextInt(gameBoard.getBoardSize()) + 1;
+        }
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int sortedArrayLookup() {
+        int sum = 0;
+        for (int position : positions) {
+            if (gameBoard.hasSnake(position)) {
+                Snake snake = gameBoard.getSnake(position);
+                sum += snake.getTail();
+            } else if (gameBoard.hasLadder(position)) {
+                Ladder ladder = gameBoard.getLadder(position);
+                sum += ladder.getTop();
+            } else {
+                sum += position;
+            }
+        }
+        return sum;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(LOOKUPS)
+    public int jumpTableLookup() {
+        int sum = 0;
+        for (int position : positions) {
+            sum += jumpTable.destinationOf(position);
+        }
+        return sum;
+    }
+}
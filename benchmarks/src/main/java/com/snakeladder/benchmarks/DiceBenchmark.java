@@ -0,0 +1,132 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.strategy.DiceStrategy;
+import com.snakeladder.strategy.RandomGeneratorDice;
+import com.snakeladder.strategy.SplitMixDice;
+import com.snakeladder.strategy.SplittableDice;
+import com.snakeladder.strategy.StandardDice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single dice roll for the available random sources, one call per roll
+ * and in blocks filled by a single call
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class DiceBenchmark {
+    private static final int BLOCK = 256;
+    
+    @State(Scope.Thread)
+    public static class PerThread {
+        DiceStrategy standardDice;
+        DiceStrategy splittableDice;
+        DiceStrategy splitMixDice;
+        DiceStrategy l64x128Dice;
+        DiceStrategy xoshiroDice;
+        Random random;
+        int[] block = new int[BLOCK];
+        
+        @Setup
+        public void setUp() {
+            standardDice = new StandardDice(42L);
+            splittableDice = new SplittableDice(42L);
+            splitMixDice = new SplitMixDice(42L);
+            l64x128Dice = new RandomGeneratorDice("L64X128MixRandom", 42L);
+            xoshiroDice = new RandomGeneratorDice("Xoshiro256PlusPlus", 42L);
+            random = new Random(42L);
+        }
+    }
+    
+    @State(Scope.Benchmark)
+    public static class Shared {
+        DiceStrategy standardDice;
+        
+        @Setup
+        public void setUp() {
+            standardDice = new StandardDice();
+        }
+    }
+    
+    @Benchmark
+    public int standardDice(PerThread state) {
+        return state.standardDice.roll();
+    }
+    
+    @Benchmark
+    public int splittableDice(PerThread state) {
+        return state.splittableDice.roll();
+    }
+    
+    @Benchmark
+    public int splitMixDice(PerThread state) {
+        return state.splitMixDice.roll();
+    }
+    
+    @Benchmark
+    public int l64x128Dice(PerThread state) {
+        return state.l64x128Dice.roll();
+    }
+    
+    @Benchmark
+    public int xoshiroDice(PerThread state) {
+        return state.xoshiroDice.roll();
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public int[] splittableDiceBlock(PerThread state) {
+        state.splittableDice.roll(state.block, 0, BLOCK);
+        return state.block;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public int[] l64x128DiceBlock(PerThread state) {
+        state.l64x128Dice.roll(state.block, 0, BLOCK);
+        return state.block;
+    }
+    
+    @Benchmark
+    @OperationsPerInvocation(BLOCK)
+    public int[] xoshiroDiceBlock(PerThread state) {
+        state.xoshiroDice.roll(state.block, 0, BLOCK);
+        return state.block;
+    }
+    
+    @Benchmark
+    public int javaUtilRandom(PerThread state) {
+        return state.random.nextInt(6) + 1;
+    }
+    
+    @Benchmark
+    public int threadLocalRandom() {
+        return ThreadLocalRandom.current().nextInt(6) + 1;
+    }
+    
+    /**
+     * One StandardDice shared by several threads, the way a shared Random is contended
+     */
+    @Benchmark
+    @Threads(4)
+    public int sharedStandardDice(Shared state) {
+        return state.standardDice.roll();
+    }
+}
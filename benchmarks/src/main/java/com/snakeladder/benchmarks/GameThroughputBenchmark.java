@@ -0,0 +1,69 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.engine.CompactGameEngine;
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.strategy.SplittableDice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Whole games per second, from setup to the winning turn, through GameEngine
+ * and through the allocation-free CompactGameEngine
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+@State(Scope.Thread)
+public class GameThroughputBenchmark {
+    
+    @Param({"2", "3", "4", "5", "6"})
+    public int players;
+    
+    @Param({"default", "large"})
+    public String board;
+    
+    private GameBoard gameBoard;
+    private CompactGameEngine compactEngine;
+    
+    @Setup
+    public void setUp() {
+        gameBoard = BenchmarkBoards.byName(board);
+        compactEngine = new CompactGameEngine(gameBoard, new SplittableDice(42L), players);
+    }
+    
+    @Benchmark
+    public int playGame() {
+        GameEngine engine = new GameEngine(gameBoard);
+        for (int i = 0; i < players; i++) {
+            engine.addPlayer(new Player("Player " + (i + 1), i + 1));
+        }
+        engine.startGame();
+        int turns = 0;
+        while (engine.playTurn()) {
+            turns++;
+        }
+        return turns;
+    }
+    
+    @Benchmark
+    public long playCompactGame() {
+        compactEngine.reset();
+        compactEngine.playGame();
+        return compactEngine.getState().getTurns();
+    }
+}
@@ -0,0 +1,113 @@
+package com.snakeladder.benchmarks;
+
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.observer.GameObserver;
+import com.snakeladder.strategy.SplittableDice;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of a single GameEngine.playTurn, with and without an observer attached. The
+ * dice are seeded so every run plays the same games, and a finished game is reset in
+ * place, so the measured turns allocate nothing.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Thread)
+public class TurnBenchmark {
+    
+    @Param({"false", "true"})
+    public boolean withObserver;
+    
+    private GameEngine engine;
+    private Player first;
+    private Player second;
+    
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        engine = new GameEngine(GameBoard.standard(), new Dice(new SplittableDice(42L)));
+        first = new Player("A", 1);
+        second = new Player("B", 2);
+        if (withObserver) {
+            engine.addObserver(new BlackholeObserver(blackhole));
+        }
+        newGame();
+    }
+    
+    private void newGame() {
+        engine.reset();
+        first.setPosition(0);
+        second.setPosition(0);
+        engine.addPlayer(first);
+        engine.addPlayer(second);
+        engine.startGame();
+    }
+    
+    @Benchmark
+    public boolean playTurn() {
+        boolean continues = engine.playTurn();
+        if (!continues) {
+            newGame();
+        }
+        return continues;
+    }
+    
+    /**
+     * Observer that consumes every event so the callbacks cannot be optimised away
+     */
+    static final class BlackholeObserver implements GameObserver {
+        private final Blackhole blackhole;
+        
+        BlackholeObserver(Blackhole blackhole) {
+            this.blackhole = blackhole;
+        }
+        
+        @Override
+        public void onPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+            blackhole.consume(newPosition);
+        }
+        
+        @Override
+        public void onSnakeEncountered(Player player, int snakeHead, int snakeTail) {
+            blackhole.consume(snakeTail);
+        }
+        
+        @Override
+        public void onLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+            blackhole.consume(ladderTop);
+        }
+        
+        @Override
+        public void onGameWon(Player winner) {
+            blackhole.consume(winner);
+        }
+        
+        @Override
+        public void onGameStarted() {
+            blackhole.consume(true);
+        }
+        
+        @Override
+        public void onTurnChanged(Player currentPlayer) {
+            blackhole.consume(currentPlayer);
+        }
+    }
+}
@@ -1,13 +1,20 @@
 package com.snakeladder;
 
+import com.snakeladder.cli.ConsoleRenderer;
 import com.snakeladder.cli.GameCLI;
 
+import java.time.Duration;
+
 /**
- * Main application class for Snake & Ladder game
+ * Main application class for Snake & Ladder game.
+ * Usage: SnakeLadderGame [turn delay in ms], where 0 replays turns without pausing
  */
 public class SnakeLadderGame {
     public static void main(String[] args) {
-        GameCLI gameCLI = new GameCLI();
+        Duration turnDelay = args.length > 0
+                ? Duration.ofMillis(Long.parseLong(args[0]))
+                : ConsoleRenderer.DEFAULT_TURN_DELAY;
+        GameCLI gameCLI = new GameCLI(turnDelay);
         
         // Add shutdown hook for cleanup
         Runtime.getRuntime().addShutdownHook(new Thread(() -> {
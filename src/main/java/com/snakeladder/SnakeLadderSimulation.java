@@ -0,0 +1,56 @@
+package com.snakeladder;
+
+import com.snakeladder.engine.BatchGameEngine;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.simulation.BatchSimulator;
+import com.snakeladder.simulation.MonteCarloSimulator;
+import com.snakeladder.simulation.SimulationResult;
+import com.snakeladder.strategy.RandomGeneratorDice;
+import com.snakeladder.strategy.SplittableDice;
+import com.snakeladder.strategy.SplittableDiceStrategy;
+
+import java.util.function.LongFunction;
+
+/**
+ * Headless entry point that runs a bulk Monte Carlo simulation on the default board.
+ * Usage: SnakeLadderSimulation [games] [players] [seed] [generator] [engine]
+ *
+ * The generator is "splittable" (SplittableRandom, the default) or the name of a
+ * splittable or jumpable java.util.random algorithm such as L64X128MixRandom.
+ * The engine is "compact" (one game at a time, the default) or "batch" (many games
+ * in lock-step; add --add-modules jdk.incubator.vector to the JVM to vectorize it).
+ */
+public class SnakeLadderSimulation {
+    public static void main(String[] args) {
+        long games = args.length > 0 ? Long.parseLong(args[0]) : 1_000_000L;
+        int players = args.length > 1 ? Integer.parseInt(args[1]) : 2;
+        long seed = args.length > 2 ? Long.parseLong(args[2]) : System.nanoTime();
+        String generator = args.length > 3 ? args[3] : "splittable";
+        String engine = args.length > 4 ? args[4] : "compact";
+        
+        int cores = Runtime.getRuntime().availableProcessors();
+        LongFunction<SplittableDiceStrategy> diceFactory = "splittable".equals(generator)
+                ? SplittableDice::new
+                : s -> new RandomGeneratorDice(generator, s);
+        
+        SimulationResult result;
+        if ("batch".equals(engine)) {
+            BatchSimulator simulator = new BatchSimulator(GameBoard.standard(), players, cores,
+                    BatchGameEngine.DEFAULT_LANES, diceFactory);
+            if (simulator.isVectorized()) {
+                engine = "batch, vectorized";
+            }
+            // Warm up so the reported throughput reflects compiled code
+            simulator.run(Math.min(games, 200_000L), seed);
+            result = simulator.run(games, seed);
+        } else {
+            MonteCarloSimulator simulator = new MonteCarloSimulator(GameBoard.standard(), players, cores, diceFactory);
+            simulator.run(Math.min(games, 200_000L), seed);
+            result = simulator.run(games, seed);
+        }
+        
+        System.out.printf("Simulated %d-player games on %d cores (seed %d, %s, %s)%n",
+                players, cores, seed, generator, engine);
+        System.out.print(result.summary());
+    }
+}
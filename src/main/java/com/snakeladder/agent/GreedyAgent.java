@@ -0,0 +1,18 @@
+package com.snakeladder.agent;
+
+/**
+ * Takes whichever option moves the token furthest this turn
+ */
+public class GreedyAgent implements PlayerAgent {
+    
+    @Override
+    public int choose(MoveOptions options) {
+        int best = 0;
+        for (int option = 1; option < options.getCount(); option++) {
+            if (options.getDestination(option) > options.getDestination(best)) {
+                best = option;
+            }
+        }
+        return best;
+    }
+}
@@ -0,0 +1,179 @@
+package com.snakeladder.agent;
+
+import com.snakeladder.rules.TransitionTable;
+
+import java.time.Duration;
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * Scores each option by playing random games to the end from the position it leads
+ * to and picks the one the mover wins most often. Rollouts run in parallel on a
+ * ForkJoinPool and stop early when the time budget runs out; every player in a
+ * rollout moves greedily under the game's rules, though extra turns are not played.
+ *
+ * All rollouts start from one read-only copy of the positions. A task only copies
+ * that root into its own scratch array when a rollout begins, so nothing is
+ * allocated per rollout and the engine's state is never touched.
+ */
+public class MonteCarloAgent implements PlayerAgent {
+    public static final int DEFAULT_ROLLOUTS = 2048;
+    public static final Duration DEFAULT_BUDGET = Duration.ofMillis(1);
+    
+    private static final int ROLLOUTS_PER_TASK = 64;
+    private static final int MAX_ROLLOUT_TURNS = 100_000;
+    
+    private final int rollouts;
+    private final long budgetNanos;
+    private final ForkJoinPool pool;
+    private final SplittableRandom random;
+    
+    public MonteCarloAgent(long seed) {
+        this(DEFAULT_ROLLOUTS, DEFAULT_BUDGET, seed, ForkJoinPool.commonPool());
+    }
+    
+    /**
+     * @param rollouts games to play per decision, shared out across the options
+     * @param budget   time after which a decision uses the rollouts finished so far
+     */
+    public MonteCarloAgent(int rollouts, Duration budget, long seed, ForkJoinPool pool) {
+        if (rollouts < 1) {
+            throw new IllegalArgumentException("At least 1 rollout required");
+        }
+        if (budget.isNegative() || budget.isZero()) {
+            throw new IllegalArgumentException("Time budget must be positive");
+        }
+        this.rollouts = rollouts;
+        this.budgetNanos = budget.toNanos();
+        this.pool = pool;
+        this.random = new SplittableRandom(seed);
+    }
+    
+    @Override
+    public int choose(MoveOptions options) {
+        int count = options.getCount();
+        if (count == 1) {
+            return 0;
+        }
+        long deadline = System.nanoTime() + budgetNanos;
+        Rollouts shared = new Rollouts(options);
+        
+        int perOption = Math.max(1, rollouts / count);
+        int tasksPerOption = (perOption + ROLLOUTS_PER_TASK - 1) / ROLLOUTS_PER_TASK;
+        RolloutTask[] tasks = new RolloutTask[count * tasksPerOption];
+        for (int option = 0; option < count; option++) {
+            int destination = options.getDestination(option);
+            for (int i = 0; i < tasksPerOption; i++) {
+                int games = Math.min(ROLLOUTS_PER_TASK, perOption - i * ROLLOUTS_PER_TASK);
+                tasks[option * tasksPerOption + i] =
+                        new RolloutTask(shared, destination, games, deadline, random.split());
+            }
+        }
+        pool.invoke(ForkJoinTask.adapt(() -> ForkJoinTask.invokeAll(tasks)));
+        
+        int best = 0;
+        double bestRate = -1;
+        for (int option = 0; option < count; option++) {
+            long wins = 0;
+            long played = 0;
+            for (int i = 0; i < tasksPerOption; i++) {
+                RolloutTask task = tasks[option * tasksPerOption + i];
+                wins += task.wins;
+                played += task.played;
+            }
+            double rate = played == 0 ? 0 : (double) wins / played;
+            if (rate > bestRate) {
+                best = option;
+                bestRate = rate;
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Read-only inputs shared by every rollout of one decision
+     */
+    private static final class Rollouts {
+        final TransitionTable transitions;
+        final int boardSize;
+        final int faces;
+        final int diceCount;
+        final int seat;
+        final int[] root;
+        
+        Rollouts(MoveOptions options) {
+            this.transitions = options.getTransitions();
+            this.boardSize = options.getBoardSize();
+            this.faces = options.getFaces();
+            this.diceCount = options.getDiceCount();
+            this.seat = options.getSeat();
+            this.root = new int[options.getPlayerCount()];
+            options.copyPositions(root);
+        }
+    }
+    
+    @SuppressWarnings("serial") // Tasks are never serialized
+    private static final class RolloutTask extends RecursiveAction {
+        private final Rollouts shared;
+        private final int destination;
+        private final int games;
+        private final long deadline;
+        private final SplittableRandom random;
+        long wins;
+        long played;
+        
+        RolloutTask(Rollouts shared, int destination, int games, long deadline, SplittableRandom random) {
+            this.shared = shared;
+            this.destination = destination;
+            this.games = games;
+            this.deadline = deadline;
+            this.random = random;
+        }
+        
+        @Override
+        protected void compute() {
+            if (destination == shared.boardSize) {
+                wins = games;
+                played = games;
+                return;
+            }
+            int[] positions = new int[shared.root.length];
+            for (int game = 0; game < games; game++) {
+                // Always finish at least one game so every option gets a score
+                if (game > 0 && (game & 15) == 0 && System.nanoTime() - deadline > 0) {
+                    break;
+                }
+                System.arraycopy(shared.root, 0, positions, 0, positions.length);
+                positions[shared.seat] = destination;
+                if (playOut(positions) == shared.seat) {
+                    wins++;
+                }
+                played++;
+            }
+        }
+        
+        /**
+         * Plays greedily from the turn after the decision and returns the winning seat,
+         * or -1 if the game runs too long
+         */
+        private int playOut(int[] positions) {
+            Rollouts s = shared;
+            int seat = s.seat;
+            for (int turn = 0; turn < MAX_ROLLOUT_TURNS; turn++) {
+                seat = seat + 1 == positions.length ? 0 : seat + 1;
+                int from = positions[seat];
+                int best = -1;
+                for (int die = 0; die < s.diceCount; die++) {
+                    best = Math.max(best, s.transitions.destination(from, random.nextInt(s.faces) + 1));
+                }
+                positions[seat] = best;
+                if (best == s.boardSize) {
+                    return seat;
+                }
+            }
+            return -1;
+        }
+    }
+}
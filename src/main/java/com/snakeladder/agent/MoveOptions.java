@@ -0,0 +1,164 @@
+package com.snakeladder.agent;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+import com.snakeladder.rules.TransitionTable;
+
+import java.util.Arrays;
+
+/**
+ * The moves open to the player whose turn it is, together with where every player
+ * stands. Each offered die gives one option: the cell it lands on and the cell the
+ * token ends up on after any jump, both under the game's rules. With optional ladders
+ * a die that lands on a ladder gives a second option that stays at the bottom;
+ * snakes are never optional.
+ *
+ * An instance is filled once per turn and reused, so agents must not keep it.
+ */
+public class MoveOptions {
+    private final GameBoard board;
+    private final TransitionTable transitions;
+    private final JumpTable jumpTable;
+    private final int boardSize;
+    private final boolean optionalLadders;
+    
+    private int seat;
+    private int playerCount;
+    private int faces;
+    private int diceCount;
+    private int[] positions = new int[4];
+    private int count;
+    private int[] rolls = new int[4];
+    private int[] landed = new int[4];
+    private int[] destinations = new int[4];
+    
+    public MoveOptions(TransitionTable transitions, boolean optionalLadders) {
+        this.board = transitions.getBoard();
+        this.transitions = transitions;
+        this.jumpTable = board.compile();
+        this.boardSize = board.getBoardSize();
+        this.optionalLadders = optionalLadders;
+    }
+    
+    /**
+     * Starts a new turn for the given seat; positions are then set with
+     * {@link #setPosition(int, int)} and the dice with {@link #offer(int[], int)}
+     */
+    public void begin(int seat, int playerCount, int faces) {
+        if (playerCount > positions.length) {
+            positions = new int[Math.max(playerCount, positions.length * 2)];
+        }
+        this.seat = seat;
+        this.playerCount = playerCount;
+        this.faces = faces;
+        this.count = 0;
+    }
+    
+    public void setPosition(int seat, int position) {
+        positions[seat] = position;
+    }
+    
+    /**
+     * Builds the options for the given dice values
+     */
+    public void offer(int[] dice, int diceCount) {
+        int from = positions[seat];
+        this.diceCount = diceCount;
+        count = 0;
+        for (int i = 0; i < diceCount; i++) {
+            int roll = dice[i];
+            int target = transitions.landed(from, roll);
+            add(roll, target, transitions.destination(from, roll));
+            if (optionalLadders && jumpTable.destinationOf(target) > target) {
+                add(roll, target, target);
+            }
+        }
+    }
+    
+    private void add(int roll, int target, int destination) {
+        if (count == rolls.length) {
+            rolls = Arrays.copyOf(rolls, count * 2);
+            landed = Arrays.copyOf(landed, count * 2);
+            destinations = Arrays.copyOf(destinations, count * 2);
+        }
+        rolls[count] = roll;
+        landed[count] = target;
+        destinations[count] = destination;
+        count++;
+    }
+    
+    public int getCount() {
+        return count;
+    }
+    
+    public int getRoll(int option) {
+        return rolls[option];
+    }
+    
+    /**
+     * Cell the dice move ends on, before any snake or ladder
+     */
+    public int getLanded(int option) {
+        return landed[option];
+    }
+    
+    /**
+     * Cell the token rests on if this option is chosen
+     */
+    public int getDestination(int option) {
+        return destinations[option];
+    }
+    
+    public boolean takesJump(int option) {
+        return destinations[option] != landed[option];
+    }
+    
+    public int getSeat() {
+        return seat;
+    }
+    
+    public int getPlayerCount() {
+        return playerCount;
+    }
+    
+    public int getPosition(int seat) {
+        return positions[seat];
+    }
+    
+    /**
+     * Copies every player's position, indexed by seat, into the given array
+     */
+    public void copyPositions(int[] target) {
+        System.arraycopy(positions, 0, target, 0, playerCount);
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+    
+    /**
+     * Number of dice rolled this turn
+     */
+    public int getDiceCount() {
+        return diceCount;
+    }
+    
+    public GameBoard getBoard() {
+        return board;
+    }
+    
+    /**
+     * The game's rules compiled for this board
+     */
+    public TransitionTable getTransitions() {
+        return transitions;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    public boolean isOptionalLadders() {
+        return optionalLadders;
+    }
+}
@@ -0,0 +1,14 @@
+package com.snakeladder.agent;
+
+/**
+ * Decision hook that GameEngine consults when a turn offers more than one move, for
+ * example a choice between several dice or whether to climb a ladder
+ */
+@FunctionalInterface
+public interface PlayerAgent {
+    /**
+     * Returns the index of the chosen option, from 0 to options.getCount() - 1. The
+     * options object is reused by the engine once this method returns.
+     */
+    int choose(MoveOptions options);
+}
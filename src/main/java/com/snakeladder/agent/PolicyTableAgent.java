@@ -0,0 +1,98 @@
+package com.snakeladder.agent;
+
+import com.snakeladder.analytics.MarkovChainSolver;
+import com.snakeladder.analytics.PolicySolver;
+import com.snakeladder.analytics.PolicyTable;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.rules.TransitionTable;
+
+/**
+ * Picks the option whose destination ranks best in a precomputed policy table,
+ * normally ranked by the expected number of own turns still needed to finish from
+ * each cell. Deciding is one array read per option.
+ *
+ * The table must have been solved for the game being played: board, die, dice
+ * offered, optional ladders and rules. A mismatch fails the turn rather than playing
+ * a policy that was optimal somewhere else.
+ */
+public class PolicyTableAgent implements PlayerAgent {
+    private final PolicyTable table;
+    private TransitionTable checkedTransitions;
+    private int checkedDice;
+    private boolean checkedLadders;
+    
+    public PolicyTableAgent(PolicyTable table) {
+        this.table = table;
+    }
+    
+    /**
+     * Table of expected turns to finish from each cell under the standard rules,
+     * solved exactly from the board's jump table
+     */
+    public static PolicyTableAgent forBoard(GameBoard board, int faces) {
+        double[] expected = new MarkovChainSolver(board, faces).expectedTurns();
+        return new PolicyTableAgent(PolicyTable.fromValues(board, faces, 1, false, expected));
+    }
+    
+    /**
+     * Optimal policy for the given choice rules, solved by value iteration
+     */
+    public static PolicyTableAgent forRules(GameBoard board, int faces, int diceOffered, boolean optionalLadders) {
+        return forRules(board, RuleSet.standard(), faces, diceOffered, optionalLadders);
+    }
+    
+    /**
+     * Optimal policy for the given positional rules and choice rules
+     */
+    public static PolicyTableAgent forRules(GameBoard board, RuleSet rules, int faces, int diceOffered,
+                                            boolean optionalLadders) {
+        return new PolicyTableAgent(new PolicySolver(board, rules, faces, diceOffered, optionalLadders)
+                .solve()
+                .toPolicyTable());
+    }
+    
+    @Override
+    public int choose(MoveOptions options) {
+        // The compiled rules stand for the board, rules and die together
+        if (options.getTransitions() != checkedTransitions || options.getDiceCount() != checkedDice
+                || options.isOptionalLadders() != checkedLadders) {
+            check(options);
+            checkedTransitions = options.getTransitions();
+            checkedDice = options.getDiceCount();
+            checkedLadders = options.isOptionalLadders();
+        }
+        int best = 0;
+        int bestRank = table.rankOf(options.getDestination(0));
+        for (int option = 1; option < options.getCount(); option++) {
+            int rank = table.rankOf(options.getDestination(option));
+            if (rank < bestRank) {
+                best = option;
+                bestRank = rank;
+            }
+        }
+        return best;
+    }
+    
+    private void check(MoveOptions options) {
+        if (!table.isFor(options.getBoard())) {
+            throw new IllegalStateException("Policy table was solved for a different board");
+        }
+        if (!table.isFor(options.getTransitions().getRules())) {
+            throw new IllegalStateException("Policy table was solved for different rules than "
+                    + options.getTransitions().getRules());
+        }
+        if (table.getFaces() != options.getTransitions().getFaces()) {
+            throw new IllegalStateException("Policy table was solved for a " + table.getFaces()
+                    + "-sided die, not " + options.getTransitions().getFaces());
+        }
+        if (table.getDiceOffered() != options.getDiceCount() || table.isOptionalLadders() != options.isOptionalLadders()) {
+            throw new IllegalStateException("Policy table was solved for " + table.getDiceOffered()
+                    + " dice offered" + (table.isOptionalLadders() ? " with optional ladders" : ""));
+        }
+    }
+    
+    public PolicyTable getTable() {
+        return table;
+    }
+}
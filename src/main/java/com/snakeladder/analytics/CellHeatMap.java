@@ -0,0 +1,121 @@
+package com.snakeladder.analytics;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Per-cell visit, landing, snake hit and ladder hit counts shared by any number of
+ * simulation threads. Counts arrive from HeatMapObservers, which tally a thread's
+ * turns in plain arrays and merge them into one of several cache-line-padded
+ * stripes, so parallel runs do not contend on the same counters.
+ */
+public class CellHeatMap {
+    static final int VISITS = 0;
+    static final int LANDINGS = 1;
+    static final int SNAKE_HITS = 2;
+    static final int LADDER_HITS = 3;
+    static final int COUNTERS = 4;
+    
+    private static final int LONGS_PER_LINE = 8;
+    
+    private final int boardSize;
+    private final int stripeStride;
+    private final int stripeMask;
+    private final AtomicLongArray counts;
+    private final LongAdder games = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    private final AtomicInteger nextStripe = new AtomicInteger();
+    
+    public CellHeatMap(int boardSize) {
+        this(boardSize, Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * @param stripes how many copies of the counters to spread writers over; rounded
+     *                up to a power of two
+     */
+    public CellHeatMap(int boardSize, int stripes) {
+        if (boardSize < 1) {
+            throw new IllegalArgumentException("Board size must be positive");
+        }
+        if (stripes < 1) {
+            throw new IllegalArgumentException("At least 1 stripe required");
+        }
+        int stripeCount = 1;
+        while (stripeCount < stripes) {
+            stripeCount <<= 1;
+        }
+        // Whole cache lines per stripe plus one spare line so stripes never share a line
+        long longs = (long) (boardSize + 1) * COUNTERS;
+        long stride = (longs + LONGS_PER_LINE - 1) / LONGS_PER_LINE * LONGS_PER_LINE + LONGS_PER_LINE;
+        if (stride * stripeCount > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Board too large for a heat map with " + stripeCount + " stripes");
+        }
+        this.boardSize = boardSize;
+        this.stripeStride = (int) stride;
+        this.stripeMask = stripeCount - 1;
+        this.counts = new AtomicLongArray(stripeStride * stripeCount);
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    public int getStripeCount() {
+        return stripeMask + 1;
+    }
+    
+    /**
+     * Creates an observer that feeds this heat map. Use one per thread.
+     */
+    public HeatMapObserver newObserver() {
+        return new HeatMapObserver(this);
+    }
+    
+    int claimStripe() {
+        return nextStripe.getAndIncrement() & stripeMask;
+    }
+    
+    /**
+     * Adds an observer's local tallies, laid out as COUNTERS longs per cell, to a stripe
+     */
+    void merge(int stripe, long[] local, long gameCount, long turnCount) {
+        int base = stripe * stripeStride;
+        for (int i = 0; i < local.length; i++) {
+            if (local[i] != 0) {
+                counts.getAndAdd(base + i, local[i]);
+            }
+        }
+        if (gameCount != 0) {
+            games.add(gameCount);
+        }
+        if (turnCount != 0) {
+            turns.add(turnCount);
+        }
+    }
+    
+    /**
+     * Sums every stripe into an immutable snapshot. Counts merged while the snapshot
+     * is taken may or may not be included.
+     */
+    public HeatMapSnapshot snapshot() {
+        int cells = boardSize + 1;
+        long[] visits = new long[cells];
+        long[] landings = new long[cells];
+        long[] snakeHits = new long[cells];
+        long[] ladderHits = new long[cells];
+        for (int stripe = 0; stripe <= stripeMask; stripe++) {
+            int base = stripe * stripeStride;
+            for (int cell = 0; cell < cells; cell++) {
+                int slot = base + cell * COUNTERS;
+                visits[cell] += counts.get(slot + VISITS);
+                landings[cell] += counts.get(slot + LANDINGS);
+                snakeHits[cell] += counts.get(slot + SNAKE_HITS);
+                ladderHits[cell] += counts.get(slot + LADDER_HITS);
+            }
+        }
+        return new HeatMapSnapshot(System.currentTimeMillis(), games.sum(), turns.sum(),
+                visits, landings, snakeHits, ladderHits);
+    }
+}
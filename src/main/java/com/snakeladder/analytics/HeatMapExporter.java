@@ -0,0 +1,84 @@
+package com.snakeladder.analytics;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Hands a snapshot of a CellHeatMap to a sink at a fixed interval on a background
+ * thread, and once more when closed. Only merged counts appear, so observers that
+ * have not flushed yet are missing from a snapshot until they do.
+ */
+public class HeatMapExporter implements AutoCloseable {
+    private final CellHeatMap heatMap;
+    private final Consumer<HeatMapSnapshot> sink;
+    private final ScheduledExecutorService scheduler;
+    private volatile long failedCount;
+    
+    public HeatMapExporter(CellHeatMap heatMap, Duration interval, Consumer<HeatMapSnapshot> sink) {
+        if (interval.isNegative() || interval.isZero()) {
+            throw new IllegalArgumentException("Export interval must be positive");
+        }
+        this.heatMap = heatMap;
+        this.sink = sink;
+        this.scheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "heat-map-export");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toNanos();
+        scheduler.scheduleAtFixedRate(this::scheduledExport, period, period, TimeUnit.NANOSECONDS);
+    }
+    
+    /**
+     * Sink that replaces the given CSV file with each snapshot
+     */
+    public static Consumer<HeatMapSnapshot> csvFile(Path file) {
+        return snapshot -> {
+            try {
+                snapshot.writeCsv(file);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+    }
+    
+    private void export() {
+        sink.accept(heatMap.snapshot());
+    }
+    
+    private void scheduledExport() {
+        try {
+            export();
+        } catch (RuntimeException e) {
+            // A task that throws is never run again, so one failed write must not end the schedule
+            failedCount++;
+        }
+    }
+    
+    /**
+     * Scheduled exports whose sink threw; the final export on close reports its own failure
+     */
+    public long getFailedCount() {
+        return failedCount;
+    }
+    
+    /**
+     * Stops the schedule and exports a final snapshot on the calling thread
+     */
+    @Override
+    public void close() {
+        scheduler.shutdown();
+        try {
+            scheduler.awaitTermination(1, TimeUnit.MINUTES);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        export();
+    }
+}
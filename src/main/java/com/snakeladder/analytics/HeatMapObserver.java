@@ -0,0 +1,120 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.observer.BatchGameObserver;
+import com.snakeladder.observer.GameEvent;
+
+import java.util.Arrays;
+
+/**
+ * Batch observer that tallies where tokens land and rest into a CellHeatMap. It keeps
+ * plain per-cell arrays and merges them into its own stripe of the heat map every
+ * {@code flushTurns} turns, so it needs no locks on the turn path.
+ *
+ * An observer is not thread-safe: give each simulation thread its own and attach it
+ * to every engine that thread runs, then call {@link #flush()} when the thread is done.
+ */
+public class HeatMapObserver implements BatchGameObserver {
+    public static final int DEFAULT_FLUSH_TURNS = 1 << 14;
+    
+    private final CellHeatMap heatMap;
+    private final int stripe;
+    private final int boardSize;
+    private final long[] local;
+    private final int flushTurns;
+    private int turnsSinceFlush;
+    private long games;
+    
+    private boolean pending;
+    private int landed;
+    private int rest;
+    
+    public HeatMapObserver(CellHeatMap heatMap) {
+        this(heatMap, DEFAULT_FLUSH_TURNS);
+    }
+    
+    public HeatMapObserver(CellHeatMap heatMap, int flushTurns) {
+        if (flushTurns < 1) {
+            throw new IllegalArgumentException("Flush interval must be at least 1 turn");
+        }
+        this.heatMap = heatMap;
+        this.stripe = heatMap.claimStripe();
+        this.boardSize = heatMap.getBoardSize();
+        this.local = new long[(boardSize + 1) * CellHeatMap.COUNTERS];
+        this.flushTurns = flushTurns;
+    }
+    
+    @Override
+    public void onEvents(GameEvent[] events, int count) {
+        for (int i = 0; i < count; i++) {
+            GameEvent event = events[i];
+            switch (event.getType()) {
+                case PLAYER_MOVED:
+                    recordPending();
+                    pending = true;
+                    landed = event.getTo();
+                    rest = landed;
+                    break;
+                case SNAKE_ENCOUNTERED:
+                case LADDER_ENCOUNTERED:
+                    rest = event.getTo();
+                    break;
+                case GAME_WON:
+                    games++;
+                    break;
+                default:
+                    break;
+            }
+        }
+        recordPending();
+        if (turnsSinceFlush >= flushTurns) {
+            flush();
+        }
+    }
+    
+    private void recordPending() {
+        if (pending) {
+            pending = false;
+            recordTurn(landed, rest);
+        }
+    }
+    
+    /**
+     * Counts one turn directly, for engines that do not publish events: the cell the
+     * dice move ended on (the old cell on an overshoot) and the cell the token rests
+     * on after any snake or ladder
+     */
+    public void recordTurn(int landed, int rest) {
+        if (landed < 0 || landed > boardSize || rest < 0 || rest > boardSize) {
+            throw new IllegalArgumentException("Cell outside a board of " + boardSize);
+        }
+        local[landed * CellHeatMap.COUNTERS + CellHeatMap.LANDINGS]++;
+        local[rest * CellHeatMap.COUNTERS + CellHeatMap.VISITS]++;
+        if (rest < landed) {
+            local[landed * CellHeatMap.COUNTERS + CellHeatMap.SNAKE_HITS]++;
+        } else if (rest > landed) {
+            local[landed * CellHeatMap.COUNTERS + CellHeatMap.LADDER_HITS]++;
+        }
+        turnsSinceFlush++;
+    }
+    
+    /**
+     * Counts a finished game when recording turns directly
+     */
+    public void recordGame() {
+        games++;
+    }
+    
+    /**
+     * Merges everything counted since the last flush into the heat map
+     */
+    public void flush() {
+        heatMap.merge(stripe, local, games, turnsSinceFlush);
+        Arrays.fill(local, 0L);
+        games = 0;
+        turnsSinceFlush = 0;
+    }
+    
+    public CellHeatMap getHeatMap() {
+        return heatMap;
+    }
+}
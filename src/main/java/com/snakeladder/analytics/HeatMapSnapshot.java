@@ -0,0 +1,123 @@
+package com.snakeladder.analytics;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * Immutable per-cell totals taken from a CellHeatMap at one point in time.
+ *
+ * A landing is the cell a dice move ends on (the old cell on an overshoot); a visit
+ * is the cell a token rests on once any snake or ladder has been followed. Snake
+ * and ladder hits are counted on the head and bottom cell respectively.
+ */
+public class HeatMapSnapshot {
+    private final long timestampMillis;
+    private final long games;
+    private final long turns;
+    private final long[] visits;
+    private final long[] landings;
+    private final long[] snakeHits;
+    private final long[] ladderHits;
+    
+    HeatMapSnapshot(long timestampMillis, long games, long turns,
+                    long[] visits, long[] landings, long[] snakeHits, long[] ladderHits) {
+        this.timestampMillis = timestampMillis;
+        this.games = games;
+        this.turns = turns;
+        this.visits = visits;
+        this.landings = landings;
+        this.snakeHits = snakeHits;
+        this.ladderHits = ladderHits;
+    }
+    
+    public long getTimestampMillis() {
+        return timestampMillis;
+    }
+    
+    public int getBoardSize() {
+        return visits.length - 1;
+    }
+    
+    public long getGames() {
+        return games;
+    }
+    
+    public long getTurns() {
+        return turns;
+    }
+    
+    public long getVisits(int cell) {
+        return visits[cell];
+    }
+    
+    public long getLandings(int cell) {
+        return landings[cell];
+    }
+    
+    public long getSnakeHits(int cell) {
+        return snakeHits[cell];
+    }
+    
+    public long getLadderHits(int cell) {
+        return ladderHits[cell];
+    }
+    
+    /**
+     * Share of all turns that ended with a token resting on this cell
+     */
+    public double getVisitFrequency(int cell) {
+        return turns == 0 ? 0 : (double) visits[cell] / turns;
+    }
+    
+    /**
+     * Average number of times per finished game that the snake or ladder on this
+     * cell was taken
+     */
+    public double getJumpsPerGame(int cell) {
+        return games == 0 ? 0 : (double) (snakeHits[cell] + ladderHits[cell]) / games;
+    }
+    
+    public long[] getVisits() {
+        return Arrays.copyOf(visits, visits.length);
+    }
+    
+    public long[] getLandings() {
+        return Arrays.copyOf(landings, landings.length);
+    }
+    
+    /**
+     * Writes one CSV row per cell: cell, visits, landings, snake hits, ladder hits
+     */
+    public void writeCsv(Writer out) throws IOException {
+        out.write("cell,visits,landings,snake_hits,ladder_hits\n");
+        StringBuilder row = new StringBuilder(64);
+        for (int cell = 0; cell < visits.length; cell++) {
+            row.setLength(0);
+            row.append(cell).append(',').append(visits[cell]).append(',').append(landings[cell])
+                    .append(',').append(snakeHits[cell]).append(',').append(ladderHits[cell]).append('\n');
+            out.append(row);
+        }
+    }
+    
+    /**
+     * Writes the CSV to a temporary file and moves it into place, so readers never
+     * see a half-written export
+     */
+    public void writeCsv(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        try (Writer out = Files.newBufferedWriter(temp, StandardCharsets.UTF_8)) {
+            writeCsv(out);
+        }
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("HeatMapSnapshot{boardSize=%d, games=%d, turns=%d}", getBoardSize(), games, turns);
+    }
+}
@@ -0,0 +1,380 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+import com.snakeladder.strategy.DiceStrategy;
+
+import java.util.Arrays;
+
+/**
+ * Exact solver for the absorbing Markov chain of a single player's walk over the board.
+ * Each cell has at most one transition per dice face, so the chain is stored implicitly
+ * through the board's jump table and never materialised as a matrix.
+ */
+public class MarkovChainSolver {
+    private static final int[] NO_TERMS = new int[0];
+    private static final double[] NO_WEIGHTS = new double[0];
+    private static final double DEFAULT_TAIL_MASS = 1e-12;
+    private static final int DEFAULT_MAX_TURNS = 100_000;
+    
+    private final JumpTable jumpTable;
+    private final int boardSize;
+    private final int faces;
+    
+    public MarkovChainSolver(GameBoard board, DiceStrategy dice) {
+        this(board, dice.getMaxValue());
+    }
+    
+    public MarkovChainSolver(GameBoard board, int faces) {
+        if (faces < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        this.jumpTable = board.compile();
+        this.boardSize = board.getBoardSize();
+        this.faces = faces;
+    }
+    
+    /**
+     * Cell reached from a resting cell with the given roll. As in GameEngine.playTurn an
+     * overshoot keeps the old position, and the jump check then runs on that position.
+     */
+    private int next(int position, int roll) {
+        int target = position + roll;
+        return jumpTable.destinationOf(target > boardSize ? position : target);
+    }
+    
+    /**
+     * Expected number of own turns to finish from every cell. Cells from which the
+     * last cell is not reached with certainty are reported as positive infinity.
+     */
+    public double[] expectedTurns() {
+        boolean[] finite = cellsThatFinish();
+        int length = boardSize + 1;
+        
+        // Banded elimination from the last cell down. Forward moves and ladders only refer
+        // to cells that are already eliminated, so each cell is written as a constant plus
+        // terms in the snake tails below it that are still open. The bandwidth is the
+        // number of snakes spanning a cell, which is tiny on real boards, so the whole
+        // solve is a couple of linear passes rather than an iterative method.
+        double[] constants = new double[length];
+        int[][] terms = new int[length][];
+        double[][] weights = new double[length][];
+        terms[boardSize] = NO_TERMS;
+        weights[boardSize] = NO_WEIGHTS;
+        
+        TermAccumulator open = new TermAccumulator(length);
+        for (int cell = boardSize - 1; cell >= 0; cell--) {
+            if (!finite[cell]) {
+                terms[cell] = NO_TERMS;
+                weights[cell] = NO_WEIGHTS;
+                continue;
+            }
+            open.startRow(cell);
+            double constant = faces;
+            int selfLoops = 0;
+            for (int roll = 1; roll <= faces; roll++) {
+                int destination = next(cell, roll);
+                if (destination == cell) {
+                    selfLoops++;
+                } else if (destination < cell) {
+                    open.add(destination, 1.0);
+                } else {
+                    constant += constants[destination];
+                    open.addAll(terms[destination], weights[destination], 1.0);
+                }
+            }
+            
+            // Substitute tails above this cell, highest first; each substitution only
+            // introduces lower tails, so this terminates
+            for (int tail = open.highestAbove(cell); tail >= 0; tail = open.highestAbove(cell)) {
+                double weight = open.take(tail);
+                constant += weight * constants[tail];
+                open.addAll(terms[tail], weights[tail], weight);
+            }
+            
+            double denominator = faces - selfLoops - open.take(cell);
+            constants[cell] = constant / denominator;
+            int remaining = open.countNonZero();
+            terms[cell] = remaining == 0 ? NO_TERMS : new int[remaining];
+            weights[cell] = remaining == 0 ? NO_WEIGHTS : new double[remaining];
+            open.drainInto(terms[cell], weights[cell], denominator);
+        }
+        
+        // Back-substitute from the first cell up; every term refers to a lower cell
+        double[] expected = new double[length];
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!finite[cell]) {
+                expected[cell] = Double.POSITIVE_INFINITY;
+                continue;
+            }
+            double value = constants[cell];
+            int[] cellTerms = terms[cell];
+            double[] cellWeights = weights[cell];
+            for (int i = 0; i < cellTerms.length; i++) {
+                value += cellWeights[i] * expected[cellTerms[i]];
+            }
+            expected[cell] = value;
+        }
+        return expected;
+    }
+    
+    /**
+     * Probability that a single player starting at cell 0 finishes on exactly their t-th turn,
+     * for t = 0 up to the point where less than {@code tailMass} probability remains.
+     */
+    public double[] turnDistribution(double tailMass, int maxTurns) {
+        double[] current = new double[boardSize + 1];
+        double[] next = new double[boardSize + 1];
+        double[] distribution = new double[Math.min(maxTurns, 1024) + 1];
+        current[0] = 1.0;
+        double remaining = 1.0;
+        int low = 0;
+        int high = 0;
+        double share = 1.0 / faces;
+        
+        int turn = 0;
+        while (remaining > tailMass && turn < maxTurns) {
+            turn++;
+            int newLow = boardSize;
+            int newHigh = 0;
+            for (int cell = low; cell <= high; cell++) {
+                double mass = current[cell];
+                if (mass == 0) {
+                    continue;
+                }
+                current[cell] = 0;
+                double part = mass * share;
+                for (int roll = 1; roll <= faces; roll++) {
+                    int destination = next(cell, roll);
+                    next[destination] += part;
+                    if (destination < newLow) newLow = destination;
+                    if (destination > newHigh) newHigh = destination;
+                }
+            }
+            
+            double finished = next[boardSize];
+            next[boardSize] = 0;
+            if (turn >= distribution.length) {
+                distribution = Arrays.copyOf(distribution, Math.min(maxTurns, distribution.length * 2) + 1);
+            }
+            distribution[turn] = finished;
+            remaining -= finished;
+            
+            double[] swap = current;
+            current = next;
+            next = swap;
+            low = newLow;
+            high = Math.min(newHigh, boardSize - 1);
+        }
+        return Arrays.copyOf(distribution, turn + 1);
+    }
+    
+    /**
+     * Solves expected turns, the finishing-turn distribution and per-seat win probabilities
+     * for the given number of players taking turns in seat order, following the
+     * distribution for at most 100,000 turns.
+     *
+     * @throws IllegalStateException if the distribution is not resolved within that many turns
+     */
+    public MarkovSolution solve(int players) {
+        return solve(players, DEFAULT_TAIL_MASS, DEFAULT_MAX_TURNS);
+    }
+    
+    /**
+     * Win probabilities need the whole finishing-turn distribution, which costs a pass
+     * over the occupied cells per turn. A game whose expected length already exceeds
+     * {@code maxTurns} is rejected before that walk starts; otherwise the walk must
+     * leave at most {@code tailMass} unresolved within {@code maxTurns} turns.
+     *
+     * @throws IllegalStateException if the distribution is not resolved within {@code maxTurns} turns
+     */
+    public MarkovSolution solve(int players, double tailMass, int maxTurns) {
+        if (players < 1) {
+            throw new IllegalArgumentException("At least 1 player required");
+        }
+        double[] expected = expectedTurns();
+        if (expected[0] > maxTurns && expected[0] != Double.POSITIVE_INFINITY) {
+            throw new IllegalStateException(String.format(
+                    "A single player needs %.0f turns on average, more than the %d turns the distribution may follow",
+                    expected[0], maxTurns));
+        }
+        double[] distribution = turnDistribution(tailMass, maxTurns);
+        double unresolved = 1;
+        for (double probability : distribution) {
+            unresolved -= probability;
+        }
+        if (unresolved > tailMass) {
+            throw new IllegalStateException(String.format(
+                    "Finishing-turn distribution left %.3g unresolved after %d turns", unresolved, maxTurns));
+        }
+        
+        // Seat k wins on its t-th turn if it finishes then, seats before it have not
+        // finished within t turns and seats after it have not finished within t-1 turns.
+        double[] wins = new double[players];
+        double expectedGameTurns = 0;
+        double finishedBefore = 0;
+        for (int turn = 1; turn < distribution.length; turn++) {
+            double finishedBy = finishedBefore + distribution[turn];
+            double notFinishedBy = Math.max(0, 1 - finishedBy);
+            double notFinishedBefore = Math.max(0, 1 - finishedBefore);
+            for (int seat = 0; seat < players; seat++) {
+                double probability = distribution[turn]
+                        * Math.pow(notFinishedBy, seat)
+                        * Math.pow(notFinishedBefore, players - 1 - seat);
+                wins[seat] += probability;
+                expectedGameTurns += probability * ((long) (turn - 1) * players + seat + 1);
+            }
+            finishedBefore = finishedBy;
+        }
+        return new MarkovSolution(expected, distribution, wins, expectedGameTurns);
+    }
+    
+    /**
+     * Marks every cell from which the last cell is reached with certainty: it must be
+     * reachable, and no cell that cannot reach it may be reachable. Both checks are
+     * breadth-first searches over the reversed transitions stored in compressed rows.
+     */
+    private boolean[] cellsThatFinish() {
+        int[] offsets = new int[boardSize + 2];
+        for (int cell = 0; cell < boardSize; cell++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int destination = next(cell, roll);
+                if (destination != cell) {
+                    offsets[destination + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell <= boardSize; cell++) {
+            offsets[cell + 1] += offsets[cell];
+        }
+        int[] fill = Arrays.copyOf(offsets, boardSize + 1);
+        int[] sources = new int[offsets[boardSize + 1]];
+        for (int cell = 0; cell < boardSize; cell++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int destination = next(cell, roll);
+                if (destination != cell) {
+                    sources[fill[destination]++] = cell;
+                }
+            }
+        }
+        
+        int[] queue = new int[boardSize + 1];
+        boolean[] canFinish = new boolean[boardSize + 1];
+        canFinish[boardSize] = true;
+        queue[0] = boardSize;
+        markPredecessors(canFinish, queue, 1, offsets, sources);
+        
+        boolean[] canBeTrapped = new boolean[boardSize + 1];
+        int traps = 0;
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!canFinish[cell]) {
+                canBeTrapped[cell] = true;
+                queue[traps++] = cell;
+            }
+        }
+        markPredecessors(canBeTrapped, queue, traps, offsets, sources);
+        
+        boolean[] finite = new boolean[boardSize + 1];
+        for (int cell = 0; cell <= boardSize; cell++) {
+            finite[cell] = !canBeTrapped[cell];
+        }
+        return finite;
+    }
+    
+    private static void markPredecessors(boolean[] marked, int[] queue, int tail, int[] offsets, int[] sources) {
+        int head = 0;
+        while (head < tail) {
+            int cell = queue[head++];
+            for (int i = offsets[cell]; i < offsets[cell + 1]; i++) {
+                int source = sources[i];
+                if (!marked[source]) {
+                    marked[source] = true;
+                    queue[tail++] = source;
+                }
+            }
+        }
+    }
+    
+    /**
+     * Sparse row of open snake-tail terms, backed by dense scratch arrays reused across rows
+     */
+    private static final class TermAccumulator {
+        private final double[] work;
+        private final int[] owner;
+        private int[] touched = new int[16];
+        private int count;
+        private int row;
+        
+        TermAccumulator(int length) {
+            this.work = new double[length];
+            this.owner = new int[length];
+            Arrays.fill(owner, -1);
+        }
+        
+        void startRow(int row) {
+            this.row = row;
+            this.count = 0;
+        }
+        
+        void add(int tail, double weight) {
+            if (owner[tail] != row) {
+                owner[tail] = row;
+                work[tail] = 0;
+                if (count == touched.length) {
+                    touched = Arrays.copyOf(touched, count * 2);
+                }
+                touched[count++] = tail;
+            }
+            work[tail] += weight;
+        }
+        
+        void addAll(int[] tails, double[] tailWeights, double scale) {
+            for (int i = 0; i < tails.length; i++) {
+                add(tails[i], scale * tailWeights[i]);
+            }
+        }
+        
+        int highestAbove(int cell) {
+            int highest = -1;
+            for (int i = 0; i < count; i++) {
+                int tail = touched[i];
+                if (tail > cell && tail > highest && work[tail] != 0) {
+                    highest = tail;
+                }
+            }
+            return highest;
+        }
+        
+        double take(int tail) {
+            if (owner[tail] != row) {
+                return 0;
+            }
+            double weight = work[tail];
+            work[tail] = 0;
+            return weight;
+        }
+        
+        int countNonZero() {
+            int nonZero = 0;
+            for (int i = 0; i < count; i++) {
+                if (work[touched[i]] != 0) {
+                    nonZero++;
+                }
+            }
+            return nonZero;
+        }
+        
+        void drainInto(int[] tails, double[] tailWeights, double denominator) {
+            int next = 0;
+            for (int i = 0; i < count; i++) {
+                int tail = touched[i];
+                if (work[tail] != 0) {
+                    tails[next] = tail;
+                    tailWeights[next] = work[tail] / denominator;
+                    next++;
+                }
+            }
+            count = 0;
+        }
+    }
+}
@@ -0,0 +1,75 @@
+package com.snakeladder.analytics;
+
+import java.util.Arrays;
+
+/**
+ * Exact results computed by the MarkovChainSolver
+ */
+public class MarkovSolution {
+    private final double[] expectedTurns;
+    private final double[] turnDistribution;
+    private final double[] winProbabilities;
+    private final double expectedGameTurns;
+    
+    MarkovSolution(double[] expectedTurns, double[] turnDistribution,
+                   double[] winProbabilities, double expectedGameTurns) {
+        this.expectedTurns = expectedTurns;
+        this.turnDistribution = turnDistribution;
+        this.winProbabilities = winProbabilities;
+        this.expectedGameTurns = expectedGameTurns;
+    }
+    
+    /**
+     * Expected own turns for a single player to finish from the start
+     */
+    public double getExpectedTurns() {
+        return expectedTurns[0];
+    }
+    
+    public double getExpectedTurnsFrom(int position) {
+        return expectedTurns[position];
+    }
+    
+    /**
+     * Probability that a single player finishes on exactly their t-th turn, indexed by t
+     */
+    public double[] getTurnDistribution() {
+        return Arrays.copyOf(turnDistribution, turnDistribution.length);
+    }
+    
+    /**
+     * Expected number of turns across all players until someone wins
+     */
+    public double getExpectedGameTurns() {
+        return expectedGameTurns;
+    }
+    
+    public int getPlayerCount() {
+        return winProbabilities.length;
+    }
+    
+    public double getWinProbability(int seat) {
+        return winProbabilities[seat];
+    }
+    
+    /**
+     * Probability mass left out because the distribution was truncated
+     */
+    public double getUnresolvedProbability() {
+        double total = 0;
+        for (double probability : winProbabilities) {
+            total += probability;
+        }
+        return Math.max(0, 1 - total);
+    }
+    
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Expected turns (single player): %.4f%n", getExpectedTurns()));
+        sb.append(String.format("Expected turns (whole game): %.4f%n", expectedGameTurns));
+        for (int seat = 0; seat < winProbabilities.length; seat++) {
+            sb.append(String.format("Seat %d win probability: %.6f%n", seat + 1, winProbabilities[seat]));
+        }
+        return sb.toString();
+    }
+}
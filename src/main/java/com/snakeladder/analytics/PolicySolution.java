@@ -0,0 +1,86 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.RuleSet;
+
+import java.util.Arrays;
+
+/**
+ * Optimal values computed by the PolicySolver
+ */
+public class PolicySolution {
+    private final GameBoard board;
+    private final RuleSet rules;
+    private final int faces;
+    private final int diceOffered;
+    private final boolean optionalLadders;
+    private final double[] expectedTurns;
+    private final int sweeps;
+    private final double residual;
+    private final boolean converged;
+    
+    PolicySolution(GameBoard board, RuleSet rules, int faces, int diceOffered, boolean optionalLadders,
+                   double[] expectedTurns, int sweeps, double residual, boolean converged) {
+        this.board = board;
+        this.rules = rules;
+        this.faces = faces;
+        this.diceOffered = diceOffered;
+        this.optionalLadders = optionalLadders;
+        this.expectedTurns = expectedTurns;
+        this.sweeps = sweeps;
+        this.residual = residual;
+        this.converged = converged;
+    }
+    
+    /**
+     * Expected own turns to finish from the start when every choice is made optimally
+     */
+    public double getExpectedTurns() {
+        return expectedTurns[0];
+    }
+    
+    public double getExpectedTurnsFrom(int position) {
+        return expectedTurns[position];
+    }
+    
+    /**
+     * Copy of the expected turns from every cell, indexed by cell
+     */
+    public double[] getValues() {
+        return Arrays.copyOf(expectedTurns, expectedTurns.length);
+    }
+    
+    /**
+     * The optimal policy in compact form, ready to save or hand to an agent
+     */
+    public PolicyTable toPolicyTable() {
+        return PolicyTable.fromValues(board, rules, faces, diceOffered, optionalLadders, expectedTurns);
+    }
+    
+    public int getSweeps() {
+        return sweeps;
+    }
+    
+    /**
+     * Largest relative change in any value during the last sweep
+     */
+    public double getResidual() {
+        return residual;
+    }
+    
+    /**
+     * Whether the sweeps stopped because the values settled rather than at the sweep limit
+     */
+    public boolean isConverged() {
+        return converged;
+    }
+    
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Expected turns (optimal play, %d of %d-sided dice%s): %.4f%n",
+                diceOffered, faces, optionalLadders ? ", optional ladders" : "", getExpectedTurns()));
+        sb.append(String.format("Sweeps: %d (%s, residual %.3g)%n",
+                sweeps, converged ? "converged" : "not converged", residual));
+        return sb.toString();
+    }
+}
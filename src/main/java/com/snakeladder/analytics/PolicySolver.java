@@ -0,0 +1,417 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.rules.TransitionTable;
+
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Value iteration for the rule variants where a player chooses their move: several
+ * dice offered per turn, each one a possible move, and optionally the choice to stay
+ * at the bottom of a ladder. Solves the expected number of own turns to finish from
+ * every cell when every choice is made optimally; the best move is then always the
+ * one whose destination has the lowest value.
+ *
+ * Each sweep splits the board into one contiguous segment per thread and walks each
+ * segment from the top down, updating values in place. Moves and ladders point
+ * upwards, so within a segment most of a cell's inputs are already final for this
+ * sweep; only snakes and inputs from the segment above lag a sweep behind. Cells that
+ * can move onto themselves through an overshoot are solved exactly for that loop.
+ *
+ * Moves follow the positional rules of a RuleSet, overshoot and jump chaining,
+ * through its compiled TransitionTable. Extra turns change what a choice is worth
+ * in a way these values do not capture, so rules with roll-again are rejected.
+ */
+public class PolicySolver {
+    public static final double DEFAULT_TOLERANCE = 1e-9;
+    public static final int DEFAULT_MAX_SWEEPS = 100_000;
+    
+    private static final int MIN_SEGMENT = 4096;
+    private static final int MAX_SELF_ITERATIONS = 64;
+    
+    private final GameBoard board;
+    private final RuleSet rules;
+    private final TransitionTable transitions;
+    private final int boardSize;
+    private final int[] jumps;
+    private final int faces;
+    private final int diceOffered;
+    private final boolean optionalLadders;
+    private final int parallelism;
+    private final double[] minWeights;
+    private final double faceShare;
+    
+    public PolicySolver(GameBoard board, int faces, int diceOffered, boolean optionalLadders) {
+        this(board, RuleSet.standard(), faces, diceOffered, optionalLadders);
+    }
+    
+    public PolicySolver(GameBoard board, RuleSet rules, int faces, int diceOffered, boolean optionalLadders) {
+        this(board, rules, faces, diceOffered, optionalLadders, Runtime.getRuntime().availableProcessors());
+    }
+    
+    public PolicySolver(GameBoard board, int faces, int diceOffered, boolean optionalLadders, int parallelism) {
+        this(board, RuleSet.standard(), faces, diceOffered, optionalLadders, parallelism);
+    }
+    
+    /**
+     * @param faces       faces on each die
+     * @param diceOffered dice rolled per turn; the player moves by the one they choose
+     */
+    public PolicySolver(GameBoard board, RuleSet rules, int faces, int diceOffered, boolean optionalLadders,
+                        int parallelism) {
+        if (rules.isRollAgainOnTopFace()) {
+            throw new IllegalArgumentException("Policies cannot be solved for rules with extra turns");
+        }
+        if (faces < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        if (diceOffered < 1) {
+            throw new IllegalArgumentException("At least 1 die must be offered");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.board = board;
+        this.rules = rules;
+        this.transitions = rules.compile(board, faces);
+        this.boardSize = board.getBoardSize();
+        this.jumps = board.compile().toArray();
+        this.faces = faces;
+        this.diceOffered = diceOffered;
+        this.optionalLadders = optionalLadders;
+        this.parallelism = parallelism;
+        this.faceShare = 1.0 / faces;
+        
+        // With the per-face values sorted ascending, the best of k independent dice
+        // is the i-th smallest with probability ((f - i)^k - (f - i - 1)^k) / f^k
+        this.minWeights = new double[faces];
+        for (int i = 0; i < faces; i++) {
+            minWeights[i] = Math.pow((double) (faces - i) / faces, diceOffered)
+                    - Math.pow((double) (faces - i - 1) / faces, diceOffered);
+        }
+    }
+    
+    public PolicySolution solve() {
+        return solve(DEFAULT_TOLERANCE, DEFAULT_MAX_SWEEPS);
+    }
+    
+    /**
+     * Sweeps until no value changes by more than {@code tolerance}, relative to the
+     * value itself once it exceeds 1, or until {@code maxSweeps} sweeps have run
+     */
+    public PolicySolution solve(double tolerance, int maxSweeps) {
+        if (maxSweeps < 1) {
+            throw new IllegalArgumentException("At least 1 sweep required");
+        }
+        boolean[] finite = cellsThatFinish();
+        boolean[] loops = cellsThatLoop();
+        double[] values = new double[boardSize + 1];
+        for (int cell = 0; cell < boardSize; cell++) {
+            if (!finite[cell]) {
+                values[cell] = Double.POSITIVE_INFINITY;
+            }
+        }
+        
+        int segments = (int) Math.max(1, Math.min(parallelism, (boardSize + 1L) / MIN_SEGMENT));
+        int segmentSize = (boardSize + segments - 1) / segments;
+        // Values as of the start of the sweep, read across segment boundaries so that
+        // segments never see each other's writes mid-sweep
+        double[] frozen = segments > 1 ? values.clone() : values;
+        
+        ForkJoinPool pool = segments > 1 ? new ForkJoinPool(segments) : null;
+        int sweeps = 0;
+        double residual = Double.POSITIVE_INFINITY;
+        try {
+            while (residual > tolerance && sweeps < maxSweeps) {
+                if (pool == null) {
+                    residual = new Sweep(values, frozen, finite, loops, 0, boardSize).run();
+                } else {
+                    residual = pool.submit(() -> IntStream.range(0, segments)
+                            .parallel()
+                            .mapToDouble(segment -> new Sweep(values, frozen, finite, loops,
+                                    segment * segmentSize, Math.min(boardSize, (segment + 1) * segmentSize)).run())
+                            .max()
+                            .orElse(0))
+                            .join();
+                    System.arraycopy(values, 0, frozen, 0, values.length);
+                }
+                sweeps++;
+            }
+        } finally {
+            if (pool != null) {
+                pool.shutdown();
+            }
+        }
+        return new PolicySolution(board, rules, faces, diceOffered, optionalLadders, values,
+                sweeps, residual, residual <= tolerance);
+    }
+    
+    /**
+     * One top-down pass over the cells [low, high)
+     */
+    private final class Sweep {
+        private final double[] values;
+        private final double[] frozen;
+        private final boolean[] finite;
+        private final boolean[] loops;
+        private final int low;
+        private final int high;
+        private final double[] best = new double[faces];
+        private final boolean[] self = new boolean[faces];
+        
+        Sweep(double[] values, double[] frozen, boolean[] finite, boolean[] loops, int low, int high) {
+            this.values = values;
+            this.frozen = frozen;
+            this.finite = finite;
+            this.loops = loops;
+            this.low = low;
+            this.high = high;
+        }
+        
+        double run() {
+            double residual = 0;
+            for (int cell = high - 1; cell >= low; cell--) {
+                if (!finite[cell]) {
+                    continue;
+                }
+                double old = values[cell];
+                double value = loops[cell] ? updateLoop(cell, old) : update(cell);
+                values[cell] = value;
+                residual = Math.max(residual, Math.abs(value - old) / Math.max(1, value));
+            }
+            return residual;
+        }
+        
+        private double valueOf(int cell) {
+            return cell >= low && cell < high ? values[cell] : frozen[cell];
+        }
+        
+        /**
+         * New value of a cell whose moves all leave it
+         */
+        private double update(int cell) {
+            // The next cell up was written just before this one; adding it last keeps
+            // the chain of dependent arithmetic from one cell to the next short
+            if (diceOffered == 1) {
+                double sum = 0;
+                for (int roll = faces; roll >= 1; roll--) {
+                    sum += bestFor(cell, roll);
+                }
+                return 1 + sum * faceShare;
+            }
+            for (int roll = faces; roll >= 1; roll--) {
+                double value = bestFor(cell, roll);
+                // Insertion sort; dice have few faces
+                int i = faces - roll;
+                while (i > 0 && best[i - 1] > value) {
+                    best[i] = best[i - 1];
+                    i--;
+                }
+                best[i] = value;
+            }
+            double expected = 1;
+            for (int i = 0; i < faces; i++) {
+                expected += minWeights[i] * best[i];
+            }
+            return expected;
+        }
+        
+        private double bestFor(int cell, int roll) {
+            double value = valueOf(transitions.destination(cell, roll));
+            int target = transitions.landed(cell, roll);
+            if (optionalLadders && jumps[target] > target) {
+                value = Math.min(value, valueOf(target));
+            }
+            return value;
+        }
+        
+        /**
+         * New value of a cell that some move leaves where it is, so that the value
+         * depends on itself. Newton steps on that piecewise-linear equation settle in
+         * a few rounds, because the set of moves that stay only changes when the
+         * estimate crosses another option's value.
+         */
+        private double updateLoop(int cell, double estimate) {
+            double x = estimate;
+            for (int iteration = 0; iteration < MAX_SELF_ITERATIONS; iteration++) {
+                double constant = 1;
+                double selfWeight = 0;
+                fill(cell, x);
+                for (int i = 0; i < faces; i++) {
+                    if (self[i]) {
+                        selfWeight += minWeights[i];
+                    } else {
+                        constant += minWeights[i] * best[i];
+                    }
+                }
+                if (selfWeight == 0) {
+                    return constant;
+                }
+                double next = constant / (1 - selfWeight);
+                if (next == x) {
+                    return next;
+                }
+                x = next;
+            }
+            return x;
+        }
+        
+        /**
+         * Best value reachable with each face, sorted ascending; {@code self} marks the
+         * entries that mean staying on {@code cell}, valued at {@code selfValue}
+         */
+        private void fill(int cell, double selfValue) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int target = transitions.landed(cell, roll);
+                int destination = transitions.destination(cell, roll);
+                double value = destination == cell ? selfValue : valueOf(destination);
+                boolean stays = destination == cell;
+                if (optionalLadders && jumps[target] > target) {
+                    double stay = target == cell ? selfValue : valueOf(target);
+                    if (stay < value) {
+                        value = stay;
+                        stays = target == cell;
+                    }
+                }
+                
+                // Insertion sort; dice have few faces
+                int i = roll - 1;
+                while (i > 0 && best[i - 1] > value) {
+                    best[i] = best[i - 1];
+                    self[i] = self[i - 1];
+                    i--;
+                }
+                best[i] = value;
+                self[i] = stays;
+            }
+        }
+    }
+    
+    /**
+     * Marks the cells from which the last cell is reached with certainty under the best
+     * choices. A cell fails if it cannot reach the last cell through cells that pass,
+     * or if some face leaves only failing moves, since rolling that face on every
+     * die has positive probability. Repeats until nothing changes.
+     */
+    private boolean[] cellsThatFinish() {
+        boolean[] finite = new boolean[boardSize + 1];
+        Arrays.fill(finite, true);
+        int[] offsets = new int[boardSize + 2];
+        int[] sources = reverseMoves(offsets);
+        int[] queue = new int[boardSize + 1];
+        boolean[] reached = new boolean[boardSize + 1];
+        
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            Arrays.fill(reached, false);
+            reached[boardSize] = true;
+            queue[0] = boardSize;
+            int head = 0;
+            int tail = 1;
+            while (head < tail) {
+                int cell = queue[head++];
+                for (int i = offsets[cell]; i < offsets[cell + 1]; i++) {
+                    int source = sources[i];
+                    if (finite[source] && !reached[source]) {
+                        reached[source] = true;
+                        queue[tail++] = source;
+                    }
+                }
+            }
+            for (int cell = 0; cell < boardSize; cell++) {
+                if (finite[cell] && (!reached[cell] || hasFailingFace(cell, finite))) {
+                    finite[cell] = false;
+                    changed = true;
+                }
+            }
+        }
+        return finite;
+    }
+    
+    /**
+     * Marks the cells where some move, declined ladders included, stays put: an
+     * overshoot, or a jump straight back to the cell
+     */
+    private boolean[] cellsThatLoop() {
+        boolean[] loops = new boolean[boardSize + 1];
+        for (int cell = 0; cell < boardSize; cell++) {
+            for (int roll = 1; roll <= faces && !loops[cell]; roll++) {
+                loops[cell] = transitions.landed(cell, roll) == cell || transitions.destination(cell, roll) == cell;
+            }
+        }
+        return loops;
+    }
+    
+    private boolean hasFailingFace(int cell, boolean[] finite) {
+        for (int roll = 1; roll <= faces; roll++) {
+            int target = transitions.landed(cell, roll);
+            int destination = transitions.destination(cell, roll);
+            boolean canStay = optionalLadders && jumps[target] > target && finite[target];
+            if (!finite[destination] && !canStay) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    /**
+     * Every move and declined ladder reversed into compressed rows: the sources of
+     * cell c are sources[offsets[c]] up to sources[offsets[c + 1]]
+     */
+    private int[] reverseMoves(int[] offsets) {
+        for (int cell = 0; cell < boardSize; cell++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int target = transitions.landed(cell, roll);
+                int destination = transitions.destination(cell, roll);
+                if (destination != cell) {
+                    offsets[destination + 1]++;
+                }
+                if (optionalLadders && jumps[target] > target && target != cell) {
+                    offsets[target + 1]++;
+                }
+            }
+        }
+        for (int cell = 0; cell <= boardSize; cell++) {
+            offsets[cell + 1] += offsets[cell];
+        }
+        int[] fill = Arrays.copyOf(offsets, boardSize + 1);
+        int[] sources = new int[offsets[boardSize + 1]];
+        for (int cell = 0; cell < boardSize; cell++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int target = transitions.landed(cell, roll);
+                int destination = transitions.destination(cell, roll);
+                if (destination != cell) {
+                    sources[fill[destination]++] = cell;
+                }
+                if (optionalLadders && jumps[target] > target && target != cell) {
+                    sources[fill[target]++] = cell;
+                }
+            }
+        }
+        return sources;
+    }
+    
+    public GameBoard getBoard() {
+        return board;
+    }
+    
+    public RuleSet getRules() {
+        return rules;
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+    
+    public int getDiceOffered() {
+        return diceOffered;
+    }
+    
+    public boolean isOptionalLadders() {
+        return optionalLadders;
+    }
+}
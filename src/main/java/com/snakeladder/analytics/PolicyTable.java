@@ -0,0 +1,231 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Arrays;
+
+/**
+ * A solved policy reduced to what a player needs to act on it: the rank of every cell
+ * by its value, lowest first, with equal values sharing a rank. The best move is the
+ * one whose destination has the lowest rank, so ranks decide exactly as the values
+ * would while taking as few bytes per cell as the number of distinct values allows.
+ * A table records the game it was solved for, board, die, dice offered, optional
+ * ladders and the positional rules, so it is never played in another.
+ *
+ * Layout, version 2, little-endian:
+ * int magic, short version, short flags (bit 0 optional ladders, bit 1 chain jumps),
+ * int board size, int board hash, int faces, int dice offered, byte overshoot rule,
+ * byte rank width, (rank width bytes)* with one rank per cell from 0 to the board size.
+ *
+ * Version 1 tables have no overshoot byte and were solved for the standard rules.
+ */
+public final class PolicyTable {
+    public static final int VERSION = 2;
+    
+    private static final int MAGIC = 0x534C5031; // "SLP1"
+    private static final int FLAG_OPTIONAL_LADDERS = 1;
+    private static final int FLAG_CHAIN_JUMPS = 2;
+    private static final int HEADER_SIZE = 26;
+    
+    private final int boardSize;
+    private final int boardHash;
+    private final int faces;
+    private final int diceOffered;
+    private final boolean optionalLadders;
+    private final OvershootRule overshoot;
+    private final boolean chainJumps;
+    private final int[] ranks;
+    private final int rankWidth;
+    
+    private PolicyTable(int boardSize, int boardHash, int faces, int diceOffered, boolean optionalLadders,
+                        OvershootRule overshoot, boolean chainJumps, int[] ranks, int rankWidth) {
+        this.boardSize = boardSize;
+        this.boardHash = boardHash;
+        this.faces = faces;
+        this.diceOffered = diceOffered;
+        this.optionalLadders = optionalLadders;
+        this.overshoot = overshoot;
+        this.chainJumps = chainJumps;
+        this.ranks = ranks;
+        this.rankWidth = rankWidth;
+    }
+    
+    /**
+     * Ranks cells by a cost per cell under the standard rules, lower being better, such
+     * as expected turns to finish
+     */
+    public static PolicyTable fromValues(GameBoard board, int faces, int diceOffered,
+                                         boolean optionalLadders, double[] values) {
+        return fromValues(board, RuleSet.standard(), faces, diceOffered, optionalLadders, values);
+    }
+    
+    /**
+     * Ranks cells by a cost per cell under the given rules, lower being better
+     */
+    public static PolicyTable fromValues(GameBoard board, RuleSet rules, int faces, int diceOffered,
+                                         boolean optionalLadders, double[] values) {
+        if (values.length != board.getBoardSize() + 1) {
+            throw new IllegalArgumentException("Expected one value per cell, 0 to " + board.getBoardSize());
+        }
+        // Costs are never negative, so their bit patterns sort in the same order
+        long[] distinct = new long[values.length];
+        for (int cell = 0; cell < values.length; cell++) {
+            distinct[cell] = Double.doubleToLongBits(values[cell] + 0.0);
+        }
+        Arrays.sort(distinct);
+        int count = 0;
+        for (int i = 0; i < distinct.length; i++) {
+            if (i == 0 || distinct[i] != distinct[i - 1]) {
+                distinct[count++] = distinct[i];
+            }
+        }
+        int[] ranks = new int[values.length];
+        for (int cell = 0; cell < values.length; cell++) {
+            ranks[cell] = Arrays.binarySearch(distinct, 0, count, Double.doubleToLongBits(values[cell] + 0.0));
+        }
+        return new PolicyTable(board.getBoardSize(), board.hashCode(), faces, diceOffered, optionalLadders,
+                rules.getOvershoot(), rules.isChainJumps(), ranks, widthFor(count - 1));
+    }
+    
+    private static int widthFor(int maxRank) {
+        return Math.max(1, (32 - Integer.numberOfLeadingZeros(maxRank) + 7) / 8);
+    }
+    
+    /**
+     * Position of the cell in the policy's order of preference; lower is better
+     */
+    public int rankOf(int cell) {
+        return ranks[cell];
+    }
+    
+    /**
+     * Whether the policy was solved for this board layout
+     */
+    public boolean isFor(GameBoard board) {
+        return board.getBoardSize() == boardSize && board.hashCode() == boardHash;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+    
+    public int getDiceOffered() {
+        return diceOffered;
+    }
+    
+    public boolean isOptionalLadders() {
+        return optionalLadders;
+    }
+    
+    public OvershootRule getOvershoot() {
+        return overshoot;
+    }
+    
+    public boolean isChainJumps() {
+        return chainJumps;
+    }
+    
+    /**
+     * Whether the table was solved for these rules. Only the positional rules are
+     * solved for, so rules with extra turns never match.
+     */
+    public boolean isFor(RuleSet rules) {
+        return rules.getOvershoot() == overshoot && rules.isChainJumps() == chainJumps
+                && !rules.isRollAgainOnTopFace();
+    }
+    
+    /**
+     * Bytes used per cell in the encoded table
+     */
+    public int getRankWidth() {
+        return rankWidth;
+    }
+    
+    public int encodedSize() {
+        return HEADER_SIZE + ranks.length * rankWidth;
+    }
+    
+    public byte[] toBytes() {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize()).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MAGIC)
+                .putShort((short) VERSION)
+                .putShort((short) ((optionalLadders ? FLAG_OPTIONAL_LADDERS : 0) | (chainJumps ? FLAG_CHAIN_JUMPS : 0)))
+                .putInt(boardSize)
+                .putInt(boardHash)
+                .putInt(faces)
+                .putInt(diceOffered)
+                .put((byte) overshoot.ordinal())
+                .put((byte) rankWidth);
+        for (int rank : ranks) {
+            for (int b = 0; b < rankWidth; b++) {
+                buffer.put((byte) (rank >>> (8 * b)));
+            }
+        }
+        return buffer.array();
+    }
+    
+    public static PolicyTable fromBytes(byte[] encoded) {
+        ByteBuffer buffer = ByteBuffer.wrap(encoded).order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a policy table");
+            }
+            int version = buffer.getShort();
+            if (version != 1 && version != VERSION) {
+                throw new IllegalArgumentException("Unsupported policy table version " + version);
+            }
+            int flags = buffer.getShort();
+            int boardSize = buffer.getInt();
+            int boardHash = buffer.getInt();
+            int faces = buffer.getInt();
+            int diceOffered = buffer.getInt();
+            int overshoot = version >= 2 ? buffer.get() : OvershootRule.STAY.ordinal();
+            int rankWidth = buffer.get();
+            if (boardSize < 1 || faces < 1 || diceOffered < 1
+                    || overshoot < 0 || overshoot >= OvershootRule.values().length
+                    || rankWidth < 1 || rankWidth > 4
+                    || buffer.remaining() != (long) (boardSize + 1) * rankWidth) {
+                throw new IllegalArgumentException("Corrupt policy table");
+            }
+            int[] ranks = new int[boardSize + 1];
+            for (int cell = 0; cell <= boardSize; cell++) {
+                int rank = 0;
+                for (int b = 0; b < rankWidth; b++) {
+                    rank |= (buffer.get() & 0xFF) << (8 * b);
+                }
+                ranks[cell] = rank;
+            }
+            return new PolicyTable(boardSize, boardHash, faces, diceOffered, (flags & FLAG_OPTIONAL_LADDERS) != 0,
+                    OvershootRule.values()[overshoot], (flags & FLAG_CHAIN_JUMPS) != 0, ranks, rankWidth);
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated policy table", e);
+        }
+    }
+    
+    /**
+     * Writes the table to a temporary file next to {@code file} and moves it into
+     * place, so a reader never sees a partial table
+     */
+    public void write(Path file) throws IOException {
+        Path temp = file.resolveSibling(file.getFileName() + ".tmp");
+        Files.write(temp, toBytes());
+        Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+    
+    public static PolicyTable read(Path file) throws IOException {
+        return fromBytes(Files.readAllBytes(file));
+    }
+}
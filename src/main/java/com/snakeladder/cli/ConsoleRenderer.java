@@ -0,0 +1,298 @@
+package com.snakeladder.cli;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Formatter;
+import java.util.Locale;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Collects console output into a reusable frame and writes each frame with a single
+ * write and flush. A threaded renderer hands frames to a writer thread, which holds
+ * back whatever follows the end of a turn for the configured delay, so pacing never
+ * blocks the game; a zero delay replays as fast as the console accepts output.
+ *
+ * Frames are built on one thread only, normally the one running the game.
+ */
+public class ConsoleRenderer implements AutoCloseable {
+    public static final Duration DEFAULT_TURN_DELAY = Duration.ofSeconds(1);
+    
+    private static final int BUFFERS = 4;
+    private static final int INITIAL_BUFFER_SIZE = 8192;
+    private static final Frame END = new Frame(0);
+    
+    private final WritableByteChannel channel;
+    private final OutputStream out;
+    private final StringBuilder frame = new StringBuilder(1024);
+    private final Formatter formatter = new Formatter(frame, Locale.ROOT);
+    private final CharsetEncoder encoder = StandardCharsets.UTF_8.newEncoder();
+    private final BlockingQueue<Frame> free;
+    private final BlockingQueue<Frame> ready;
+    private final Thread writer;
+    private volatile long delayNanos;
+    private volatile IOException failure;
+    private volatile boolean closed;
+    
+    private ConsoleRenderer(OutputStream out, Duration turnDelay, boolean threaded) {
+        this.out = out;
+        this.channel = Channels.newChannel(out);
+        this.free = new ArrayBlockingQueue<>(BUFFERS);
+        this.ready = new ArrayBlockingQueue<>(BUFFERS + 1);
+        for (int i = 0; i < (threaded ? BUFFERS : 1); i++) {
+            free.add(new Frame(INITIAL_BUFFER_SIZE));
+        }
+        setTurnDelay(turnDelay);
+        if (threaded) {
+            this.writer = new Thread(this::writeLoop, "console-renderer");
+            this.writer.setDaemon(true);
+            this.writer.start();
+        } else {
+            this.writer = null;
+        }
+    }
+    
+    /**
+     * Renderer that writes frames on its own thread and pauses for the turn delay
+     * after each turn
+     */
+    public static ConsoleRenderer paced(OutputStream out, Duration turnDelay) {
+        return new ConsoleRenderer(out, turnDelay, true);
+    }
+    
+    /**
+     * Threaded renderer without pacing, for replaying a game as fast as possible
+     */
+    public static ConsoleRenderer fastReplay(OutputStream out) {
+        return new ConsoleRenderer(out, Duration.ZERO, true);
+    }
+    
+    /**
+     * Renderer that writes each frame on the calling thread as soon as it ends
+     */
+    public static ConsoleRenderer direct(OutputStream out) {
+        return new ConsoleRenderer(out, Duration.ZERO, false);
+    }
+    
+    /**
+     * Changes the pause after each turn; zero disables pacing
+     */
+    public void setTurnDelay(Duration turnDelay) {
+        if (turnDelay.isNegative()) {
+            throw new IllegalArgumentException("Turn delay cannot be negative");
+        }
+        this.delayNanos = turnDelay.toNanos();
+    }
+    
+    public Duration getTurnDelay() {
+        return Duration.ofNanos(delayNanos);
+    }
+    
+    public ConsoleRenderer print(String text) {
+        frame.append(text);
+        return this;
+    }
+    
+    public ConsoleRenderer println(String text) {
+        frame.append(text).append(System.lineSeparator());
+        return this;
+    }
+    
+    public ConsoleRenderer println() {
+        frame.append(System.lineSeparator());
+        return this;
+    }
+    
+    public ConsoleRenderer printf(String format, Object... args) {
+        formatter.format(format, args);
+        return this;
+    }
+    
+    /**
+     * The frame under construction, for callers that append directly
+     */
+    public StringBuilder frame() {
+        return frame;
+    }
+    
+    /**
+     * Queues the current frame for output and starts a new one. Does nothing if the
+     * frame is empty; blocks only when the writer is a full set of buffers behind.
+     */
+    public void endFrame() {
+        submit(false);
+    }
+    
+    /**
+     * Ends the frame like {@link #endFrame()} and holds back the next frame until the
+     * turn delay has passed
+     */
+    public void endTurn() {
+        submit(true);
+    }
+    
+    private void submit(boolean turnEnd) {
+        if (frame.length() == 0) {
+            return;
+        }
+        checkUsable();
+        Frame next = takeUninterruptibly(free);
+        encode(next);
+        next.turnEnd = turnEnd;
+        frame.setLength(0);
+        if (writer == null) {
+            try {
+                write(next.bytes);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            } finally {
+                next.bytes.clear();
+                free.add(next);
+            }
+        } else {
+            ready.add(next);
+        }
+    }
+    
+    private void encode(Frame target) {
+        while (true) {
+            encoder.reset();
+            CoderResult result = encoder.encode(CharBuffer.wrap(frame), target.bytes, true);
+            if (!result.isOverflow()) {
+                result = encoder.flush(target.bytes);
+            }
+            if (!result.isOverflow()) {
+                target.bytes.flip();
+                return;
+            }
+            // Frame is bigger than any so far; keep the larger buffer for later frames
+            target.bytes = ByteBuffer.allocate(target.bytes.capacity() * 2);
+        }
+    }
+    
+    private void writeLoop() {
+        long holdUntil = System.nanoTime();
+        while (true) {
+            Frame next = takeUninterruptibly(ready);
+            if (next == END) {
+                return;
+            }
+            long wait = holdUntil - System.nanoTime();
+            if (wait > 0) {
+                sleepNanos(wait);
+            }
+            try {
+                if (failure == null) {
+                    write(next.bytes);
+                }
+            } catch (IOException e) {
+                failure = e;
+            }
+            if (next.turnEnd) {
+                holdUntil = System.nanoTime() + delayNanos;
+            }
+            next.bytes.clear();
+            free.add(next);
+        }
+    }
+    
+    private void write(ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        out.flush();
+    }
+    
+    /**
+     * Waits until every frame ended so far has been written
+     */
+    public void drain() {
+        endFrame();
+        if (writer == null) {
+            return;
+        }
+        while (free.size() < BUFFERS && writer.isAlive()) {
+            sleepNanos(TimeUnit.MILLISECONDS.toNanos(1));
+        }
+        checkUsable();
+    }
+    
+    private void checkUsable() {
+        if (failure != null) {
+            throw new UncheckedIOException(failure);
+        }
+        if (closed) {
+            throw new IllegalStateException("Renderer is closed");
+        }
+    }
+    
+    private static Frame takeUninterruptibly(BlockingQueue<Frame> queue) {
+        boolean interrupted = false;
+        try {
+            while (true) {
+                try {
+                    return queue.take();
+                } catch (InterruptedException e) {
+                    interrupted = true;
+                }
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    private static void sleepNanos(long nanos) {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    /**
+     * Writes any remaining frames and stops the writer thread. The output stream is
+     * left open.
+     */
+    @Override
+    public void close() {
+        if (closed) {
+            return;
+        }
+        if (failure == null) {
+            endFrame();
+        }
+        closed = true;
+        if (writer != null) {
+            ready.add(END);
+            try {
+                writer.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Encoded frame on its way to the writer thread
+     */
+    private static final class Frame {
+        ByteBuffer bytes;
+        boolean turnEnd;
+        
+        Frame(int capacity) {
+            this.bytes = ByteBuffer.allocate(capacity);
+        }
+    }
+}
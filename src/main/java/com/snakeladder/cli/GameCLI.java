@@ -4,19 +4,37 @@ import com.snakeladder.engine.GameEngine;
 import com.snakeladder.models.Player;
 import com.snakeladder.observer.ConsoleGameObserver;
 
+import java.time.Duration;
 import java.util.Scanner;
 
 /**
  * Command Line Interface for the Snake & Ladder game
  */
 public class GameCLI {
+    private static final int ROW_LENGTH = 10;
+    
     private GameEngine gameEngine;
     private Scanner scanner;
+    private final ConsoleRenderer renderer;
     
     public GameCLI() {
+        this(ConsoleRenderer.DEFAULT_TURN_DELAY);
+    }
+    
+    /**
+     * @param turnDelay pause after each turn's output; zero replays without pausing
+     */
+    public GameCLI(Duration turnDelay) {
+        this(turnDelay.isZero()
+                ? ConsoleRenderer.fastReplay(System.out)
+                : ConsoleRenderer.paced(System.out, turnDelay));
+    }
+    
+    public GameCLI(ConsoleRenderer renderer) {
+        this.renderer = renderer;
         this.gameEngine = new GameEngine();
         this.scanner = new Scanner(System.in);
-        this.gameEngine.addObserver(new ConsoleGameObserver());
+        this.gameEngine.addObserver(new ConsoleGameObserver(renderer));
     }
     
     public void startGame() {
@@ -28,83 +46,90 @@ public class GameCLI {
     }
     
     private void displayWelcomeMessage() {
-        System.out.println("╔══════════════════════════════════════════════════════════╗");
-        System.out.println("║                    🐍 SNAKE & LADDER 🪜                    ║");
-        System.out.println("║                                                          ║");
-        System.out.println("║  Welcome to the classic Snake & Ladder game!            ║");
-        System.out.println("║  Race to reach position 100 first to win!               ║");
-        System.out.println("╚══════════════════════════════════════════════════════════╝");
-        System.out.println();
+        renderer.println("╔══════════════════════════════════════════════════════════╗");
+        renderer.println("║                    🐍 SNAKE & LADDER 🪜                    ║");
+        renderer.println("║                                                          ║");
+        renderer.println("║  Welcome to the classic Snake & Ladder game!            ║");
+        renderer.printf("║  %-55s║%n", "Race to reach position " + gameEngine.getBoard().getBoardSize() + " first to win!");
+        renderer.println("╚══════════════════════════════════════════════════════════╝");
+        renderer.println();
     }
     
     private void setupPlayers() {
-        System.out.print("Enter number of players (2-6): ");
+        renderer.print("Enter number of players (2-6): ");
         int numPlayers = getValidPlayerCount();
         
         for (int i = 0; i < numPlayers; i++) {
-            System.out.printf("Enter name for Player %d: ", i + 1);
-            String name = scanner.nextLine().trim();
+            renderer.printf("Enter name for Player %d: ", i + 1);
+            String name = readLine().trim();
             if (name.isEmpty()) {
                 name = "Player " + (i + 1);
             }
             gameEngine.addPlayer(new Player(name, i + 1));
         }
         
-        System.out.println("\nPlayers added successfully!");
+        renderer.println("\nPlayers added successfully!");
         for (Player player : gameEngine.getPlayers()) {
-            System.out.println("- " + player.getName());
+            renderer.println("- " + player.getName());
         }
-        System.out.println();
+        renderer.println();
     }
     
     private int getValidPlayerCount() {
         while (true) {
             try {
-                int count = Integer.parseInt(scanner.nextLine().trim());
+                int count = Integer.parseInt(readLine().trim());
                 if (count >= 2 && count <= 6) {
                     return count;
                 } else {
-                    System.out.print("Please enter a number between 2 and 6: ");
+                    renderer.print("Please enter a number between 2 and 6: ");
                 }
             } catch (NumberFormatException e) {
-                System.out.print("Invalid input. Please enter a number: ");
+                renderer.print("Invalid input. Please enter a number: ");
             }
         }
     }
     
     private void displayBoard() {
-        System.out.println("🎯 Game Board Information:");
-        System.out.println("Board Size: 100 positions (10x10)");
-        System.out.println("🐍 Snakes will take you down!");
-        System.out.println("🪜 Ladders will help you climb up!");
-        System.out.println("🏁 Reach position 100 to win!");
-        System.out.println();
+        renderer.println("🎯 Game Board Information:");
+        int boardSize = gameEngine.getBoard().getBoardSize();
+        renderer.printf("Board Size: %d positions (%dx%d)%n", boardSize, ROW_LENGTH, rowCount(boardSize));
+        renderer.println("🐍 Snakes will take you down!");
+        renderer.println("🪜 Ladders will help you climb up!");
+        renderer.printf("🏁 Reach position %d to win!%n", boardSize);
+        renderer.println();
         
         displayBoardLayout();
     }
     
     private void displayBoardLayout() {
-        System.out.println("📋 Board Layout:");
-        System.out.println("┌" + "─".repeat(39) + "┐");
+        renderer.println("📋 Board Layout:");
+        renderer.println("┌" + "─".repeat(39) + "┐");
         
-        for (int row = 9; row >= 0; row--) {
-            System.out.print("│");
-            for (int col = 0; col < 10; col++) {
+        int boardSize = gameEngine.getBoard().getBoardSize();
+        for (int row = rowCount(boardSize) - 1; row >= 0; row--) {
+            renderer.print("│");
+            for (int col = 0; col < ROW_LENGTH; col++) {
                 int position;
                 if (row % 2 == 1) {
-                    position = row * 10 + col + 1;
+                    position = row * ROW_LENGTH + col + 1;
                 } else {
-                    position = row * 10 + (9 - col) + 1;
+                    position = row * ROW_LENGTH + (ROW_LENGTH - 1 - col) + 1;
                 }
                 
-                String symbol = getPositionSymbol(position);
-                System.out.printf("%3s ", symbol);
+                // The top row of a board that is not a multiple of the row length is short
+                String symbol = position <= boardSize ? getPositionSymbol(position) : "";
+                renderer.printf("%3s ", symbol);
             }
-            System.out.println("│");
+            renderer.println("│");
         }
         
-        System.out.println("└" + "─".repeat(39) + "┘");
-        System.out.println();
+        renderer.println("└" + "─".repeat(39) + "┘");
+        renderer.println();
+    }
+    
+    private static int rowCount(int boardSize) {
+        return (boardSize + ROW_LENGTH - 1) / ROW_LENGTH;
     }
     
     private String getPositionSymbol(int position) {
@@ -112,7 +137,7 @@ public class GameCLI {
             return "🐍";
         } else if (gameEngine.getBoard().hasLadder(position)) {
             return "🪜";
-        } else if (position == 100) {
+        } else if (gameEngine.getBoard().isWinningPosition(position)) {
             return "🏁";
         } else {
             return String.valueOf(position);
@@ -122,67 +147,70 @@ public class GameCLI {
     private void playGame() {
         while (!gameEngine.isGameWon()) {
             displayCurrentPositions();
-            System.out.print("\nPress Enter to roll the dice...");
-            scanner.nextLine();
+            renderer.print("\nPress Enter to roll the dice...");
+            readLine();
             
             boolean continueGame = gameEngine.playTurn();
+            // The renderer holds back the next frame to pace the game
+            renderer.endTurn();
             
             if (!continueGame) {
                 break;
             }
-            
-            // Add a small delay for better user experience
-            try {
-                Thread.sleep(1000);
-            } catch (InterruptedException e) {
-                Thread.currentThread().interrupt();
-            }
         }
         
         displayGameEnd();
     }
     
     private void displayCurrentPositions() {
-        System.out.println("\n📊 Current Positions:");
+        renderer.println("\n📊 Current Positions:");
         for (Player player : gameEngine.getPlayers()) {
-            System.out.printf("  %s: Position %d%n", player.getName(), player.getPosition());
+            renderer.printf("  %s: Position %d%n", player.getName(), player.getPosition());
         }
     }
     
     private void displayGameEnd() {
-        System.out.println("\n" + "=".repeat(50));
-        System.out.println("                GAME OVER");
-        System.out.println("=".repeat(50));
+        renderer.println("\n" + "=".repeat(50));
+        renderer.println("                GAME OVER");
+        renderer.println("=".repeat(50));
         
         displayFinalPositions();
         
-        System.out.print("\nWould you like to play again? (y/n): ");
-        String response = scanner.nextLine().trim().toLowerCase();
+        renderer.print("\nWould you like to play again? (y/n): ");
+        String response = readLine().trim().toLowerCase();
         if (response.equals("y") || response.equals("yes")) {
             resetGame();
             startGame();
         } else {
-            System.out.println("\nThank you for playing Snake & Ladder! 🎮");
+            renderer.println("\nThank you for playing Snake & Ladder! 🎮");
         }
     }
     
     private void displayFinalPositions() {
-        System.out.println("\n📊 Final Positions:");
+        renderer.println("\n📊 Final Positions:");
         gameEngine.getPlayers().stream()
             .sorted((p1, p2) -> Integer.compare(p2.getPosition(), p1.getPosition()))
             .forEach(player -> {
-                String status = player.getPosition() == 100 ? " 🏆 WINNER!" : "";
-                System.out.printf("  %s: Position %d%s%n", 
+                String status = gameEngine.getBoard().isWinningPosition(player.getPosition()) ? " 🏆 WINNER!" : "";
+                renderer.printf("  %s: Position %d%s%n", 
                     player.getName(), player.getPosition(), status);
             });
     }
     
+    /**
+     * Shows everything rendered so far, then reads a line of input
+     */
+    private String readLine() {
+        renderer.endFrame();
+        return scanner.nextLine();
+    }
+    
     private void resetGame() {
-        this.gameEngine = new GameEngine();
-        this.gameEngine.addObserver(new ConsoleGameObserver());
+        gameEngine.reset();
     }
     
     public void close() {
+        renderer.close();
         scanner.close();
     }
 }
@@ -1,9 +0,0 @@
-package com.snakeladder.command;
-
-/**
- * Command interface for implementing Command pattern
- */
-public interface Command {
-    void execute();
-    void undo();
-}
@@ -0,0 +1,134 @@
+package com.snakeladder.command;
+
+/**
+ * Bounded undo/redo log that stores each turn as packed primitives in a ring buffer.
+ * Once the configured depth is reached the oldest turn is overwritten, so history
+ * uses constant memory however long the session runs.
+ */
+public class UndoLog {
+    private static final int SEAT = 0;
+    private static final int FROM = 1;
+    private static final int TO = 2;
+    private static final int ROLL = 3;
+    private static final int JUMP = 4;
+    private static final int STREAK = 5;
+    private static final int STRIDE = 6;
+    
+    /**
+     * Deepest history allowed, about a million turns in 24 MB
+     */
+    public static final int MAX_DEPTH = 1 << 20;
+    
+    private final int depth;
+    private final int[] entries;
+    private int start;
+    private int size;
+    private int cursor;
+    
+    public UndoLog(int depth) {
+        if (depth < 1 || depth > MAX_DEPTH) {
+            throw new IllegalArgumentException("Undo depth must be between 1 and " + MAX_DEPTH);
+        }
+        this.depth = depth;
+        this.entries = new int[depth * STRIDE];
+    }
+    
+    /**
+     * Records a turn and discards anything that could have been redone.
+     *
+     * @param seat seat of the player who moved
+     * @param from position before the roll
+     * @param to position after the dice move (unchanged on an overshoot)
+     * @param roll the dice value
+     * @param jump final position after any snake or ladder
+     * @param streak extra turns the player had already earned in a row before this roll
+     */
+    public void record(int seat, int from, int to, int roll, int jump, int streak) {
+        size = cursor;
+        if (size == depth) {
+            start = (start + 1) % depth;
+            size--;
+        }
+        int base = ((start + size) % depth) * STRIDE;
+        entries[base + SEAT] = seat;
+        entries[base + FROM] = from;
+        entries[base + TO] = to;
+        entries[base + ROLL] = roll;
+        entries[base + JUMP] = jump;
+        entries[base + STREAK] = streak;
+        size++;
+        cursor = size;
+    }
+    
+    /**
+     * Steps back one turn and returns its slot, or -1 if there is nothing to undo
+     */
+    public int undo() {
+        if (cursor == 0) {
+            return -1;
+        }
+        cursor--;
+        return (start + cursor) % depth;
+    }
+    
+    /**
+     * Steps forward one undone turn and returns its slot, or -1 if there is nothing to redo
+     */
+    public int redo() {
+        if (cursor == size) {
+            return -1;
+        }
+        int slot = (start + cursor) % depth;
+        cursor++;
+        return slot;
+    }
+    
+    public boolean canUndo() {
+        return cursor > 0;
+    }
+    
+    public boolean canRedo() {
+        return cursor < size;
+    }
+    
+    public void clear() {
+        start = 0;
+        size = 0;
+        cursor = 0;
+    }
+    
+    public int getDepth() {
+        return depth;
+    }
+    
+    /**
+     * Number of turns that can currently be undone
+     */
+    public int size() {
+        return cursor;
+    }
+    
+    public int seat(int slot) {
+        return entries[slot * STRIDE + SEAT];
+    }
+    
+    public int from(int slot) {
+        return entries[slot * STRIDE + FROM];
+    }
+    
+    public int to(int slot) {
+        return entries[slot * STRIDE + TO];
+    }
+    
+    public int roll(int slot) {
+        return entries[slot * STRIDE + ROLL];
+    }
+    
+    public int jump(int slot) {
+        return entries[slot * STRIDE + JUMP];
+    }
+    
+    public int streak(int slot) {
+        return entries[slot * STRIDE + STREAK];
+    }
+}
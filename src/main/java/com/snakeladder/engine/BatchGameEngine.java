@@ -0,0 +1,167 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.strategy.DiceStrategy;
+
+import java.util.Arrays;
+
+/**
+ * Plays many independent games in lock-step, one game per lane. Every step rolls a
+ * block of dice, one per lane, and moves the same seat in every lane, so a step is a
+ * straight pass over an int[] of positions with one jump-table gather per lane.
+ *
+ * The pass runs on the JDK Vector API when the jdk.incubator.vector module is
+ * present (start the JVM with --add-modules jdk.incubator.vector) and on a scalar
+ * loop otherwise; both follow the GameEngine rules, including keeping the old
+ * position on an overshoot. A lane that finishes a game waits for the next round
+ * of seat 0 before starting its next one.
+ */
+public class BatchGameEngine {
+    public static final int DEFAULT_LANES = 256;
+    
+    /**
+     * System property that forces the scalar loop even when the Vector API is present
+     */
+    public static final String SCALAR_PROPERTY = "snakeladder.batch.scalar";
+    
+    private static final int NOT_PLAYING = Integer.MAX_VALUE;
+    private static final int REBASE_STEP = 1 << 30;
+    
+    private final int lanes;
+    private final int playerCount;
+    private final BatchKernel kernel;
+    private final DiceStrategy dice;
+    private final int[] positions;
+    private final int[] rolls;
+    private final int[] startSteps;
+    private final int[] gamesLeft;
+    private final int[] won;
+    private int step;
+    private int playingLanes;
+    
+    /**
+     * Receives every finished game
+     */
+    @FunctionalInterface
+    public interface GameFinishedListener {
+        void onGameFinished(int turns, int winner);
+    }
+    
+    public BatchGameEngine(GameBoard board, DiceStrategy dice, int playerCount) {
+        this(board, dice, playerCount, DEFAULT_LANES);
+    }
+    
+    public BatchGameEngine(GameBoard board, DiceStrategy dice, int playerCount, int lanes) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least 1 player required");
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("At least 1 lane required");
+        }
+        this.lanes = lanes;
+        this.playerCount = playerCount;
+        this.kernel = newKernel(board.compile().toArray());
+        this.dice = dice;
+        this.positions = new int[playerCount * lanes];
+        this.rolls = new int[lanes];
+        this.startSteps = new int[lanes];
+        this.gamesLeft = new int[lanes];
+        this.won = new int[lanes];
+        Arrays.fill(startSteps, NOT_PLAYING);
+    }
+    
+    private static BatchKernel newKernel(int[] destinations) {
+        if (!Boolean.getBoolean(SCALAR_PROPERTY)
+                && ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent()) {
+            try {
+                return new VectorBatchKernel(destinations);
+            } catch (LinkageError e) {
+                // Module present but unusable on this platform; fall through to scalar
+            }
+        }
+        return new ScalarBatchKernel(destinations);
+    }
+    
+    /**
+     * Plays the given number of complete games, spread as evenly as possible over the
+     * lanes, and reports each one to the listener as it finishes
+     */
+    public void playGames(long games, GameFinishedListener listener) {
+        if (games < 0) {
+            throw new IllegalArgumentException("Game count must not be negative");
+        }
+        long perLane = games / lanes;
+        int extra = (int) (games % lanes);
+        if (perLane + 1 > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many games per lane: " + perLane);
+        }
+        
+        Arrays.fill(positions, 0);
+        step = 0;
+        playingLanes = 0;
+        for (int lane = 0; lane < lanes; lane++) {
+            gamesLeft[lane] = (int) perLane + (lane < extra ? 1 : 0);
+            startSteps[lane] = gamesLeft[lane] > 0 ? 0 : NOT_PLAYING;
+            if (gamesLeft[lane] > 0) {
+                playingLanes++;
+            }
+        }
+        
+        while (playingLanes > 0) {
+            step(listener);
+        }
+    }
+    
+    private void step(GameFinishedListener listener) {
+        int seat = step % playerCount;
+        if (seat == 0 && step >= REBASE_STEP) {
+            rebase();
+        }
+        
+        dice.roll(rolls, 0, lanes);
+        int finished = kernel.advance(positions, seat * lanes, rolls, startSteps, step, lanes, won);
+        
+        for (int i = 0; i < finished; i++) {
+            int lane = won[i];
+            listener.onGameFinished(step - startSteps[lane] + 1, seat);
+            for (int row = lane; row < positions.length; row += lanes) {
+                positions[row] = 0;
+            }
+            if (--gamesLeft[lane] > 0) {
+                startSteps[lane] = step - seat + playerCount;
+            } else {
+                startSteps[lane] = NOT_PLAYING;
+                playingLanes--;
+            }
+        }
+        step++;
+    }
+    
+    /**
+     * Keeps step numbers far from overflow on very long runs; only called at the
+     * start of a round, so turn counts and seat order are unchanged
+     */
+    private void rebase() {
+        for (int lane = 0; lane < lanes; lane++) {
+            if (startSteps[lane] != NOT_PLAYING) {
+                startSteps[lane] -= step;
+            }
+        }
+        step = 0;
+    }
+    
+    public int getLanes() {
+        return lanes;
+    }
+    
+    public int getPlayerCount() {
+        return playerCount;
+    }
+    
+    /**
+     * Whether turns run on the Vector API rather than the scalar fallback
+     */
+    public boolean isVectorized() {
+        return kernel.isVectorized();
+    }
+}
@@ -0,0 +1,15 @@
+package com.snakeladder.engine;
+
+/**
+ * Inner loop of BatchGameEngine: advances every active lane of one seat row by one roll
+ */
+interface BatchKernel {
+    /**
+     * Moves each lane whose start step is at most {@code step}: adds its roll, keeps the
+     * old position on an overshoot and applies the jump table. Lanes that reach the last
+     * cell are written to {@code won} and their number is returned.
+     */
+    int advance(int[] row, int rowOffset, int[] rolls, int[] startSteps, int step, int lanes, int[] won);
+    
+    boolean isVectorized();
+}
@@ -0,0 +1,91 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+import com.snakeladder.strategy.DiceStrategy;
+
+/**
+ * Lightweight engine for games that need no observers or undo. It plays by the same
+ * rules as GameEngine but keeps all state in a GameState, so a turn allocates nothing.
+ *
+ * Rolls are drawn from the dice a block at a time. The block outlives reset(), so a
+ * series of games consumes exactly the roll sequence the dice would give one by one,
+ * as long as the dice are not shared with anything else.
+ */
+public class CompactGameEngine {
+    private static final int ROLL_BLOCK = 256;
+    
+    private final JumpTable jumpTable;
+    private final int boardSize;
+    private final DiceStrategy dice;
+    private final GameState state;
+    private final int[] rolls = new int[ROLL_BLOCK];
+    private int nextRoll = ROLL_BLOCK;
+    
+    public CompactGameEngine(GameBoard board, DiceStrategy dice, int playerCount) {
+        this.jumpTable = board.compile();
+        this.boardSize = board.getBoardSize();
+        this.dice = dice;
+        this.state = new GameState(playerCount);
+    }
+    
+    private int nextRoll() {
+        if (nextRoll == ROLL_BLOCK) {
+            dice.roll(rolls, 0, ROLL_BLOCK);
+            nextRoll = 0;
+        }
+        return rolls[nextRoll++];
+    }
+    
+    /**
+     * Plays one turn for the current seat. Returns false once the game has been won.
+     */
+    public boolean playTurn() {
+        GameState state = this.state;
+        if (state.winner != GameState.NO_WINNER) {
+            return false;
+        }
+        
+        int seat = state.currentSeat;
+        int oldPosition = state.positions[seat];
+        int newPosition = oldPosition + nextRoll();
+        
+        // Overshooting the last cell keeps the player where they were
+        if (newPosition > boardSize) {
+            newPosition = oldPosition;
+        }
+        newPosition = jumpTable.destinationOf(newPosition);
+        state.positions[seat] = newPosition;
+        state.turns++;
+        
+        if (newPosition == boardSize) {
+            state.winner = seat;
+            return false;
+        }
+        
+        state.currentSeat = seat + 1 == state.positions.length ? 0 : seat + 1;
+        return true;
+    }
+    
+    /**
+     * Plays turns until someone wins and returns the winning seat
+     */
+    public int playGame() {
+        while (playTurn()) {
+            // keep playing
+        }
+        return state.winner;
+    }
+    
+    public void reset() {
+        state.reset();
+    }
+    
+    public GameState getState() {
+        return state;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+}
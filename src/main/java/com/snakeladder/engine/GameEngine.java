@@ -1,34 +1,84 @@
 package com.snakeladder.engine;
 
-import com.snakeladder.command.Command;
-import com.snakeladder.command.MovePlayerCommand;
+import com.snakeladder.agent.MoveOptions;
+import com.snakeladder.agent.PlayerAgent;
+import com.snakeladder.command.UndoLog;
+import com.snakeladder.metrics.EngineMetrics;
+import com.snakeladder.metrics.MetricsRecorder;
 import com.snakeladder.models.*;
+import com.snakeladder.observer.BatchGameObserver;
+import com.snakeladder.observer.GameEventBuffer;
+import com.snakeladder.observer.GameEventType;
 import com.snakeladder.observer.GameObserver;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.rules.TransitionTable;
+import com.snakeladder.strategy.DiceStrategy;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
-import java.util.Stack;
 
 /**
  * Main game engine that manages the game flow
  */
 public class GameEngine {
+    public static final int DEFAULT_UNDO_DEPTH = 256;
+    public static final int DEFAULT_EVENT_BUFFER_CAPACITY = 256;
+    public static final int MAX_DICE_OFFERED = 64;
+    private static final PlayerAgent[] NO_AGENTS = new PlayerAgent[0];
+    
     private List<Player> players;
-    private GameBoard board;
+    private List<Player> playersView;
+    private final GameBoard board;
+    private final JumpTable jumpTable;
     private Dice dice;
     private int currentPlayerIndex;
     private boolean gameWon;
+    private boolean started;
     private List<GameObserver> observers;
-    private Stack<Command> commandHistory;
+    private UndoLog undoLog;
+    private boolean undoEnabled;
+    private GameEventBuffer eventBuffer;
+    private int batchFlushInterval;
+    private int turnsSinceFlush;
+    private MetricsRecorder recorder;
+    private boolean sampling;
+    private long observerNanos;
+    private int diceOffered = 1;
+    private boolean optionalLadders;
+    private PlayerAgent[] agents = NO_AGENTS;
+    private MoveOptions moveOptions;
+    private int[] offeredRolls;
+    private RuleSet rules = RuleSet.standard();
+    private TransitionTable transitions;
+    private int topStreak;
+    private Dice defaultDice;
+    private DiceStrategy defaultStrategy;
     
     public GameEngine() {
+        this(GameBoard.standard());
+    }
+    
+    public GameEngine(GameBoard board) {
+        this(board, new Dice());
+        this.defaultDice = dice;
+        this.defaultStrategy = dice.getStrategy();
+    }
+    
+    public GameEngine(GameBoard board, Dice dice) {
         this.players = new ArrayList<>();
-        this.board = GameBoard.getInstance();
-        this.dice = new Dice();
+        this.playersView = Collections.unmodifiableList(players);
+        this.board = board;
+        this.jumpTable = board.compile();
+        this.dice = dice;
+        this.transitions = rules.compile(board, dice.getMaxValue());
         this.currentPlayerIndex = 0;
         this.gameWon = false;
         this.observers = new ArrayList<>();
-        this.commandHistory = new Stack<>();
+        this.undoLog = new UndoLog(DEFAULT_UNDO_DEPTH);
+        this.undoEnabled = true;
+        this.batchFlushInterval = 1;
     }
     
     public void addPlayer(Player player) {
@@ -46,92 +96,506 @@ public class GameEngine {
         observers.remove(observer);
     }
     
+    /**
+     * Registers an observer that receives events in batches, by default once per turn
+     */
+    public void addBatchObserver(BatchGameObserver observer) {
+        if (eventBuffer == null) {
+            eventBuffer = new GameEventBuffer(Math.max(DEFAULT_EVENT_BUFFER_CAPACITY, eventsPerTurn()));
+        }
+        eventBuffer.addObserver(observer);
+    }
+    
+    public void removeBatchObserver(BatchGameObserver observer) {
+        if (eventBuffer != null) {
+            eventBuffer.removeObserver(observer);
+        }
+    }
+    
+    /**
+     * Sets how many turns are batched per delivery; 0 delivers once per game.
+     * A batch is also delivered early if the event buffer fills up.
+     */
+    public void setBatchFlushInterval(int turns) {
+        if (turns < 0) {
+            throw new IllegalArgumentException("Flush interval cannot be negative");
+        }
+        this.batchFlushInterval = turns;
+    }
+    
+    /**
+     * Delivers any batched events right away
+     */
+    public void flushEvents() {
+        if (eventBuffer != null) {
+            long start = dispatchStart();
+            eventBuffer.flush();
+            dispatchEnd(start);
+        }
+        turnsSinceFlush = 0;
+    }
+    
     public void startGame() {
         if (players.size() < 2) {
             throw new IllegalStateException("At least 2 players required to start the game");
         }
+        started = true;
+        if (recorder != null) {
+            recorder.gameStarted();
+        }
         notifyGameStarted();
     }
     
+    /**
+     * Readies the engine for a new game without reallocating anything: players,
+     * turn order, the outcome and undo history are cleared, while the board, dice,
+     * observers and settings stay. Events still batched from the old game are
+     * delivered first. Afterwards the engine behaves exactly like a new one with the
+     * same settings.
+     */
+    public void reset() {
+        flushEvents();
+        if (recorder != null && started && !gameWon) {
+            recorder.gameAbandoned();
+        }
+        players.clear();
+        currentPlayerIndex = 0;
+        topStreak = 0;
+        gameWon = false;
+        started = false;
+        undoLog.clear();
+    }
+    
+    /**
+     * Resets the engine and also drops observers, metrics and custom settings, so it
+     * matches a freshly constructed engine on the same board. Used by GameEnginePool.
+     */
+    void restoreDefaults() {
+        reset();
+        observers.clear();
+        if (eventBuffer != null) {
+            eventBuffer.clearObservers();
+        }
+        batchFlushInterval = 1;
+        turnsSinceFlush = 0;
+        if (undoLog.getDepth() != DEFAULT_UNDO_DEPTH) {
+            undoLog = new UndoLog(DEFAULT_UNDO_DEPTH);
+        }
+        undoEnabled = true;
+        setMetrics(null);
+        // The engine's own default dice are kept unless a borrower swapped them out
+        if (dice != defaultDice || dice.getStrategy() != defaultStrategy) {
+            defaultDice = new Dice();
+            defaultStrategy = defaultDice.getStrategy();
+            setDice(defaultDice);
+        }
+        diceOffered = 1;
+        optionalLadders = false;
+        agents = NO_AGENTS;
+        if (!rules.isStandard()) {
+            setRules(RuleSet.standard());
+        } else {
+            updateMoveOptions();
+        }
+    }
+    
+    /**
+     * Swaps the dice; only meant for reinitialising a pooled engine
+     */
+    void setDice(Dice dice) {
+        this.dice = dice;
+        if (dice.getMaxValue() != transitions.getFaces()) {
+            setRules(rules);
+        }
+    }
+    
+    /**
+     * Changes the rules; takes effect from the next turn. The rules are compiled into
+     * a transition table for this board and die here, not during play.
+     */
+    public void setRules(RuleSet rules) {
+        if (rules == null) {
+            throw new IllegalArgumentException("Rules cannot be null");
+        }
+        this.rules = rules;
+        this.transitions = rules.compile(board, dice.getMaxValue());
+        if (eventBuffer != null) {
+            eventBuffer.ensureCapacity(eventsPerTurn());
+        }
+        updateMoveOptions();
+    }
+    
+    public RuleSet getRules() {
+        return rules;
+    }
+    
+    /**
+     * Top faces the current player has rolled in a row this turn, under rules that
+     * grant extra turns
+     */
+    public int getTopStreak() {
+        return topStreak;
+    }
+    
+    /**
+     * Reports turns, wins, jumps and undo history to the given metrics; null turns
+     * reporting off. Counts still pending for a previous metrics instance are flushed.
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        if (recorder != null) {
+            recorder.flush();
+        }
+        recorder = metrics == null ? null : new MetricsRecorder(metrics, board.getBoardSize());
+    }
+    
+    public EngineMetrics getMetrics() {
+        return recorder == null ? null : recorder.getMetrics();
+    }
+    
+    /**
+     * Publishes the turns and jumps this engine has counted but not yet reported,
+     * for callers that play few turns and want them visible right away
+     */
+    public void flushMetrics() {
+        if (recorder != null) {
+            recorder.flush();
+        }
+    }
+    
     public boolean playTurn() {
+        MetricsRecorder recorder = this.recorder;
+        if (recorder == null || gameWon || !recorder.turnPlayed()) {
+            return advanceTurn();
+        }
+        
+        // Time this turn and the observer callbacks it makes
+        sampling = true;
+        observerNanos = 0;
+        long start = System.nanoTime();
+        try {
+            return advanceTurn();
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            sampling = false;
+            recorder.sampledTurn(elapsed, observerNanos);
+        }
+    }
+    
+    private boolean advanceTurn() {
         if (gameWon) {
             return false;
         }
         
+        if (eventBuffer != null) {
+            eventBuffer.reserve(eventsPerTurn());
+        }
+        
         Player currentPlayer = getCurrentPlayer();
         notifyTurnChanged(currentPlayer);
         
-        int diceRoll = dice.roll();
+        // The compiled rules give where the roll lands and where the player rests
+        // after any jumps, whatever rules are in play
         int oldPosition = currentPlayer.getPosition();
-        
-        // Create and execute move command
-        MovePlayerCommand moveCommand = new MovePlayerCommand(currentPlayer, diceRoll);
-        executeCommand(moveCommand);
-        
-        int newPosition = currentPlayer.getPosition();
-        
-        // Check if player goes beyond board
-        if (newPosition > board.getBoardSize()) {
-            // Bounce back or stay at current position based on rules
-            currentPlayer.setPosition(oldPosition);
+        int diceRoll;
+        int landedPosition;
+        int newPosition;
+        if (moveOptions == null) {
+            diceRoll = dice.roll();
+            landedPosition = transitions.landed(oldPosition, diceRoll);
+            newPosition = transitions.destination(oldPosition, diceRoll);
+        } else {
+            int option = chooseMove();
+            diceRoll = moveOptions.getRoll(option);
+            landedPosition = moveOptions.getLanded(option);
+            newPosition = moveOptions.getDestination(option);
+        }
+        int streak = topStreak;
+        if (transitions.forfeits(diceRoll, streak)) {
+            // The roll that completes the streak is void and ends the turn
+            landedPosition = oldPosition;
             newPosition = oldPosition;
         }
+        currentPlayer.setPosition(landedPosition);
         
-        notifyPlayerMoved(currentPlayer, oldPosition, newPosition, diceRoll);
+        notifyPlayerMoved(currentPlayer, oldPosition, landedPosition, diceRoll);
+        
+        // Check for snakes and ladders, unless the player chose to skip a ladder
+        if (newPosition != landedPosition) {
+            handleSnakesAndLadders(currentPlayer, landedPosition, newPosition);
+        }
         
-        // Check for snakes and ladders
-        newPosition = handleSnakesAndLadders(currentPlayer, newPosition);
+        if (undoEnabled) {
+            undoLog.record(currentPlayerIndex, oldPosition, landedPosition, diceRoll, newPosition, streak);
+        }
         
         // Check for win condition
         if (board.isWinningPosition(newPosition)) {
             gameWon = true;
+            if (recorder != null) {
+                recorder.gameWon();
+            }
             notifyGameWon(currentPlayer);
+            flushEvents();
             return false;
         }
         
-        // Move to next player
-        currentPlayerIndex = (currentPlayerIndex + 1) % players.size();
+        // Move to next player, unless the roll earned another turn
+        passTurn(currentPlayerIndex, diceRoll, streak);
+        countTurnForFlush();
         return true;
     }
     
-    private int handleSnakesAndLadders(Player player, int position) {
-        // Check for snake
-        if (board.hasSnake(position)) {
-            Snake snake = board.getSnake(position);
-            player.setPosition(snake.getTail());
-            notifySnakeEncountered(player, snake.getHead(), snake.getTail());
-            return snake.getTail();
+    private void countTurnForFlush() {
+        if (batchFlushInterval > 0 && ++turnsSinceFlush >= batchFlushInterval) {
+            flushEvents();
         }
-        
-        // Check for ladder
-        if (board.hasLadder(position)) {
-            Ladder ladder = board.getLadder(position);
-            player.setPosition(ladder.getTop());
-            notifyLadderEncountered(player, ladder.getBottom(), ladder.getTop());
-            return ladder.getTop();
+    }
+    
+    /**
+     * Rolls the offered dice and lets the current seat's agent pick a move. Seats
+     * without an agent take the first die and climb any ladder, as in the standard rules.
+     */
+    private int chooseMove() {
+        MoveOptions options = moveOptions;
+        options.begin(currentPlayerIndex, players.size(), dice.getMaxValue());
+        for (int seat = 0; seat < players.size(); seat++) {
+            options.setPosition(seat, players.get(seat).getPosition());
         }
+        for (int i = 0; i < diceOffered; i++) {
+            offeredRolls[i] = dice.roll();
+        }
+        options.offer(offeredRolls, diceOffered);
         
-        return position;
+        PlayerAgent agent = currentPlayerIndex < agents.length ? agents[currentPlayerIndex] : null;
+        if (agent == null || options.getCount() == 1) {
+            return 0;
+        }
+        int option = agent.choose(options);
+        if (option < 0 || option >= options.getCount()) {
+            throw new IllegalStateException("Agent chose option " + option + " of " + options.getCount());
+        }
+        return option;
+    }
+    
+    /**
+     * Offers each player this many dice per turn to choose from, up to MAX_DICE_OFFERED;
+     * 1 plays the standard rules
+     */
+    public void setDiceOffered(int count) {
+        if (count < 1 || count > MAX_DICE_OFFERED) {
+            throw new IllegalArgumentException("Between 1 and " + MAX_DICE_OFFERED + " dice must be offered");
+        }
+        this.diceOffered = count;
+        updateMoveOptions();
+    }
+    
+    public int getDiceOffered() {
+        return diceOffered;
+    }
+    
+    /**
+     * Lets players stay at the bottom of a ladder they land on instead of climbing it
+     */
+    public void setOptionalLadders(boolean optionalLadders) {
+        this.optionalLadders = optionalLadders;
+        updateMoveOptions();
+    }
+    
+    public boolean isOptionalLadders() {
+        return optionalLadders;
+    }
+    
+    private void updateMoveOptions() {
+        if (diceOffered > 1 || optionalLadders) {
+            moveOptions = new MoveOptions(transitions, optionalLadders);
+            offeredRolls = new int[diceOffered];
+        } else {
+            moveOptions = null;
+            offeredRolls = null;
+        }
+    }
+    
+    /**
+     * Sets the agent that makes the choices for a seat; null leaves the seat on the
+     * default move. Agents are only asked when a turn offers more than one move.
+     */
+    public void setPlayerAgent(int seat, PlayerAgent agent) {
+        if (seat < 0) {
+            throw new IllegalArgumentException("Seat cannot be negative");
+        }
+        if (seat >= agents.length) {
+            agents = Arrays.copyOf(agents, seat + 1);
+        }
+        agents[seat] = agent;
+    }
+    
+    public PlayerAgent getPlayerAgent(int seat) {
+        return seat < agents.length ? agents[seat] : null;
     }
     
-    private void executeCommand(Command command) {
-        command.execute();
-        commandHistory.push(command);
+    /**
+     * Most events one turn records: turn changed, player moved, every snake and ladder
+     * of the longest chain the rules allow, and either game won or turn passed. A turn's events always fit in
+     * the event buffer together, so a batch never splits them.
+     */
+    private int eventsPerTurn() {
+        return 3 + transitions.getMaxChain();
     }
     
-    public void undoLastMove() {
-        if (!commandHistory.isEmpty()) {
-            Command lastCommand = commandHistory.pop();
-            lastCommand.undo();
+    /**
+     * Hands the turn on after the given seat's roll: to the same seat again if the roll
+     * earned an extra turn, otherwise to the next one
+     */
+    private void passTurn(int seat, int roll, int streak) {
+        if (transitions.rollsAgain(roll) && !transitions.forfeits(roll, streak)) {
+            currentPlayerIndex = seat;
+            topStreak = streak + 1;
+        } else {
+            currentPlayerIndex = (seat + 1) % players.size();
+            topStreak = 0;
         }
+        int position = players.get(currentPlayerIndex).getPosition();
+        recordEvent(GameEventType.TURN_PASSED, currentPlayerIndex, position, position, 0);
+    }
+    
+    /**
+     * Follows the jumps from the landed cell to the destination the rules compiled
+     * for it, reporting each snake and ladder on the way
+     */
+    private void handleSnakesAndLadders(Player player, int position, int destination) {
+        while (position != destination) {
+            int next = jumpTable.destinationOf(position);
+            player.setPosition(next);
+            if (next < position) {
+                if (recorder != null) {
+                    recorder.snakeHit(position);
+                }
+                notifySnakeEncountered(player, position, next);
+            } else {
+                if (recorder != null) {
+                    recorder.ladderHit(position);
+                }
+                notifyLadderEncountered(player, position, next);
+            }
+            position = next;
+        }
+    }
+    
+    /**
+     * Reverts the last turn completely: the dice move, any snake or ladder jump,
+     * the turn order and, if that turn won the game, the win itself. Batch observers
+     * see a MOVE_UNDONE event.
+     */
+    public boolean undoLastMove() {
+        int slot = undoLog.undo();
+        if (slot < 0) {
+            return false;
+        }
+        int seat = undoLog.seat(slot);
+        Player player = players.get(seat);
+        if (eventBuffer != null) {
+            eventBuffer.reserve(1);
+        }
+        recordEvent(GameEventType.MOVE_UNDONE, seat, player.getPosition(), undoLog.from(slot), undoLog.roll(slot));
+        player.setPosition(undoLog.from(slot));
+        currentPlayerIndex = seat;
+        topStreak = undoLog.streak(slot);
+        if (recorder != null) {
+            recorder.undo();
+            if (gameWon) {
+                recorder.winUndone();
+            }
+        }
+        gameWon = false;
+        countTurnForFlush();
+        return true;
+    }
+    
+    /**
+     * Replays the most recently undone turn with its original dice roll and jump.
+     * Batch observers see a MOVE_REDONE event followed by TURN_PASSED or GAME_WON.
+     */
+    public boolean redoLastMove() {
+        int slot = undoLog.redo();
+        if (slot < 0) {
+            return false;
+        }
+        int seat = undoLog.seat(slot);
+        int position = undoLog.jump(slot);
+        if (eventBuffer != null) {
+            eventBuffer.reserve(2);
+        }
+        recordEvent(GameEventType.MOVE_REDONE, seat, undoLog.from(slot), position, undoLog.roll(slot));
+        players.get(seat).setPosition(position);
+        if (board.isWinningPosition(position)) {
+            currentPlayerIndex = seat;
+            gameWon = true;
+            recordEvent(GameEventType.GAME_WON, seat, position, position, 0);
+        } else {
+            passTurn(seat, undoLog.roll(slot), undoLog.streak(slot));
+        }
+        if (recorder != null) {
+            recorder.redo();
+            if (gameWon) {
+                recorder.gameWon();
+            }
+        }
+        if (gameWon) {
+            flushEvents();
+        } else {
+            countTurnForFlush();
+        }
+        return true;
+    }
+    
+    public boolean canUndo() {
+        return undoLog.canUndo();
+    }
+    
+    public boolean canRedo() {
+        return undoLog.canRedo();
+    }
+    
+    /**
+     * Sets how many turns can be undone, at most UndoLog.MAX_DEPTH; the existing
+     * history is discarded
+     */
+    public void setUndoDepth(int depth) {
+        this.undoLog = new UndoLog(depth);
+    }
+    
+    public int getUndoDepth() {
+        return undoLog.getDepth();
+    }
+    
+    /**
+     * Turns move history on or off. With it off, turns record nothing and
+     * undoLastMove has nothing to revert.
+     */
+    public void setUndoEnabled(boolean undoEnabled) {
+        this.undoEnabled = undoEnabled;
+        if (!undoEnabled) {
+            undoLog.clear();
+        }
+    }
+    
+    public boolean isUndoEnabled() {
+        return undoEnabled;
     }
     
     public Player getCurrentPlayer() {
         return players.get(currentPlayerIndex);
     }
     
+    public int getCurrentPlayerIndex() {
+        return currentPlayerIndex;
+    }
+    
+    /**
+     * Read-only view of the players in seat order; it reflects later additions
+     */
     public List<Player> getPlayers() {
-        return new ArrayList<>(players);
+        return playersView;
     }
     
     public boolean isGameWon() {
@@ -142,40 +606,94 @@ public class GameEngine {
         return board;
     }
     
+    public Dice getDice() {
+        return dice;
+    }
+    
+    /**
+     * Restores the turn order and outcome captured in a GameSnapshot
+     */
+    void restoreTurnState(int currentPlayerIndex, int topStreak, boolean gameWon) {
+        if (currentPlayerIndex < 0 || currentPlayerIndex >= players.size()) {
+            throw new IllegalArgumentException("No player in seat " + currentPlayerIndex);
+        }
+        if (topStreak < 0) {
+            throw new IllegalArgumentException("Negative top-face streak " + topStreak);
+        }
+        this.currentPlayerIndex = currentPlayerIndex;
+        this.topStreak = topStreak;
+        this.gameWon = gameWon;
+        this.started = true;
+    }
+    
     // Observer notification methods
     private void notifyPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+        recordEvent(GameEventType.PLAYER_MOVED, currentPlayerIndex, oldPosition, newPosition, diceRoll);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onPlayerMoved(player, oldPosition, newPosition, diceRoll);
         }
+        dispatchEnd(start);
     }
     
     private void notifySnakeEncountered(Player player, int snakeHead, int snakeTail) {
+        recordEvent(GameEventType.SNAKE_ENCOUNTERED, currentPlayerIndex, snakeHead, snakeTail, 0);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onSnakeEncountered(player, snakeHead, snakeTail);
         }
+        dispatchEnd(start);
     }
     
     private void notifyLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+        recordEvent(GameEventType.LADDER_ENCOUNTERED, currentPlayerIndex, ladderBottom, ladderTop, 0);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onLadderEncountered(player, ladderBottom, ladderTop);
         }
+        dispatchEnd(start);
     }
     
     private void notifyGameWon(Player winner) {
+        recordEvent(GameEventType.GAME_WON, currentPlayerIndex, winner.getPosition(), winner.getPosition(), 0);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onGameWon(winner);
         }
+        dispatchEnd(start);
     }
     
     private void notifyGameStarted() {
+        recordEvent(GameEventType.GAME_STARTED, -1, 0, 0, 0);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onGameStarted();
         }
+        dispatchEnd(start);
     }
     
     private void notifyTurnChanged(Player currentPlayer) {
+        recordEvent(GameEventType.TURN_CHANGED, currentPlayerIndex, currentPlayer.getPosition(), currentPlayer.getPosition(), 0);
+        long start = dispatchStart();
         for (GameObserver observer : observers) {
             observer.onTurnChanged(currentPlayer);
         }
+        dispatchEnd(start);
+    }
+    
+    private long dispatchStart() {
+        return sampling ? System.nanoTime() : 0L;
+    }
+    
+    private void dispatchEnd(long start) {
+        if (start != 0L) {
+            observerNanos += System.nanoTime() - start;
+        }
+    }
+    
+    private void recordEvent(GameEventType type, int seat, int from, int to, int roll) {
+        if (eventBuffer != null && eventBuffer.hasObservers()) {
+            eventBuffer.record(type, seat, from, to, roll);
+        }
     }
 }
@@ -0,0 +1,92 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+
+import java.util.ArrayDeque;
+import java.util.Iterator;
+
+/**
+ * Small bounded pool of idle GameEngines for workloads that play many short games.
+ * A released engine is reset to exactly the state of a new engine on the same board,
+ * keeping its lists, undo log and event buffer, so acquiring it again costs almost
+ * nothing. Engines beyond the capacity are left to the garbage collector.
+ *
+ * A pool is not thread-safe. {@link #local()} gives each thread its own; virtual
+ * threads come and go too quickly for that, so code on them should hold a pool itself.
+ */
+public class GameEnginePool {
+    public static final int DEFAULT_CAPACITY = 8;
+    
+    private static final ThreadLocal<GameEnginePool> LOCAL =
+            ThreadLocal.withInitial(() -> new GameEnginePool(DEFAULT_CAPACITY));
+    
+    private final ArrayDeque<GameEngine> idle;
+    private final int capacity;
+    
+    public GameEnginePool(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Pool capacity must be at least 1");
+        }
+        this.capacity = capacity;
+        this.idle = new ArrayDeque<>(capacity);
+    }
+    
+    /**
+     * The calling thread's pool
+     */
+    public static GameEnginePool local() {
+        return LOCAL.get();
+    }
+    
+    /**
+     * Returns an idle engine for the board, or a new one if none is pooled. Either way
+     * it rolls default dice, never the dice of a previous borrower.
+     */
+    public GameEngine acquire(GameBoard board) {
+        GameEngine engine = takeIdle(board);
+        return engine != null ? engine : new GameEngine(board);
+    }
+    
+    /**
+     * Returns an idle engine for the board that rolls the given dice
+     */
+    public GameEngine acquire(GameBoard board, Dice dice) {
+        GameEngine engine = takeIdle(board);
+        if (engine == null) {
+            return new GameEngine(board, dice);
+        }
+        engine.setDice(dice);
+        return engine;
+    }
+    
+    private GameEngine takeIdle(GameBoard board) {
+        for (Iterator<GameEngine> it = idle.iterator(); it.hasNext(); ) {
+            GameEngine engine = it.next();
+            GameBoard pooled = engine.getBoard();
+            if (pooled == board || pooled.equals(board)) {
+                it.remove();
+                return engine;
+            }
+        }
+        return null;
+    }
+    
+    /**
+     * Hands an engine back. It must not be used by the caller afterwards.
+     */
+    public void release(GameEngine engine) {
+        engine.restoreDefaults();
+        if (idle.size() < capacity) {
+            idle.push(engine);
+        }
+    }
+    
+    public int size() {
+        return idle.size();
+    }
+    
+    public int getCapacity() {
+        return capacity;
+    }
+}
@@ -0,0 +1,258 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.command.UndoLog;
+import com.snakeladder.models.BoardRegistry;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.strategy.DiceStrategy;
+import com.snakeladder.strategy.RestorableDice;
+import com.snakeladder.strategy.SplitMixDice;
+
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Versioned little-endian binary snapshot of a GameEngine: board layout, players,
+ * turn order, outcome, undo settings, rules, choice settings and the dice stream
+ * position. Restoring a snapshot continues the game with exactly the rolls the
+ * original would have made.
+ *
+ * Observers, player agents and undo history are not part of a snapshot; a restored
+ * engine starts with none of them.
+ *
+ * Layout, version 2:
+ * int magic, short version, short flags (bit 0 game won, bit 1 undo enabled,
+ * bit 2 optional ladders),
+ * int board size, int snake count, int ladder count, (int head, int tail)*, (int bottom, int top)*,
+ * byte dice kind, int dice faces, long dice state, int undo depth,
+ * byte overshoot rule, byte rule flags (bit 0 roll again on top face, bit 1 chain jumps),
+ * int forfeit streak, int top-face streak, int dice offered,
+ * int player count, int current seat, (int id, int position, unsigned short name length, UTF-8 name)*
+ *
+ * Version 1 snapshots, which end the undo depth with the player count, are still
+ * read and restore with the standard rules.
+ */
+public final class GameSnapshot {
+    public static final int VERSION = 2;
+    
+    private static final int MAGIC = 0x534C5331; // "SLS1"
+    private static final int FLAG_WON = 1;
+    private static final int FLAG_UNDO = 2;
+    private static final int FLAG_OPTIONAL_LADDERS = 4;
+    private static final int RULE_ROLL_AGAIN = 1;
+    private static final int RULE_CHAIN_JUMPS = 2;
+    private static final byte DICE_SPLITMIX = 1;
+    
+    private GameSnapshot() {
+    }
+    
+    /**
+     * Encodes the engine into a new array. The engine's dice must be RestorableDice.
+     */
+    public static byte[] capture(GameEngine engine) {
+        ByteBuffer buffer = ByteBuffer.allocate(encodedSize(engine));
+        write(engine, buffer);
+        return buffer.array();
+    }
+    
+    /**
+     * Number of bytes {@link #write} will put for this engine
+     */
+    public static int encodedSize(GameEngine engine) {
+        GameBoard board = engine.getBoard();
+        int size = 8 + 12 + 8 * (board.getSnakeCount() + board.getLadderCount()) + 1 + 4 + 8 + 4 + 14 + 8;
+        for (Player player : engine.getPlayers()) {
+            size += 10 + player.getName().getBytes(StandardCharsets.UTF_8).length;
+        }
+        return size;
+    }
+    
+    /**
+     * Encodes the engine at the buffer's position, leaving the position after the snapshot
+     */
+    public static void write(GameEngine engine, ByteBuffer target) {
+        RestorableDice dice = restorableDice(engine.getDice());
+        ByteBuffer buffer = target.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        GameBoard board = engine.getBoard();
+        List<Player> players = engine.getPlayers();
+        
+        int flags = (engine.isGameWon() ? FLAG_WON : 0) | (engine.isUndoEnabled() ? FLAG_UNDO : 0)
+                | (engine.isOptionalLadders() ? FLAG_OPTIONAL_LADDERS : 0);
+        buffer.putInt(MAGIC).putShort((short) VERSION).putShort((short) flags);
+        
+        buffer.putInt(board.getBoardSize())
+                .putInt(board.getSnakeCount())
+                .putInt(board.getLadderCount());
+        board.forEachSnake((head, tail) -> buffer.putInt(head).putInt(tail));
+        board.forEachLadder((bottom, top) -> buffer.putInt(bottom).putInt(top));
+        
+        buffer.put(DICE_SPLITMIX).putInt(dice.getMaxValue()).putLong(dice.getState());
+        buffer.putInt(engine.getUndoDepth());
+        
+        RuleSet rules = engine.getRules();
+        int ruleFlags = (rules.isRollAgainOnTopFace() ? RULE_ROLL_AGAIN : 0) | (rules.isChainJumps() ? RULE_CHAIN_JUMPS : 0);
+        buffer.put((byte) rules.getOvershoot().ordinal())
+                .put((byte) ruleFlags)
+                .putInt(rules.getForfeitStreak())
+                .putInt(engine.getTopStreak())
+                .putInt(engine.getDiceOffered());
+        
+        buffer.putInt(players.size()).putInt(engine.getCurrentPlayerIndex());
+        for (Player player : players) {
+            byte[] name = checkNameLength(player.getName().getBytes(StandardCharsets.UTF_8));
+            buffer.putInt(player.getId())
+                    .putInt(player.getPosition())
+                    .putShort((short) name.length)
+                    .put(name);
+        }
+        target.position(buffer.position());
+    }
+    
+    public static GameEngine restore(byte[] snapshot) {
+        return restore(ByteBuffer.wrap(snapshot));
+    }
+    
+    /**
+     * Decodes a snapshot into a new engine, interning its board in the given registry
+     * so restored sessions share one layout
+     */
+    public static GameEngine restore(byte[] snapshot, BoardRegistry registry) {
+        return restore(ByteBuffer.wrap(snapshot), registry);
+    }
+    
+    /**
+     * Decodes a snapshot at the buffer's position into a new engine with a board of
+     * its own. Every field is checked against the board and the engine's limits, so
+     * corrupt or hostile input is rejected with an IllegalArgumentException.
+     */
+    public static GameEngine restore(ByteBuffer source) {
+        return restore(source, null);
+    }
+    
+    /**
+     * Decodes a snapshot at the buffer's position, interning its board in the given
+     * registry. Registries keep every board they are given, so untrusted snapshots
+     * should go to a registry the caller can bound or drop.
+     */
+    public static GameEngine restore(ByteBuffer source, BoardRegistry registry) {
+        ByteBuffer buffer = source.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        try {
+            if (buffer.getInt() != MAGIC) {
+                throw new IllegalArgumentException("Not a game snapshot");
+            }
+            int version = buffer.getShort();
+            if (version != 1 && version != VERSION) {
+                throw new IllegalArgumentException("Unsupported snapshot version " + version);
+            }
+            int flags = buffer.getShort();
+            
+            int boardSize = checkRange(buffer.getInt(), 1, Integer.MAX_VALUE - 1);
+            int snakes = checkRange(buffer.getInt(), 0, buffer.remaining() / 8);
+            int ladders = checkRange(buffer.getInt(), 0, buffer.remaining() / 8 - snakes);
+            GameBoard.Builder builder = GameBoard.builder(boardSize);
+            try {
+                for (int i = 0; i < snakes; i++) {
+                    builder.addSnake(buffer.getInt(), buffer.getInt());
+                }
+                for (int i = 0; i < ladders; i++) {
+                    builder.addLadder(buffer.getInt(), buffer.getInt());
+                }
+            } catch (IllegalArgumentException e) {
+                throw corrupt(e);
+            }
+            GameBoard board = registry != null ? registry.intern(builder) : builder.build();
+            
+            byte diceKind = buffer.get();
+            if (diceKind != DICE_SPLITMIX) {
+                throw new IllegalArgumentException("Unknown dice kind " + diceKind);
+            }
+            int faces = checkRange(buffer.getInt(), 1, Integer.MAX_VALUE);
+            long diceState = buffer.getLong();
+            GameEngine engine = new GameEngine(board, new Dice(new SplitMixDice(diceState, faces)));
+            engine.setUndoDepth(checkRange(buffer.getInt(), 1, UndoLog.MAX_DEPTH));
+            engine.setUndoEnabled((flags & FLAG_UNDO) != 0);
+            
+            int topStreak = 0;
+            if (version >= 2) {
+                int overshoot = checkRange(buffer.get(), 0, OvershootRule.values().length - 1);
+                int ruleFlags = buffer.get();
+                RuleSet rules;
+                try {
+                    rules = RuleSet.builder()
+                            .overshoot(OvershootRule.values()[overshoot])
+                            .rollAgainOnTopFace((ruleFlags & RULE_ROLL_AGAIN) != 0)
+                            .forfeitStreak(buffer.getInt())
+                            .chainJumps((ruleFlags & RULE_CHAIN_JUMPS) != 0)
+                            .build();
+                    engine.setRules(rules);
+                } catch (IllegalArgumentException e) {
+                    throw corrupt(e);
+                }
+                // Without roll-again no streak builds up, and a forfeited roll resets it
+                int maxStreak = !rules.isRollAgainOnTopFace() ? 0
+                        : rules.getForfeitStreak() > 0 ? rules.getForfeitStreak() - 1 : Integer.MAX_VALUE;
+                topStreak = checkRange(buffer.getInt(), 0, maxStreak);
+                engine.setDiceOffered(checkRange(buffer.getInt(), 1, GameEngine.MAX_DICE_OFFERED));
+                engine.setOptionalLadders((flags & FLAG_OPTIONAL_LADDERS) != 0);
+            }
+            
+            // Each player takes at least 10 bytes
+            int playerCount = checkRange(buffer.getInt(), 1, buffer.remaining() / 10);
+            int currentSeat = checkRange(buffer.getInt(), 0, playerCount - 1);
+            boolean someoneFinished = false;
+            for (int i = 0; i < playerCount; i++) {
+                int id = buffer.getInt();
+                int position = checkRange(buffer.getInt(), 0, boardSize);
+                byte[] name = new byte[buffer.getShort() & 0xFFFF];
+                buffer.get(name);
+                Player player = new Player(new String(name, StandardCharsets.UTF_8), id);
+                player.setPosition(position);
+                engine.addPlayer(player);
+                someoneFinished |= board.isWinningPosition(position);
+            }
+            boolean won = (flags & FLAG_WON) != 0;
+            if (won != someoneFinished) {
+                throw corrupt(null);
+            }
+            engine.restoreTurnState(currentSeat, topStreak, won);
+            source.position(buffer.position());
+            return engine;
+        } catch (BufferUnderflowException e) {
+            throw new IllegalArgumentException("Truncated game snapshot", e);
+        }
+    }
+    
+    private static int checkRange(int value, int min, int max) {
+        if (value < min || value > max) {
+            throw corrupt(null);
+        }
+        return value;
+    }
+    
+    private static IllegalArgumentException corrupt(IllegalArgumentException cause) {
+        return new IllegalArgumentException("Corrupt game snapshot", cause);
+    }
+    
+    private static byte[] checkNameLength(byte[] name) {
+        if (name.length > 0xFFFF) {
+            throw new IllegalArgumentException("Player name longer than 65535 UTF-8 bytes cannot be snapshot");
+        }
+        return name;
+    }
+    
+    private static RestorableDice restorableDice(Dice dice) {
+        // The decoder has to rebuild the same generator, so only known kinds are accepted
+        DiceStrategy strategy = dice.getStrategy();
+        if (!(strategy instanceof SplitMixDice)) {
+            throw new IllegalStateException("Cannot snapshot a game rolling "
+                    + strategy.getClass().getSimpleName() + "; use SplitMixDice for resumable games");
+        }
+        return (RestorableDice) strategy;
+    }
+}
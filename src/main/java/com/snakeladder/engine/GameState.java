@@ -0,0 +1,110 @@
+package com.snakeladder.engine;
+
+import java.util.Arrays;
+
+/**
+ * Compact game state: player positions indexed by seat plus the seat to move
+ */
+public class GameState {
+    public static final int NO_WINNER = -1;
+    
+    final int[] positions;
+    int currentSeat;
+    int winner;
+    long turns;
+    
+    public GameState(int playerCount) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least 1 player required");
+        }
+        this.positions = new int[playerCount];
+        this.winner = NO_WINNER;
+    }
+    
+    public int getPlayerCount() {
+        return positions.length;
+    }
+    
+    public int getPosition(int seat) {
+        return positions[seat];
+    }
+    
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+    
+    public boolean isFinished() {
+        return winner != NO_WINNER;
+    }
+    
+    /**
+     * Seat of the winning player, or NO_WINNER while the game is running
+     */
+    public int getWinner() {
+        return winner;
+    }
+    
+    public long getTurns() {
+        return turns;
+    }
+    
+    /**
+     * Applies a finished turn for the given seat under the standard rules, which pass
+     * the turn to the following seat
+     */
+    public void applyTurn(int seat, int position, boolean won) {
+        applyTurn(seat, position, won, seat + 1 == positions.length ? 0 : seat + 1);
+    }
+    
+    /**
+     * Applies a finished turn for the given seat, handing the turn to {@code nextSeat}
+     * as the engine did; a winning turn keeps the winner's seat
+     */
+    public void applyTurn(int seat, int position, boolean won, int nextSeat) {
+        positions[seat] = position;
+        turns++;
+        if (won) {
+            winner = seat;
+            currentSeat = seat;
+        } else {
+            currentSeat = nextSeat;
+        }
+    }
+    
+    /**
+     * Takes back the seat's last turn, as GameEngine.undoLastMove does: the seat returns
+     * to the given position, moves next, and any win is cancelled
+     */
+    public void undoTurn(int seat, int position) {
+        positions[seat] = position;
+        turns--;
+        currentSeat = seat;
+        winner = NO_WINNER;
+    }
+    
+    /**
+     * Puts every player back on the start cell without allocating
+     */
+    public void reset() {
+        Arrays.fill(positions, 0);
+        currentSeat = 0;
+        winner = NO_WINNER;
+        turns = 0;
+    }
+    
+    public void copyFrom(GameState other) {
+        if (other.positions.length != positions.length) {
+            throw new IllegalArgumentException("Player counts differ");
+        }
+        System.arraycopy(other.positions, 0, positions, 0, positions.length);
+        currentSeat = other.currentSeat;
+        winner = other.winner;
+        turns = other.turns;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("GameState{positions=%s, currentSeat=%d, winner=%d, turns=%d}",
+                Arrays.toString(positions), currentSeat, winner, turns);
+    }
+}
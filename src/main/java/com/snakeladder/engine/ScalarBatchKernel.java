@@ -0,0 +1,41 @@
+package com.snakeladder.engine;
+
+/**
+ * Plain loop over the lanes, used when the Vector API is not available
+ */
+final class ScalarBatchKernel implements BatchKernel {
+    private final int[] destinations;
+    private final int boardSize;
+    
+    ScalarBatchKernel(int[] destinations) {
+        this.destinations = destinations;
+        this.boardSize = destinations.length - 1;
+    }
+    
+    @Override
+    public int advance(int[] row, int rowOffset, int[] rolls, int[] startSteps, int step, int lanes, int[] won) {
+        return advanceRange(destinations, boardSize, row, rowOffset, rolls, startSteps, step, 0, lanes, won, 0);
+    }
+    
+    static int advanceRange(int[] destinations, int boardSize, int[] row, int rowOffset, int[] rolls,
+                            int[] startSteps, int step, int from, int to, int[] won, int wonCount) {
+        for (int lane = from; lane < to; lane++) {
+            if (startSteps[lane] > step) {
+                continue;
+            }
+            int position = row[rowOffset + lane];
+            int target = position + rolls[lane];
+            int next = destinations[target > boardSize ? position : target];
+            row[rowOffset + lane] = next;
+            if (next == boardSize) {
+                won[wonCount++] = lane;
+            }
+        }
+        return wonCount;
+    }
+    
+    @Override
+    public boolean isVectorized() {
+        return false;
+    }
+}
@@ -0,0 +1,65 @@
+package com.snakeladder.engine;
+
+import jdk.incubator.vector.IntVector;
+import jdk.incubator.vector.VectorMask;
+import jdk.incubator.vector.VectorOperators;
+import jdk.incubator.vector.VectorSpecies;
+
+/**
+ * Vector API kernel: one vector of lanes per iteration with a gather from the jump
+ * table. Only loaded when jdk.incubator.vector is in the boot layer.
+ */
+final class VectorBatchKernel implements BatchKernel {
+    private static final VectorSpecies<Integer> SPECIES = IntVector.SPECIES_PREFERRED;
+    
+    private final int[] destinations;
+    private final int boardSize;
+    private int[] indexes = new int[0];
+    
+    VectorBatchKernel(int[] destinations) {
+        this.destinations = destinations;
+        this.boardSize = destinations.length - 1;
+    }
+    
+    @Override
+    public int advance(int[] row, int rowOffset, int[] rolls, int[] startSteps, int step, int lanes, int[] won) {
+        if (indexes.length < lanes) {
+            indexes = new int[lanes];
+        }
+        int[] indexes = this.indexes;
+        int width = SPECIES.length();
+        int upper = SPECIES.loopBound(lanes);
+        int wonCount = 0;
+        
+        for (int lane = 0; lane < upper; lane += width) {
+            VectorMask<Integer> active = IntVector.fromArray(SPECIES, startSteps, lane)
+                    .compare(VectorOperators.LE, step);
+            if (!active.anyTrue()) {
+                continue;
+            }
+            IntVector position = IntVector.fromArray(SPECIES, row, rowOffset + lane);
+            IntVector target = position.add(IntVector.fromArray(SPECIES, rolls, lane));
+            IntVector kept = target.blend(position, target.compare(VectorOperators.GT, boardSize));
+            kept.intoArray(indexes, lane);
+            IntVector next = IntVector.fromArray(SPECIES, destinations, 0, indexes, lane);
+            IntVector moved = position.blend(next, active);
+            moved.intoArray(row, rowOffset + lane);
+            
+            VectorMask<Integer> finished = moved.compare(VectorOperators.EQ, boardSize).and(active);
+            if (finished.anyTrue()) {
+                long bits = finished.toLong();
+                while (bits != 0) {
+                    won[wonCount++] = lane + Long.numberOfTrailingZeros(bits);
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return ScalarBatchKernel.advanceRange(destinations, boardSize, row, rowOffset, rolls,
+                startSteps, step, upper, lanes, won, wonCount);
+    }
+    
+    @Override
+    public boolean isVectorized() {
+        return true;
+    }
+}
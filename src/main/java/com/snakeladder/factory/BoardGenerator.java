@@ -0,0 +1,217 @@
+package com.snakeladder.factory;
+
+import com.snakeladder.analytics.MarkovChainSolver;
+import com.snakeladder.models.GameBoard;
+
+import java.util.SplittableRandom;
+import java.util.random.RandomGenerator;
+import java.util.stream.IntStream;
+
+/**
+ * Generates random, always-valid board layouts in time linear in the number of jumps.
+ *
+ * Every snake and ladder end gets a cell of its own, tracked in an occupancy bitset, so
+ * no two jumps share a cell, no jump chains into another (which also rules out cycles)
+ * and nothing is placed on the start or final cell. Snake heads are never placed in a
+ * run of as many consecutive cells as the dice has faces, so every game can finish.
+ */
+public class BoardGenerator {
+    private static final int MAX_TAIL_ATTEMPTS = 32;
+    private static final int CANDIDATE_BATCH = 256;
+    
+    private final int boardSize;
+    private final int snakeCount;
+    private final int ladderCount;
+    private final int faces;
+    
+    public BoardGenerator(int boardSize, int snakeCount, int ladderCount) {
+        this(boardSize, snakeCount, ladderCount, 6);
+    }
+    
+    public BoardGenerator(int boardSize, int snakeCount, int ladderCount, int faces) {
+        if (snakeCount < 0 || ladderCount < 0) {
+            throw new IllegalArgumentException("Snake and ladder counts must not be negative");
+        }
+        if (faces < 2) {
+            throw new IllegalArgumentException("Dice must have at least two faces");
+        }
+        // Keep at least half of the playable cells free so random placement stays O(1)
+        long endpoints = 2L * (snakeCount + ladderCount);
+        if (boardSize < 3 || endpoints > (boardSize - 1) / 2) {
+            throw new IllegalArgumentException(String.format(
+                    "%d snakes and %d ladders do not fit on a board of %d cells", snakeCount, ladderCount, boardSize));
+        }
+        this.boardSize = boardSize;
+        this.snakeCount = snakeCount;
+        this.ladderCount = ladderCount;
+        this.faces = faces;
+    }
+    
+    /**
+     * Generates one layout from the given generator
+     */
+    public GameBoard generate(RandomGenerator random) {
+        long[] occupied = new long[(boardSize >>> 6) + 1];
+        long[] heads = new long[occupied.length];
+        GameBoard.Builder builder = GameBoard.builder(boardSize);
+        
+        for (int placed = 0; placed < snakeCount; ) {
+            int head = freeCell(random, occupied, 2, boardSize);
+            if (snakeRunThrough(heads, head) >= faces) {
+                continue;
+            }
+            int tail = freeCellBelow(random, occupied, head);
+            if (tail < 0) {
+                continue;
+            }
+            set(occupied, head);
+            set(occupied, tail);
+            set(heads, head);
+            builder.addSnake(head, tail);
+            placed++;
+        }
+        
+        for (int placed = 0; placed < ladderCount; ) {
+            int bottom = freeCell(random, occupied, 1, boardSize - 1);
+            int top = freeCellAbove(random, occupied, bottom);
+            if (top < 0) {
+                continue;
+            }
+            set(occupied, bottom);
+            set(occupied, top);
+            builder.addLadder(bottom, top);
+            placed++;
+        }
+        return builder.build();
+    }
+    
+    public GameBoard generate(long seed) {
+        return generate(new SplittableRandom(seed));
+    }
+    
+    /**
+     * Generates {@code count} layouts in parallel. Layout i is the same for a given seed
+     * however many threads take part.
+     */
+    public GameBoard[] generate(int count, long seed) {
+        SplittableRandom[] randoms = splitAll(new SplittableRandom(seed), count);
+        return IntStream.range(0, count)
+                .parallel()
+                .mapToObj(i -> generate(randoms[i]))
+                .toArray(GameBoard[]::new);
+    }
+    
+    /**
+     * Searches random layouts for one whose exact expected number of turns for a single
+     * player, from the Markov chain solver, lies within {@code tolerance} of the target.
+     * Candidates are generated and solved in parallel batches; the search stops at the
+     * first batch with a match or after {@code maxCandidates}, and returns the closest
+     * layout seen either way.
+     */
+    public GameBoard generateWithExpectedTurns(double targetTurns, double tolerance, int maxCandidates, long seed) {
+        if (maxCandidates < 1) {
+            throw new IllegalArgumentException("At least one candidate required");
+        }
+        SplittableRandom root = new SplittableRandom(seed);
+        GameBoard best = null;
+        double bestDistance = Double.POSITIVE_INFINITY;
+        
+        for (int tried = 0; tried < maxCandidates && bestDistance > tolerance; tried += CANDIDATE_BATCH) {
+            int batch = Math.min(CANDIDATE_BATCH, maxCandidates - tried);
+            SplittableRandom[] randoms = splitAll(root, batch);
+            GameBoard[] boards = new GameBoard[batch];
+            double[] distances = new double[batch];
+            IntStream.range(0, batch).parallel().forEach(i -> {
+                boards[i] = generate(randoms[i]);
+                distances[i] = Math.abs(expectedTurns(boards[i]) - targetTurns);
+            });
+            for (int i = 0; i < batch; i++) {
+                if (distances[i] < bestDistance) {
+                    bestDistance = distances[i];
+                    best = boards[i];
+                }
+            }
+        }
+        return best;
+    }
+    
+    /**
+     * Exact expected number of turns for one player to finish the board
+     */
+    public double expectedTurns(GameBoard board) {
+        return new MarkovChainSolver(board, faces).expectedTurns()[0];
+    }
+    
+    private static SplittableRandom[] splitAll(SplittableRandom root, int count) {
+        SplittableRandom[] randoms = new SplittableRandom[count];
+        for (int i = 0; i < count; i++) {
+            randoms[i] = root.split();
+        }
+        return randoms;
+    }
+    
+    /**
+     * Random free cell in [from, to), by rejection; at most half the cells are taken
+     */
+    private static int freeCell(RandomGenerator random, long[] occupied, int from, int to) {
+        int cell;
+        do {
+            cell = random.nextInt(from, to);
+        } while (isSet(occupied, cell));
+        return cell;
+    }
+    
+    private static int freeCellBelow(RandomGenerator random, long[] occupied, int head) {
+        for (int attempt = 0; attempt < MAX_TAIL_ATTEMPTS; attempt++) {
+            int cell = random.nextInt(1, head);
+            if (!isSet(occupied, cell)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+    
+    private int freeCellAbove(RandomGenerator random, long[] occupied, int bottom) {
+        for (int attempt = 0; attempt < MAX_TAIL_ATTEMPTS; attempt++) {
+            int cell = random.nextInt(bottom + 1, boardSize);
+            if (!isSet(occupied, cell)) {
+                return cell;
+            }
+        }
+        return -1;
+    }
+    
+    /**
+     * Length of the run of consecutive snake heads a new head on this cell would sit in
+     */
+    private int snakeRunThrough(long[] heads, int cell) {
+        int run = 1;
+        for (int c = cell - 1; c > 0 && run < faces && isSet(heads, c); c--) {
+            run++;
+        }
+        for (int c = cell + 1; c < boardSize && run < faces && isSet(heads, c); c++) {
+            run++;
+        }
+        return run;
+    }
+    
+    private static boolean isSet(long[] bits, int cell) {
+        return (bits[cell >>> 6] & (1L << cell)) != 0;
+    }
+    
+    private static void set(long[] bits, int cell) {
+        bits[cell >>> 6] |= 1L << cell;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    public int getSnakeCount() {
+        return snakeCount;
+    }
+    
+    public int getLadderCount() {
+        return ladderCount;
+    }
+}
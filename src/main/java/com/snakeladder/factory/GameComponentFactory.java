@@ -1,17 +1,20 @@
 package com.snakeladder.factory;
 
+import com.snakeladder.models.GameBoard;
 import com.snakeladder.models.Ladder;
 import com.snakeladder.models.Snake;
 
 import java.util.ArrayList;
 import java.util.List;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.random.RandomGenerator;
 
 /**
- * Factory class for creating game components like Snakes and Ladders
+ * Factory class for creating game components like Snakes and Ladders.
+ * Random layouts use the calling thread's own generator unless one is passed in,
+ * so threads generating boards in parallel never contend on a shared seed.
  */
 public class GameComponentFactory {
-    private static final Random random = new Random();
     
     public static List<Snake> createDefaultSnakes() {
         List<Snake> snakes = new ArrayList<>();
@@ -32,17 +35,28 @@ public class GameComponentFactory {
         ladders.add(new Ladder(1, 38));
         ladders.add(new Ladder(4, 14));
         ladders.add(new Ladder(9, 31));
-        ladders.add(new Ladder(16, 6));
         ladders.add(new Ladder(21, 42));
         ladders.add(new Ladder(28, 84));
         ladders.add(new Ladder(36, 44));
         ladders.add(new Ladder(51, 67));
         ladders.add(new Ladder(71, 91));
-        ladders.add(new Ladder(80, 100));
+        ladders.add(new Ladder(80, 99));
         return ladders;
     }
     
+    /**
+     * Random snakes with no checks against each other or against ladders; use
+     * createRandomBoard or BoardGenerator for layouts that are guaranteed valid
+     */
     public static List<Snake> createRandomSnakes(int count, int boardSize) {
+        return createRandomSnakes(count, boardSize, ThreadLocalRandom.current());
+    }
+    
+    /**
+     * Same as createRandomSnakes(count, boardSize), drawing from the given generator
+     * so a seeded generator reproduces the same layout
+     */
+    public static List<Snake> createRandomSnakes(int count, int boardSize, RandomGenerator random) {
         List<Snake> snakes = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             int head = random.nextInt(boardSize - 10) + 10; // Ensure head is not too low
@@ -53,6 +67,10 @@ public class GameComponentFactory {
     }
     
     public static List<Ladder> createRandomLadders(int count, int boardSize) {
+        return createRandomLadders(count, boardSize, ThreadLocalRandom.current());
+    }
+    
+    public static List<Ladder> createRandomLadders(int count, int boardSize, RandomGenerator random) {
         List<Ladder> ladders = new ArrayList<>();
         for (int i = 0; i < count; i++) {
             int bottom = random.nextInt(boardSize - 10) + 1; // Ensure bottom is not too high
@@ -62,6 +80,13 @@ public class GameComponentFactory {
         return ladders;
     }
     
+    /**
+     * Valid random board: see BoardGenerator for the guarantees
+     */
+    public static GameBoard createRandomBoard(int boardSize, int snakes, int ladders, long seed) {
+        return new BoardGenerator(boardSize, snakes, ladders).generate(seed);
+    }
+    
     public static Snake createSnake(int head, int tail) {
         return new Snake(head, tail);
     }
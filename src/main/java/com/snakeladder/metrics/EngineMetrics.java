@@ -0,0 +1,305 @@
+package com.snakeladder.metrics;
+
+import javax.management.InstanceAlreadyExistsException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters and latency histograms shared by any number of GameEngines on any threads.
+ * Engines only touch this when a metrics instance is attached with
+ * GameEngine.setMetrics, so an engine without one pays nothing.
+ *
+ * Each engine reports through its own MetricsRecorder, which batches turn and jump
+ * counts and times one turn in every {@code sampleInterval}. Counts are exact but
+ * can trail a running engine by up to one sample interval.
+ */
+public class EngineMetrics implements EngineMetricsMXBean {
+    public static final int DEFAULT_SAMPLE_INTERVAL = 1024;
+    public static final int DEFAULT_MAX_CELL = 1024;
+    /** Span getTurnsPerSecond averages over */
+    public static final long RATE_WINDOW_NANOS = 10_000_000_000L;
+    private static final int RATE_SAMPLES = 16;
+    
+    private final int sampleInterval;
+    private final LongAdder turns = new LongAdder();
+    private final LongAdder gamesStarted = new LongAdder();
+    private final LongAdder gamesWon = new LongAdder();
+    private final LongAdder gamesAbandoned = new LongAdder();
+    private final LongAdder snakeHits = new LongAdder();
+    private final LongAdder ladderHits = new LongAdder();
+    private final LongAdder undos = new LongAdder();
+    private final LongAdder redos = new LongAdder();
+    private final AtomicLongArray snakeHitsByCell;
+    private final AtomicLongArray ladderHitsByCell;
+    private final LatencyHistogram turnLatency = new LatencyHistogram();
+    private final LatencyHistogram observerLatency = new LatencyHistogram();
+    
+    private final long createdNanos = System.nanoTime();
+    // Turn counts taken on reads, at most every eighth of a window, so the rate
+    // does not depend on how often or by how many readers it is polled
+    private final long[] sampleNanos = new long[RATE_SAMPLES];
+    private final long[] sampleTurns = new long[RATE_SAMPLES];
+    private int newestSample;
+    private int sampleCount = 1;
+    
+    public EngineMetrics() {
+        this(DEFAULT_SAMPLE_INTERVAL, DEFAULT_MAX_CELL);
+    }
+    
+    /**
+     * @param sampleInterval time one turn in this many; 1 times every turn
+     * @param maxCell        highest cell with its own snake and ladder hit counter;
+     *                       hits above it only count towards the totals
+     */
+    public EngineMetrics(int sampleInterval, int maxCell) {
+        if (sampleInterval < 1) {
+            throw new IllegalArgumentException("Sample interval must be at least 1");
+        }
+        if (maxCell < 0) {
+            throw new IllegalArgumentException("Max cell cannot be negative");
+        }
+        this.sampleInterval = sampleInterval;
+        this.snakeHitsByCell = new AtomicLongArray(maxCell + 1);
+        this.ladderHitsByCell = new AtomicLongArray(maxCell + 1);
+        this.sampleNanos[0] = createdNanos;
+    }
+    
+    public int getSampleInterval() {
+        return sampleInterval;
+    }
+    
+    public int getMaxCell() {
+        return snakeHitsByCell.length() - 1;
+    }
+    
+    public void addTurns(long count) {
+        if (count != 0) {
+            turns.add(count);
+        }
+    }
+    
+    /**
+     * Records a sampled turn with the time it took overall and in observer callbacks
+     */
+    public void recordLatency(long turnNanos, long observerNanos) {
+        turnLatency.record(turnNanos);
+        observerLatency.record(observerNanos);
+    }
+    
+    public void addJumps(long snakes, long ladders) {
+        if (snakes != 0) {
+            snakeHits.add(snakes);
+        }
+        if (ladders != 0) {
+            ladderHits.add(ladders);
+        }
+    }
+    
+    /**
+     * Adds hits to the per-cell counters; cells above the max cell are ignored
+     */
+    public void addCellHits(int cell, long snakes, long ladders) {
+        if (cell < 0 || cell >= snakeHitsByCell.length()) {
+            return;
+        }
+        if (snakes != 0) {
+            snakeHitsByCell.addAndGet(cell, snakes);
+        }
+        if (ladders != 0) {
+            ladderHitsByCell.addAndGet(cell, ladders);
+        }
+    }
+    
+    public void gameStarted() {
+        gamesStarted.increment();
+    }
+    
+    public void gameWon() {
+        gamesWon.increment();
+    }
+    
+    /**
+     * An undo took back a winning turn, so the game is active again
+     */
+    public void winUndone() {
+        gamesWon.decrement();
+    }
+    
+    /**
+     * A started game was discarded before anyone won
+     */
+    public void gameAbandoned() {
+        gamesAbandoned.increment();
+    }
+    
+    public void undo() {
+        undos.increment();
+    }
+    
+    public void redo() {
+        redos.increment();
+    }
+    
+    /**
+     * Registers this instance with the platform MBean server under
+     * com.snakeladder:type=EngineMetrics,name=&lt;name&gt;
+     */
+    public ObjectName registerMBean(String name) throws JMException {
+        ObjectName objectName = new ObjectName("com.snakeladder:type=EngineMetrics,name=" + ObjectName.quote(name));
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            server.registerMBean(this, objectName);
+        } catch (InstanceAlreadyExistsException e) {
+            server.unregisterMBean(objectName);
+            server.registerMBean(this, objectName);
+        }
+        return objectName;
+    }
+    
+    public LatencyHistogram getTurnLatency() {
+        return turnLatency;
+    }
+    
+    public LatencyHistogram getObserverLatency() {
+        return observerLatency;
+    }
+    
+    public long getGamesAbandoned() {
+        return gamesAbandoned.sum();
+    }
+    
+    @Override
+    public long getTurns() {
+        return turns.sum();
+    }
+    
+    @Override
+    public synchronized double getTurnsPerSecond() {
+        long now = System.nanoTime();
+        long total = turns.sum();
+        if (now - sampleNanos[newestSample] >= RATE_WINDOW_NANOS / 8) {
+            newestSample = (newestSample + 1) % RATE_SAMPLES;
+            sampleNanos[newestSample] = now;
+            sampleTurns[newestSample] = total;
+            sampleCount = Math.min(sampleCount + 1, RATE_SAMPLES);
+        }
+        
+        // Measure from the latest sample at least a window old, or the oldest kept
+        int oldest = (newestSample - sampleCount + 1 + RATE_SAMPLES) % RATE_SAMPLES;
+        int start = oldest;
+        for (int i = 1; i < sampleCount; i++) {
+            int sample = (oldest + i) % RATE_SAMPLES;
+            if (now - sampleNanos[sample] < RATE_WINDOW_NANOS) {
+                break;
+            }
+            start = sample;
+        }
+        long elapsed = now - sampleNanos[start];
+        return elapsed == 0 ? 0 : (total - sampleTurns[start]) * 1e9 / elapsed;
+    }
+    
+    /**
+     * Average turns per second since the metrics were created
+     */
+    public double getLifetimeTurnsPerSecond() {
+        long elapsed = System.nanoTime() - createdNanos;
+        return elapsed == 0 ? 0 : turns.sum() * 1e9 / elapsed;
+    }
+    
+    @Override
+    public long getGamesStarted() {
+        return gamesStarted.sum();
+    }
+    
+    @Override
+    public long getGamesWon() {
+        return gamesWon.sum();
+    }
+    
+    @Override
+    public long getActiveGames() {
+        return Math.max(0, gamesStarted.sum() - gamesWon.sum() - gamesAbandoned.sum());
+    }
+    
+    @Override
+    public long getSnakeHits() {
+        return snakeHits.sum();
+    }
+    
+    @Override
+    public long getLadderHits() {
+        return ladderHits.sum();
+    }
+    
+    @Override
+    public long getUndos() {
+        return undos.sum();
+    }
+    
+    @Override
+    public long getRedos() {
+        return redos.sum();
+    }
+    
+    @Override
+    public long getSampledTurns() {
+        return turnLatency.getCount();
+    }
+    
+    @Override
+    public double getTurnLatencyMeanMicros() {
+        return turnLatency.getMean() / 1000.0;
+    }
+    
+    @Override
+    public double getTurnLatencyP50Micros() {
+        return turnLatency.getValueAtPercentile(50) / 1000.0;
+    }
+    
+    @Override
+    public double getTurnLatencyP99Micros() {
+        return turnLatency.getValueAtPercentile(99) / 1000.0;
+    }
+    
+    @Override
+    public double getTurnLatencyMaxMicros() {
+        return turnLatency.getMax() / 1000.0;
+    }
+    
+    @Override
+    public double getObserverLatencyP50Micros() {
+        return observerLatency.getValueAtPercentile(50) / 1000.0;
+    }
+    
+    @Override
+    public double getObserverLatencyP99Micros() {
+        return observerLatency.getValueAtPercentile(99) / 1000.0;
+    }
+    
+    @Override
+    public double getObserverLatencyMaxMicros() {
+        return observerLatency.getMax() / 1000.0;
+    }
+    
+    @Override
+    public long[] getSnakeHitsByCell() {
+        return toArray(snakeHitsByCell);
+    }
+    
+    @Override
+    public long[] getLadderHitsByCell() {
+        return toArray(ladderHitsByCell);
+    }
+    
+    private static long[] toArray(AtomicLongArray counters) {
+        long[] values = new long[counters.length()];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = counters.get(i);
+        }
+        return values;
+    }
+}
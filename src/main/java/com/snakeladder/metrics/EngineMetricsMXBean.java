@@ -0,0 +1,54 @@
+package com.snakeladder.metrics;
+
+/**
+ * JMX view of EngineMetrics. Latencies are in microseconds.
+ */
+public interface EngineMetricsMXBean {
+    long getTurns();
+    
+    /**
+     * Turns per second over about the last ten seconds, or since the metrics were
+     * created if they are younger; calls do not affect each other
+     */
+    double getTurnsPerSecond();
+    
+    long getGamesStarted();
+    
+    long getGamesWon();
+    
+    long getActiveGames();
+    
+    long getSnakeHits();
+    
+    long getLadderHits();
+    
+    long getUndos();
+    
+    long getRedos();
+    
+    long getSampledTurns();
+    
+    double getTurnLatencyMeanMicros();
+    
+    double getTurnLatencyP50Micros();
+    
+    double getTurnLatencyP99Micros();
+    
+    double getTurnLatencyMaxMicros();
+    
+    double getObserverLatencyP50Micros();
+    
+    double getObserverLatencyP99Micros();
+    
+    double getObserverLatencyMaxMicros();
+    
+    /**
+     * Snake hits indexed by head cell
+     */
+    long[] getSnakeHitsByCell();
+    
+    /**
+     * Ladder hits indexed by bottom cell
+     */
+    long[] getLadderHitsByCell();
+}
@@ -0,0 +1,124 @@
+package com.snakeladder.metrics;
+
+/**
+ * Single-threaded front end that one engine uses to report into a shared
+ * EngineMetrics. Turn and jump counts collect in plain fields and are added to the
+ * shared counters once per sample interval, at the end of a game or on
+ * {@link #flush()}, so the per-turn cost is a couple of field updates.
+ */
+public class MetricsRecorder {
+    private final EngineMetrics metrics;
+    private final int sampleInterval;
+    private final int[] snakeHitsByCell;
+    private final int[] ladderHitsByCell;
+    private final int[] dirtyCells;
+    private int dirtyCount;
+    private int turnsUntilSample;
+    private long turns;
+    private long snakeHits;
+    private long ladderHits;
+    
+    /**
+     * @param boardSize highest cell the engine can land on
+     */
+    public MetricsRecorder(EngineMetrics metrics, int boardSize) {
+        this.metrics = metrics;
+        this.sampleInterval = metrics.getSampleInterval();
+        int cells = Math.min(boardSize, metrics.getMaxCell()) + 1;
+        this.snakeHitsByCell = new int[cells];
+        this.ladderHitsByCell = new int[cells];
+        this.dirtyCells = new int[cells];
+        this.turnsUntilSample = sampleInterval;
+    }
+    
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Counts a turn and returns true if it is the one in every sample interval that
+     * should be timed and reported with {@link #sampledTurn(long, long)}
+     */
+    public boolean turnPlayed() {
+        turns++;
+        if (--turnsUntilSample > 0) {
+            return false;
+        }
+        turnsUntilSample = sampleInterval;
+        return true;
+    }
+    
+    /**
+     * Reports the timings of a sampled turn and flushes the counts gathered so far
+     */
+    public void sampledTurn(long turnNanos, long observerNanos) {
+        metrics.recordLatency(turnNanos, observerNanos);
+        flush();
+    }
+    
+    public void snakeHit(int head) {
+        snakeHits++;
+        if (head >= 0 && head < snakeHitsByCell.length) {
+            markDirty(head);
+            snakeHitsByCell[head]++;
+        }
+    }
+    
+    public void ladderHit(int bottom) {
+        ladderHits++;
+        if (bottom >= 0 && bottom < ladderHitsByCell.length) {
+            markDirty(bottom);
+            ladderHitsByCell[bottom]++;
+        }
+    }
+    
+    private void markDirty(int cell) {
+        if (snakeHitsByCell[cell] == 0 && ladderHitsByCell[cell] == 0) {
+            dirtyCells[dirtyCount++] = cell;
+        }
+    }
+    
+    public void gameStarted() {
+        metrics.gameStarted();
+    }
+    
+    public void gameWon() {
+        flush();
+        metrics.gameWon();
+    }
+    
+    public void gameAbandoned() {
+        flush();
+        metrics.gameAbandoned();
+    }
+    
+    public void winUndone() {
+        metrics.winUndone();
+    }
+    
+    public void undo() {
+        metrics.undo();
+    }
+    
+    public void redo() {
+        metrics.redo();
+    }
+    
+    /**
+     * Adds everything counted since the last flush to the shared metrics
+     */
+    public void flush() {
+        metrics.addTurns(turns);
+        metrics.addJumps(snakeHits, ladderHits);
+        for (int i = 0; i < dirtyCount; i++) {
+            int cell = dirtyCells[i];
+            metrics.addCellHits(cell, snakeHitsByCell[cell], ladderHitsByCell[cell]);
+            snakeHitsByCell[cell] = 0;
+            ladderHitsByCell[cell] = 0;
+        }
+        dirtyCount = 0;
+        turns = 0;
+        snakeHits = 0;
+        ladderHits = 0;
+    }
+}
@@ -0,0 +1,124 @@
+package com.snakeladder.metrics;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.util.Locale;
+
+/**
+ * Serves EngineMetrics in the Prometheus text exposition format at /metrics. The
+ * server only listens on the loopback address and renders on each scrape, so there
+ * is no background work between scrapes.
+ */
+public class PrometheusExporter implements AutoCloseable {
+    private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+    private static final double[] QUANTILES = {0.5, 0.9, 0.99, 0.999};
+    
+    private final EngineMetrics metrics;
+    private final HttpServer server;
+    
+    /**
+     * Starts serving on the given loopback port; 0 picks a free port
+     */
+    public PrometheusExporter(EngineMetrics metrics, int port) throws IOException {
+        this.metrics = metrics;
+        this.server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+        this.server.createContext("/metrics", this::handle);
+        this.server.start();
+    }
+    
+    public int getPort() {
+        return server.getAddress().getPort();
+    }
+    
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                exchange.sendResponseHeaders(405, -1);
+                return;
+            }
+            byte[] body = render(metrics).getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().set("Content-Type", CONTENT_TYPE);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        }
+    }
+    
+    /**
+     * Renders the current values; latencies are exported in seconds
+     */
+    public static String render(EngineMetrics metrics) {
+        StringBuilder out = new StringBuilder(2048);
+        counter(out, "snakeladder_turns_total", "Turns played", metrics.getTurns());
+        counter(out, "snakeladder_games_started_total", "Games started", metrics.getGamesStarted());
+        counter(out, "snakeladder_games_won_total", "Games finished with a winner", metrics.getGamesWon());
+        counter(out, "snakeladder_games_abandoned_total", "Games discarded before a win", metrics.getGamesAbandoned());
+        gauge(out, "snakeladder_active_games", "Games started and not yet finished", metrics.getActiveGames());
+        counter(out, "snakeladder_undos_total", "Turns undone", metrics.getUndos());
+        counter(out, "snakeladder_redos_total", "Turns redone", metrics.getRedos());
+        
+        counter(out, "snakeladder_snake_hits_total", "Snake hits", metrics.getSnakeHits());
+        counter(out, "snakeladder_ladder_hits_total", "Ladder hits", metrics.getLadderHits());
+        perCell(out, "snakeladder_cell_snake_hits_total", "Snake hits by head cell", metrics.getSnakeHitsByCell());
+        perCell(out, "snakeladder_cell_ladder_hits_total", "Ladder hits by bottom cell", metrics.getLadderHitsByCell());
+        
+        summary(out, "snakeladder_turn_latency_seconds", "Sampled playTurn latency", metrics.getTurnLatency());
+        summary(out, "snakeladder_observer_latency_seconds", "Sampled observer dispatch time per turn",
+                metrics.getObserverLatency());
+        return out.toString();
+    }
+    
+    private static void counter(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "counter");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+    
+    private static void gauge(StringBuilder out, String name, String help, long value) {
+        header(out, name, help, "gauge");
+        out.append(name).append(' ').append(value).append('\n');
+    }
+    
+    /**
+     * Only cells with hits are listed. Totals are separate metrics, so summing this
+     * family never counts a hit twice.
+     */
+    private static void perCell(StringBuilder out, String name, String help, long[] byCell) {
+        header(out, name, help, "counter");
+        for (int cell = 0; cell < byCell.length; cell++) {
+            if (byCell[cell] != 0) {
+                out.append(name).append("{cell=\"").append(cell).append("\"} ").append(byCell[cell]).append('\n');
+            }
+        }
+    }
+    
+    private static void summary(StringBuilder out, String name, String help, LatencyHistogram histogram) {
+        header(out, name, help, "summary");
+        for (double quantile : QUANTILES) {
+            out.append(name).append("{quantile=\"").append(quantile).append("\"} ")
+                    .append(seconds(histogram.getValueAtPercentile(quantile * 100))).append('\n');
+        }
+        out.append(name).append("_sum ").append(seconds(histogram.getSum())).append('\n');
+        out.append(name).append("_count ").append(histogram.getCount()).append('\n');
+    }
+    
+    private static void header(StringBuilder out, String name, String help, String type) {
+        out.append("# HELP ").append(name).append(' ').append(help).append('\n');
+        out.append("# TYPE ").append(name).append(' ').append(type).append('\n');
+    }
+    
+    private static String seconds(long nanos) {
+        return String.format(Locale.ROOT, "%.9f", nanos / 1e9);
+    }
+    
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+}
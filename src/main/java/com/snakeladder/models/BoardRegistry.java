@@ -0,0 +1,50 @@
+package com.snakeladder.models;
+
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Registry that hands out one shared, read-only GameBoard per board configuration.
+ * Lookups of an existing layout are a plain concurrent read with no locking.
+ */
+public final class BoardRegistry {
+    private static final BoardRegistry SHARED = new BoardRegistry();
+    
+    private final ConcurrentMap<GameBoard, GameBoard> boards = new ConcurrentHashMap<>();
+    
+    public BoardRegistry() {
+        intern(GameBoard.standard());
+    }
+    
+    /**
+     * Process-wide registry for callers that do not manage their own
+     */
+    public static BoardRegistry shared() {
+        return SHARED;
+    }
+    
+    /**
+     * Returns the registered board with the same size, snakes and ladders,
+     * registering this one if no such board exists yet.
+     */
+    public GameBoard intern(GameBoard board) {
+        GameBoard existing = boards.get(board);
+        if (existing != null) {
+            return existing;
+        }
+        existing = boards.putIfAbsent(board, board);
+        return existing != null ? existing : board;
+    }
+    
+    public GameBoard intern(GameBoard.Builder builder) {
+        return intern(builder.build());
+    }
+    
+    public boolean contains(GameBoard board) {
+        return boards.containsKey(board);
+    }
+    
+    public int size() {
+        return boards.size();
+    }
+}
@@ -25,6 +25,10 @@ public class Dice {
         return strategy.getMaxValue();
     }
     
+    public DiceStrategy getStrategy() {
+        return strategy;
+    }
+    
     public void setStrategy(DiceStrategy strategy) {
         this.strategy = strategy;
     }
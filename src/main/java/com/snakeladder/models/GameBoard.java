@@ -1,84 +1,81 @@
 package com.snakeladder.models;
 
-import java.util.HashMap;
+import java.util.Arrays;
 import java.util.Map;
 
 /**
- * Singleton GameBoard class representing the Snake & Ladder board
+ * Immutable GameBoard representing a Snake & Ladder board layout.
+ * Boards are built once with a {@link Builder} and can be shared freely between games and threads.
+ *
+ * Snakes and ladders are stored as sorted primitive arrays of start and end cells, so a
+ * board costs a few bytes per jump however many millions it has, and lookups by cell
+ * are binary searches.
  */
-public class GameBoard {
-    private static GameBoard instance;
-    private final int boardSize;
-    private final Map<Integer, Snake> snakes;
-    private final Map<Integer, Ladder> ladders;
-    
-    private GameBoard(int boardSize) {
-        this.boardSize = boardSize;
-        this.snakes = new HashMap<>();
-        this.ladders = new HashMap<>();
-        initializeBoard();
-    }
+public final class GameBoard {
+    private static final GameBoard STANDARD = builder(100).withDefaultLayout().build();
     
-    public static synchronized GameBoard getInstance() {
-        if (instance == null) {
-            instance = new GameBoard(100); // Default 10x10 board
-        }
-        return instance;
-    }
+    private final int boardSize;
+    private final int[] snakeHeads;
+    private final int[] snakeTails;
+    private final int[] ladderBottoms;
+    private final int[] ladderTops;
+    private final Map<Integer, Snake> snakesView;
+    private final Map<Integer, Ladder> laddersView;
+    private final JumpTable jumpTable;
+    private final int hashCode;
     
-    public static synchronized GameBoard getInstance(int boardSize) {
-        if (instance == null) {
-            instance = new GameBoard(boardSize);
-        }
-        return instance;
-    }
-    
-    private void initializeBoard() {
-        // Add default snakes
-        addSnake(new Snake(99, 78));
-        addSnake(new Snake(95, 75));
-        addSnake(new Snake(92, 88));
-        addSnake(new Snake(89, 68));
-        addSnake(new Snake(74, 53));
-        addSnake(new Snake(64, 60));
-        addSnake(new Snake(62, 19));
-        addSnake(new Snake(46, 25));
-        addSnake(new Snake(37, 3));
-        
-        // Add default ladders
-        addLadder(new Ladder(1, 38));
-        addLadder(new Ladder(4, 14));
-        addLadder(new Ladder(9, 31));
-        addLadder(new Ladder(21, 42));
-        addLadder(new Ladder(28, 84));
-        addLadder(new Ladder(36, 44));
-        addLadder(new Ladder(51, 67));
-        addLadder(new Ladder(71, 91));
-        addLadder(new Ladder(80, 99));
+    private GameBoard(Builder builder) {
+        this.boardSize = builder.boardSize;
+        int[][] snakes = builder.snakes.sortedByStart();
+        int[][] ladders = builder.ladders.sortedByStart();
+        this.snakeHeads = snakes[0];
+        this.snakeTails = snakes[1];
+        this.ladderBottoms = ladders[0];
+        this.ladderTops = ladders[1];
+        this.snakesView = new SortedJumpMap<>(snakeHeads, snakeTails, Snake::new);
+        this.laddersView = new SortedJumpMap<>(ladderBottoms, ladderTops, Ladder::new);
+        this.jumpTable = JumpTable.compile(boardSize, snakeHeads, snakeTails, ladderBottoms, ladderTops);
+        int hash = boardSize;
+        hash = 31 * hash + Arrays.hashCode(snakeHeads);
+        hash = 31 * hash + Arrays.hashCode(snakeTails);
+        hash = 31 * hash + Arrays.hashCode(ladderBottoms);
+        this.hashCode = 31 * hash + Arrays.hashCode(ladderTops);
     }
     
-    public void addSnake(Snake snake) {
-        snakes.put(snake.getHead(), snake);
+    /**
+     * The default 10x10 board with the classic snakes and ladders
+     */
+    public static GameBoard standard() {
+        return STANDARD;
     }
     
-    public void addLadder(Ladder ladder) {
-        ladders.put(ladder.getBottom(), ladder);
+    public static Builder builder(int boardSize) {
+        return new Builder(boardSize);
     }
     
     public Snake getSnake(int position) {
-        return snakes.get(position);
+        int index = Arrays.binarySearch(snakeHeads, position);
+        return index < 0 ? null : new Snake(position, snakeTails[index]);
     }
     
     public Ladder getLadder(int position) {
-        return ladders.get(position);
+        int index = Arrays.binarySearch(ladderBottoms, position);
+        return index < 0 ? null : new Ladder(position, ladderTops[index]);
     }
     
     public boolean hasSnake(int position) {
-        return snakes.containsKey(position);
+        return Arrays.binarySearch(snakeHeads, position) >= 0;
     }
     
     public boolean hasLadder(int position) {
-        return ladders.containsKey(position);
+        return Arrays.binarySearch(ladderBottoms, position) >= 0;
+    }
+    
+    /**
+     * Returns the compiled jump table built when the board was created
+     */
+    public JumpTable compile() {
+        return jumpTable;
     }
     
     public int getBoardSize() {
@@ -93,16 +90,216 @@ public class GameBoard {
         return position == boardSize;
     }
     
+    /**
+     * Read-only view of the snakes keyed by head cell, in ascending order. Nothing is
+     * copied; each Snake is created as it is read.
+     */
     public Map<Integer, Snake> getSnakes() {
-        return new HashMap<>(snakes);
+        return snakesView;
     }
     
+    /**
+     * Read-only view of the ladders keyed by bottom cell, in ascending order
+     */
     public Map<Integer, Ladder> getLadders() {
-        return new HashMap<>(ladders);
+        return laddersView;
+    }
+    
+    public int getSnakeCount() {
+        return snakeHeads.length;
+    }
+    
+    public int getLadderCount() {
+        return ladderBottoms.length;
     }
     
-    // Reset the singleton instance (useful for testing)
-    public static synchronized void resetInstance() {
-        instance = null;
+    /**
+     * Visits every snake as (head, tail) in ascending head order without creating objects
+     */
+    public void forEachSnake(JumpVisitor visitor) {
+        for (int i = 0; i < snakeHeads.length; i++) {
+            visitor.visit(snakeHeads[i], snakeTails[i]);
+        }
+    }
+    
+    /**
+     * Visits every ladder as (bottom, top) in ascending bottom order without creating objects
+     */
+    public void forEachLadder(JumpVisitor visitor) {
+        for (int i = 0; i < ladderBottoms.length; i++) {
+            visitor.visit(ladderBottoms[i], ladderTops[i]);
+        }
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        GameBoard board = (GameBoard) obj;
+        return boardSize == board.boardSize && hashCode == board.hashCode
+                && Arrays.equals(snakeHeads, board.snakeHeads) && Arrays.equals(snakeTails, board.snakeTails)
+                && Arrays.equals(ladderBottoms, board.ladderBottoms) && Arrays.equals(ladderTops, board.ladderTops);
+    }
+    
+    @Override
+    public int hashCode() {
+        return hashCode;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("GameBoard{size=%d, snakes=%d, ladders=%d}", boardSize, snakeHeads.length, ladderBottoms.length);
+    }
+    
+    /**
+     * Builder that collects snakes and ladders before freezing them into a GameBoard.
+     * Adding a second snake on the same head, or ladder on the same bottom, replaces the first.
+     */
+    public static final class Builder {
+        private final int boardSize;
+        private final JumpBuffer snakes = new JumpBuffer();
+        private final JumpBuffer ladders = new JumpBuffer();
+        
+        private Builder(int boardSize) {
+            if (boardSize < 1) {
+                throw new IllegalArgumentException("Board size must be positive");
+            }
+            this.boardSize = boardSize;
+        }
+        
+        public Builder addSnake(Snake snake) {
+            return addSnake(snake.getHead(), snake.getTail());
+        }
+        
+        /**
+         * Adds a snake without creating a Snake object, for generating very large boards
+         */
+        public Builder addSnake(int head, int tail) {
+            if (head <= tail) {
+                throw new IllegalArgumentException("Snake head must be greater than tail");
+            }
+            checkInBounds(head);
+            checkInBounds(tail);
+            snakes.add(head, tail);
+            return this;
+        }
+        
+        public Builder addLadder(Ladder ladder) {
+            return addLadder(ladder.getBottom(), ladder.getTop());
+        }
+        
+        public Builder addLadder(int bottom, int top) {
+            if (bottom >= top) {
+                throw new IllegalArgumentException("Ladder bottom must be less than top");
+            }
+            checkInBounds(bottom);
+            checkInBounds(top);
+            ladders.add(bottom, top);
+            return this;
+        }
+        
+        public Builder addSnakes(Iterable<Snake> snakes) {
+            for (Snake snake : snakes) {
+                addSnake(snake);
+            }
+            return this;
+        }
+        
+        public Builder addLadders(Iterable<Ladder> ladders) {
+            for (Ladder ladder : ladders) {
+                addLadder(ladder);
+            }
+            return this;
+        }
+        
+        /**
+         * Adds the classic snakes and ladders of the 10x10 board
+         */
+        public Builder withDefaultLayout() {
+            // Add default snakes
+            addSnake(new Snake(99, 78));
+            addSnake(new Snake(95, 75));
+            addSnake(new Snake(92, 88));
+            addSnake(new Snake(89, 68));
+            addSnake(new Snake(74, 53));
+            addSnake(new Snake(64, 60));
+            addSnake(new Snake(62, 19));
+            addSnake(new Snake(46, 25));
+            addSnake(new Snake(37, 3));
+            
+            // Add default ladders
+            addLadder(new Ladder(1, 38));
+            addLadder(new Ladder(4, 14));
+            addLadder(new Ladder(9, 31));
+            addLadder(new Ladder(21, 42));
+            addLadder(new Ladder(28, 84));
+            addLadder(new Ladder(36, 44));
+            addLadder(new Ladder(51, 67));
+            addLadder(new Ladder(71, 91));
+            addLadder(new Ladder(80, 99));
+            return this;
+        }
+        
+        public GameBoard build() {
+            return new GameBoard(this);
+        }
+        
+        private void checkInBounds(int position) {
+            if (position < 0 || position > boardSize) {
+                throw new IllegalArgumentException(
+                        String.format("Position %d is outside the board (0-%d)", position, boardSize));
+            }
+        }
+    }
+    
+    /**
+     * Growable (start, end) pairs in insertion order
+     */
+    private static final class JumpBuffer {
+        private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+        
+        private int[] starts = new int[16];
+        private int[] ends = new int[16];
+        private int size;
+        
+        void add(int start, int end) {
+            if (size == starts.length) {
+                starts = Arrays.copyOf(starts, size * 2);
+                ends = Arrays.copyOf(ends, size * 2);
+            }
+            starts[size] = start;
+            ends[size] = end;
+            size++;
+        }
+        
+        /**
+         * Pairs sorted by start cell, keeping only the last one added for each start
+         */
+        int[][] sortedByStart() {
+            // Start cells are non-negative, so (start, insertion index) sorts as one long
+            long[] keys = new long[size];
+            for (int i = 0; i < size; i++) {
+                keys[i] = ((long) starts[i] << 32) | i;
+            }
+            if (size >= PARALLEL_SORT_THRESHOLD) {
+                Arrays.parallelSort(keys);
+            } else {
+                Arrays.sort(keys);
+            }
+            
+            int unique = 0;
+            for (int i = 0; i < size; i++) {
+                if (i + 1 == size || (keys[i + 1] >>> 32) != (keys[i] >>> 32)) {
+                    keys[unique++] = keys[i];
+                }
+            }
+            int[] sortedStarts = new int[unique];
+            int[] sortedEnds = new int[unique];
+            for (int i = 0; i < unique; i++) {
+                sortedStarts[i] = (int) (keys[i] >>> 32);
+                sortedEnds[i] = ends[(int) keys[i]];
+            }
+            return new int[][] {sortedStarts, sortedEnds};
+        }
     }
 }
@@ -0,0 +1,154 @@
+package com.snakeladder.models;
+
+import java.util.Arrays;
+
+/**
+ * Compiled, immutable form of a board: the final destination of every cell
+ * after any snake or ladder on it has been applied.
+ *
+ * Boards up to {@link #DENSE_LIMIT} cells get a flat array indexed by cell. Larger
+ * boards only store their jumps, packed as (cell, destination) pairs in one long[]
+ * open-addressing table, so memory follows the number of jumps, not the board size.
+ */
+public final class JumpTable {
+    /**
+     * Largest board compiled to a flat array, 16 MB of destinations
+     */
+    public static final int DENSE_LIMIT = 1 << 22;
+    
+    private static final long EMPTY = -1L;
+    
+    private final int boardSize;
+    private final int jumpCount;
+    private final int[] destinations;
+    private final long[] slots;
+    private final int mask;
+    
+    private JumpTable(int boardSize, int jumpCount, int[] destinations, long[] slots) {
+        this.boardSize = boardSize;
+        this.jumpCount = jumpCount;
+        this.destinations = destinations;
+        this.slots = slots;
+        this.mask = slots == null ? 0 : slots.length - 1;
+    }
+    
+    /**
+     * Builds the table from the board's snakes and ladders, given as parallel arrays
+     * of heads and tails, bottoms and tops. Snakes win over ladders on the same cell, matching the order the engine checks them in.
+     */
+    static JumpTable compile(int boardSize, int[] heads, int[] tails, int[] bottoms, int[] tops) {
+        if (boardSize <= DENSE_LIMIT) {
+            int[] destinations = new int[boardSize + 1];
+            for (int cell = 0; cell <= boardSize; cell++) {
+                destinations[cell] = cell;
+            }
+            int count = 0;
+            for (int i = 0; i < bottoms.length; i++) {
+                if (bottoms[i] >= 0 && bottoms[i] <= boardSize) {
+                    count += destinations[bottoms[i]] == bottoms[i] ? 1 : 0;
+                    destinations[bottoms[i]] = tops[i];
+                }
+            }
+            for (int i = 0; i < heads.length; i++) {
+                if (heads[i] >= 0 && heads[i] <= boardSize) {
+                    count += destinations[heads[i]] == heads[i] ? 1 : 0;
+                    destinations[heads[i]] = tails[i];
+                }
+            }
+            return new JumpTable(boardSize, count, destinations, null);
+        }
+        
+        int capacity = Integer.highestOneBit(Math.max(2, (heads.length + bottoms.length) * 3 / 2)) << 1;
+        long[] slots = new long[capacity];
+        Arrays.fill(slots, EMPTY);
+        JumpTable table = new JumpTable(boardSize, 0, null, slots);
+        int count = 0;
+        for (int i = 0; i < bottoms.length; i++) {
+            count += table.put(bottoms[i], tops[i]);
+        }
+        for (int i = 0; i < heads.length; i++) {
+            count += table.put(heads[i], tails[i]);
+        }
+        return new JumpTable(boardSize, count, null, slots);
+    }
+    
+    /**
+     * Inserts or overwrites a jump and returns 1 if the cell had none before
+     */
+    private int put(int cell, int destination) {
+        long entry = ((long) cell << 32) | (destination & 0xFFFFFFFFL);
+        for (int slot = slotOf(cell); ; slot = (slot + 1) & mask) {
+            long current = slots[slot];
+            if (current == EMPTY) {
+                slots[slot] = entry;
+                return 1;
+            }
+            if ((int) (current >>> 32) == cell) {
+                slots[slot] = entry;
+                return 0;
+            }
+        }
+    }
+    
+    private int slotOf(int cell) {
+        return (int) ((cell * 0x9E3779B97F4A7C15L) >>> 32) & mask;
+    }
+    
+    public int destinationOf(int position) {
+        int[] destinations = this.destinations;
+        if (destinations != null) {
+            return destinations[position];
+        }
+        for (int slot = slotOf(position); ; slot = (slot + 1) & mask) {
+            long current = slots[slot];
+            if (current == EMPTY) {
+                return position;
+            }
+            if ((int) (current >>> 32) == position) {
+                return (int) current;
+            }
+        }
+    }
+    
+    public boolean hasJump(int position) {
+        return destinationOf(position) != position;
+    }
+    
+    /**
+     * Copy of the destination of every cell, indexed by cell, for code that gathers
+     * from the table directly. Large boards are expanded to a flat array first.
+     */
+    public int[] toArray() {
+        if (destinations != null) {
+            return destinations.clone();
+        }
+        int[] expanded = new int[boardSize + 1];
+        for (int cell = 0; cell <= boardSize; cell++) {
+            expanded[cell] = cell;
+        }
+        for (long entry : slots) {
+            if (entry != EMPTY) {
+                expanded[(int) (entry >>> 32)] = (int) entry;
+            }
+        }
+        return expanded;
+    }
+    
+    /**
+     * Whether the table is a flat array indexed by cell rather than a sparse table
+     */
+    public boolean isDense() {
+        return destinations != null;
+    }
+    
+    /**
+     * Number of cells with a snake or ladder on them
+     */
+    public int getJumpCount() {
+        return jumpCount;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+}
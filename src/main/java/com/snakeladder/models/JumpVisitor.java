@@ -0,0 +1,9 @@
+package com.snakeladder.models;
+
+/**
+ * Receives the two ends of a snake or ladder without boxing them into objects
+ */
+@FunctionalInterface
+public interface JumpVisitor {
+    void visit(int from, int to);
+}
@@ -0,0 +1,82 @@
+package com.snakeladder.models;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Read-only Map view over a board's sorted start and end cells. Nothing is copied;
+ * the Snake or Ladder values are created as they are looked up or iterated.
+ */
+final class SortedJumpMap<V> extends AbstractMap<Integer, V> {
+    interface ValueFactory<V> {
+        V create(int from, int to);
+    }
+    
+    private final int[] starts;
+    private final int[] ends;
+    private final ValueFactory<V> factory;
+    private Set<Entry<Integer, V>> entries;
+    
+    SortedJumpMap(int[] starts, int[] ends, ValueFactory<V> factory) {
+        this.starts = starts;
+        this.ends = ends;
+        this.factory = factory;
+    }
+    
+    @Override
+    public int size() {
+        return starts.length;
+    }
+    
+    @Override
+    public boolean containsKey(Object key) {
+        return key instanceof Integer && Arrays.binarySearch(starts, (Integer) key) >= 0;
+    }
+    
+    @Override
+    public V get(Object key) {
+        if (!(key instanceof Integer)) {
+            return null;
+        }
+        int index = Arrays.binarySearch(starts, (Integer) key);
+        return index < 0 ? null : factory.create(starts[index], ends[index]);
+    }
+    
+    @Override
+    public Set<Entry<Integer, V>> entrySet() {
+        if (entries == null) {
+            entries = new AbstractSet<>() {
+                @Override
+                public Iterator<Entry<Integer, V>> iterator() {
+                    return new Iterator<>() {
+                        private int next;
+                        
+                        @Override
+                        public boolean hasNext() {
+                            return next < starts.length;
+                        }
+                        
+                        @Override
+                        public Entry<Integer, V> next() {
+                            if (next >= starts.length) {
+                                throw new NoSuchElementException();
+                            }
+                            int index = next++;
+                            return new SimpleImmutableEntry<>(starts[index], factory.create(starts[index], ends[index]));
+                        }
+                    };
+                }
+                
+                @Override
+                public int size() {
+                    return starts.length;
+                }
+            };
+        }
+        return entries;
+    }
+}
@@ -0,0 +1,334 @@
+package com.snakeladder.observer;
+
+import com.snakeladder.models.Player;
+
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * GameObserver that hands events to a delegate on its own thread through a bounded,
+ * preallocated ring buffer. The engine thread only copies a few fields into a slot;
+ * the consumer thread drains everything published so far as one batch.
+ *
+ * The delegate never sees the engine's live Player objects, which move on while
+ * events wait in the ring. Each slot records the player's position at the time of
+ * the event, and the consumer hands the delegate its own copy of the player with
+ * that position.
+ *
+ * Events are expected from a single turn thread, which is how GameEngine calls
+ * its observers.
+ */
+public class AsyncGameObserver implements GameObserver, AutoCloseable {
+    private static final int PLAYER_MOVED = 0;
+    private static final int SNAKE_ENCOUNTERED = 1;
+    private static final int LADDER_ENCOUNTERED = 2;
+    private static final int GAME_WON = 3;
+    private static final int GAME_STARTED = 4;
+    private static final int TURN_CHANGED = 5;
+    private static final long IDLE_PARK_NANOS = 1_000_000L;
+    private static final AtomicInteger THREAD_COUNTER = new AtomicInteger();
+    
+    private final GameObserver delegate;
+    private final BackpressurePolicy policy;
+    private final Slot[] ring;
+    private final int mask;
+    private final Thread consumer;
+    
+    // Written by the producer only
+    private long nextSequence;
+    private final Slot overflow = new Slot();
+    private boolean hasOverflow;
+    private long droppedCount;
+    private long coalescedCount;
+    
+    // Touched by the consumer only
+    private final Map<Player, Player> copies = new IdentityHashMap<>();
+    
+    private volatile long publishedSequence;
+    private volatile long consumedSequence;
+    private volatile boolean consumerWaiting;
+    private volatile boolean running = true;
+    private volatile long failedCount;
+    
+    public AsyncGameObserver(GameObserver delegate) {
+        this(delegate, 1024, BackpressurePolicy.BLOCK);
+    }
+    
+    public AsyncGameObserver(GameObserver delegate, int capacity, BackpressurePolicy policy) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be at least 1");
+        }
+        int size = Integer.highestOneBit(capacity);
+        if (size < capacity) {
+            size <<= 1;
+        }
+        this.delegate = delegate;
+        this.policy = policy;
+        this.ring = new Slot[size];
+        for (int i = 0; i < size; i++) {
+            ring[i] = new Slot();
+        }
+        this.mask = size - 1;
+        this.consumer = new Thread(this::consume, "async-observer-" + THREAD_COUNTER.incrementAndGet());
+        this.consumer.setDaemon(true);
+        this.consumer.start();
+    }
+    
+    @Override
+    public void onPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+        publish(PLAYER_MOVED, player, oldPosition, newPosition, diceRoll);
+    }
+    
+    @Override
+    public void onSnakeEncountered(Player player, int snakeHead, int snakeTail) {
+        publish(SNAKE_ENCOUNTERED, player, snakeHead, snakeTail, 0);
+    }
+    
+    @Override
+    public void onLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+        publish(LADDER_ENCOUNTERED, player, ladderBottom, ladderTop, 0);
+    }
+    
+    @Override
+    public void onGameWon(Player winner) {
+        publish(GAME_WON, winner, 0, 0, 0);
+    }
+    
+    @Override
+    public void onGameStarted() {
+        publish(GAME_STARTED, null, 0, 0, 0);
+    }
+    
+    @Override
+    public void onTurnChanged(Player currentPlayer) {
+        publish(TURN_CHANGED, currentPlayer, 0, 0, 0);
+    }
+    
+    private void publish(int type, Player player, int a, int b, int c) {
+        if (!running) {
+            return;
+        }
+        boolean lifecycle = type == GAME_WON || type == GAME_STARTED;
+        int position = player == null ? 0 : player.getPosition();
+        
+        if (hasOverflow) {
+            if (hasSpace() || lifecycle || policy != BackpressurePolicy.COALESCE) {
+                awaitSpace();
+                hasOverflow = false;
+                write(overflow.type, overflow.player, overflow.position, overflow.a, overflow.b, overflow.c);
+                overflow.player = null;
+            } else {
+                // Still full: the new event replaces the pending one
+                overflow.set(type, player, position, a, b, c);
+                coalescedCount++;
+                return;
+            }
+        }
+        
+        if (!hasSpace()) {
+            if (policy == BackpressurePolicy.DROP && !lifecycle) {
+                droppedCount++;
+                return;
+            }
+            if (policy == BackpressurePolicy.COALESCE && !lifecycle) {
+                overflow.set(type, player, position, a, b, c);
+                hasOverflow = true;
+                return;
+            }
+            awaitSpace();
+        }
+        write(type, player, position, a, b, c);
+    }
+    
+    private boolean hasSpace() {
+        return nextSequence - consumedSequence < ring.length;
+    }
+    
+    /**
+     * Waits for the consumer to free a slot. A consumer killed by an Error from the
+     * delegate never will, so that fails at once rather than hanging the game. A
+     * closing consumer still drains the ring before it stops.
+     */
+    private void awaitSpace() {
+        while (!hasSpace()) {
+            if (!consumer.isAlive()) {
+                throw new IllegalStateException("Async observer consumer has stopped with "
+                        + (nextSequence - consumedSequence) + " events undelivered");
+            }
+            wakeConsumer();
+            Thread.onSpinWait();
+            LockSupport.parkNanos(1_000L);
+        }
+    }
+    
+    private void write(int type, Player player, int position, int a, int b, int c) {
+        ring[(int) (nextSequence & mask)].set(type, player, position, a, b, c);
+        nextSequence++;
+        publishedSequence = nextSequence;
+        wakeConsumer();
+    }
+    
+    private void wakeConsumer() {
+        if (consumerWaiting) {
+            LockSupport.unpark(consumer);
+        }
+    }
+    
+    private void consume() {
+        long next = 0;
+        while (true) {
+            long available = publishedSequence;
+            if (next == available) {
+                if (!running) {
+                    return;
+                }
+                consumerWaiting = true;
+                if (publishedSequence == next && running) {
+                    LockSupport.parkNanos(this, IDLE_PARK_NANOS);
+                }
+                consumerWaiting = false;
+                continue;
+            }
+            
+            // Drain everything published so far as one batch
+            for (long sequence = next; sequence < available; sequence++) {
+                Slot slot = ring[(int) (sequence & mask)];
+                dispatch(slot);
+                slot.player = null;
+            }
+            next = available;
+            consumedSequence = available;
+        }
+    }
+    
+    private void dispatch(Slot slot) {
+        try {
+            switch (slot.type) {
+                case PLAYER_MOVED:
+                    delegate.onPlayerMoved(copyOf(slot), slot.a, slot.b, slot.c);
+                    break;
+                case SNAKE_ENCOUNTERED:
+                    delegate.onSnakeEncountered(copyOf(slot), slot.a, slot.b);
+                    break;
+                case LADDER_ENCOUNTERED:
+                    delegate.onLadderEncountered(copyOf(slot), slot.a, slot.b);
+                    break;
+                case GAME_WON:
+                    delegate.onGameWon(copyOf(slot));
+                    break;
+                case GAME_STARTED:
+                    // Players of earlier games will not be seen again
+                    copies.clear();
+                    delegate.onGameStarted();
+                    break;
+                case TURN_CHANGED:
+                    delegate.onTurnChanged(copyOf(slot));
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event type " + slot.type);
+            }
+        } catch (RuntimeException e) {
+            // A failing listener must not stop delivery to itself for later events
+            failedCount++;
+        }
+    }
+    
+    /**
+     * The consumer's copy of the slot's player, placed where the player stood when
+     * the event was published
+     */
+    private Player copyOf(Slot slot) {
+        Player copy = copies.get(slot.player);
+        if (copy == null) {
+            copy = new Player(slot.player.getName(), slot.player.getId());
+            copies.put(slot.player, copy);
+        }
+        copy.setPosition(slot.position);
+        return copy;
+    }
+    
+    /**
+     * Blocks the calling thread until every event published so far has been delivered
+     */
+    public void flush() {
+        if (hasOverflow) {
+            awaitSpace();
+            hasOverflow = false;
+            write(overflow.type, overflow.player, overflow.position, overflow.a, overflow.b, overflow.c);
+            overflow.player = null;
+        }
+        long target = nextSequence;
+        while (consumedSequence < target && consumer.isAlive()) {
+            wakeConsumer();
+            LockSupport.parkNanos(10_000L);
+        }
+    }
+    
+    /**
+     * Delivers any pending events and stops the consumer thread
+     */
+    @Override
+    public void close() {
+        if (!running) {
+            return;
+        }
+        flush();
+        running = false;
+        LockSupport.unpark(consumer);
+        try {
+            consumer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+    
+    public int getCapacity() {
+        return ring.length;
+    }
+    
+    public BackpressurePolicy getPolicy() {
+        return policy;
+    }
+    
+    /**
+     * Events published but not yet delivered
+     */
+    public long getPendingCount() {
+        return publishedSequence - consumedSequence;
+    }
+    
+    public long getDroppedCount() {
+        return droppedCount;
+    }
+    
+    public long getCoalescedCount() {
+        return coalescedCount;
+    }
+    
+    public long getFailedCount() {
+        return failedCount;
+    }
+    
+    /**
+     * Preallocated ring buffer entry, overwritten in place for each event
+     */
+    private static final class Slot {
+        int type;
+        Player player;
+        int position;
+        int a;
+        int b;
+        int c;
+        
+        void set(int type, Player player, int position, int a, int b, int c) {
+            this.type = type;
+            this.player = player;
+            this.position = position;
+            this.a = a;
+            this.b = b;
+            this.c = c;
+        }
+    }
+}
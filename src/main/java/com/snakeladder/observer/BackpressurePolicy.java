@@ -0,0 +1,14 @@
+package com.snakeladder.observer;
+
+/**
+ * What an AsyncGameObserver does when its ring buffer is full. Game start and
+ * game won events are never dropped or coalesced; they always wait for space.
+ */
+public enum BackpressurePolicy {
+    /** Wait for the consumer to free a slot; no event is ever lost, and a dead consumer fails the publish */
+    BLOCK,
+    /** Discard the new event and count it as dropped */
+    DROP,
+    /** Keep only the latest move, snake, ladder or turn event until a slot frees up */
+    COALESCE
+}
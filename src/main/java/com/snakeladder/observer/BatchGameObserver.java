@@ -0,0 +1,13 @@
+package com.snakeladder.observer;
+
+/**
+ * Observer that receives game events in batches instead of one callback per event
+ */
+public interface BatchGameObserver {
+    /**
+     * Called with the events recorded since the previous batch, in order. A batch never
+     * splits the events of one turn. The array and its events are reused once this
+     * method returns.
+     */
+    void onEvents(GameEvent[] events, int count);
+}
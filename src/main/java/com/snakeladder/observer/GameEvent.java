@@ -0,0 +1,60 @@
+package com.snakeladder.observer;
+
+/**
+ * Flyweight game event. Instances are owned by a GameEventBuffer and overwritten
+ * for every batch, so observers must copy out anything they want to keep.
+ *
+ * Field meaning by type:
+ * PLAYER_MOVED       from = old position, to = new position, roll = dice value
+ * SNAKE_ENCOUNTERED  from = snake head, to = snake tail
+ * LADDER_ENCOUNTERED from = ladder bottom, to = ladder top
+ * GAME_WON           from = to = winning position
+ * GAME_STARTED       seat = -1
+ * TURN_CHANGED       from = to = current position of the seat about to move
+ * TURN_PASSED        seat = seat to move next, the same one after an extra turn;
+ *                    from = to = its position. Ends every turn that does not win.
+ * MOVE_UNDONE        seat = seat whose turn was undone and moves next, from = position
+ *                    before the undo, to = position restored, roll = the undone roll
+ * MOVE_REDONE        from = position before the turn, to = final position, roll = dice
+ *                    value; followed by TURN_PASSED or GAME_WON like a played turn
+ */
+public final class GameEvent {
+    private GameEventType type;
+    private int seat;
+    private int from;
+    private int to;
+    private int roll;
+    
+    void set(GameEventType type, int seat, int from, int to, int roll) {
+        this.type = type;
+        this.seat = seat;
+        this.from = from;
+        this.to = to;
+        this.roll = roll;
+    }
+    
+    public GameEventType getType() {
+        return type;
+    }
+    
+    public int getSeat() {
+        return seat;
+    }
+    
+    public int getFrom() {
+        return from;
+    }
+    
+    public int getTo() {
+        return to;
+    }
+    
+    public int getRoll() {
+        return roll;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("GameEvent{type=%s, seat=%d, from=%d, to=%d, roll=%d}", type, seat, from, to, roll);
+    }
+}
@@ -0,0 +1,108 @@
+package com.snakeladder.observer;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Preallocated buffer of flyweight events that the engine fills during play and
+ * hands to its batch observers on flush
+ */
+public class GameEventBuffer {
+    /**
+     * Turn changed, player moved, snake or ladder, and game won. Rules that chain
+     * jumps add one event for every further snake or ladder.
+     */
+    public static final int MAX_EVENTS_PER_TURN = 4;
+    
+    private GameEvent[] events;
+    private final List<BatchGameObserver> observers;
+    private int count;
+    
+    public GameEventBuffer(int capacity) {
+        if (capacity < MAX_EVENTS_PER_TURN) {
+            throw new IllegalArgumentException("Capacity must hold at least one turn of events");
+        }
+        this.events = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            events[i] = new GameEvent();
+        }
+        this.observers = new ArrayList<>();
+    }
+    
+    public void addObserver(BatchGameObserver observer) {
+        observers.add(observer);
+    }
+    
+    public void removeObserver(BatchGameObserver observer) {
+        observers.remove(observer);
+    }
+    
+    public void clearObservers() {
+        observers.clear();
+    }
+    
+    public boolean hasObservers() {
+        return !observers.isEmpty();
+    }
+    
+    /**
+     * Appends an event, flushing first if the buffer is full
+     */
+    public void record(GameEventType type, int seat, int from, int to, int roll) {
+        if (count == events.length) {
+            flush();
+        }
+        events[count++].set(type, seat, from, to, roll);
+    }
+    
+    /**
+     * Flushes first if fewer than the given number of events still fit, so that the
+     * events of the next turn end up in the same batch
+     */
+    public void reserve(int events) {
+        if (count + events > this.events.length) {
+            flush();
+        }
+    }
+    
+    /**
+     * Grows the buffer to hold at least the given number of events, delivering the
+     * events already recorded first
+     */
+    public void ensureCapacity(int capacity) {
+        if (capacity <= events.length) {
+            return;
+        }
+        flush();
+        GameEvent[] grown = new GameEvent[capacity];
+        for (int i = 0; i < capacity; i++) {
+            grown[i] = i < events.length ? events[i] : new GameEvent();
+        }
+        events = grown;
+    }
+    
+    public void flush() {
+        if (count == 0) {
+            return;
+        }
+        for (int i = 0; i < observers.size(); i++) {
+            observers.get(i).onEvents(events, count);
+        }
+        count = 0;
+    }
+    
+    /**
+     * Drops any recorded events without delivering them
+     */
+    public void clear() {
+        count = 0;
+    }
+    
+    public int size() {
+        return count;
+    }
+    
+    public int getCapacity() {
+        return events.length;
+    }
+}
@@ -0,0 +1,16 @@
+package com.snakeladder.observer;
+
+/**
+ * Kinds of events delivered to a BatchGameObserver
+ */
+public enum GameEventType {
+    PLAYER_MOVED,
+    SNAKE_ENCOUNTERED,
+    LADDER_ENCOUNTERED,
+    GAME_WON,
+    GAME_STARTED,
+    TURN_CHANGED,
+    TURN_PASSED,
+    MOVE_UNDONE,
+    MOVE_REDONE
+}
@@ -0,0 +1,82 @@
+package com.snakeladder.observer;
+
+import com.snakeladder.models.Player;
+
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Delivers batched events to a classic GameObserver, one callback per event.
+ *
+ * A batch can cover several turns, by which time the live players have moved on,
+ * so the observer is handed the adapter's own copy of each player, placed where the
+ * player stood when the event happened.
+ */
+public class GameObserverBatchAdapter implements BatchGameObserver {
+    private final GameObserver observer;
+    private final List<Player> players;
+    private final Map<Player, Player> copies = new IdentityHashMap<>();
+    
+    /**
+     * @param players players in seat order, used to turn event seats back into Player objects
+     */
+    public GameObserverBatchAdapter(GameObserver observer, List<Player> players) {
+        this.observer = observer;
+        this.players = players;
+    }
+    
+    @Override
+    public void onEvents(GameEvent[] events, int count) {
+        for (int i = 0; i < count; i++) {
+            GameEvent event = events[i];
+            switch (event.getType()) {
+                case PLAYER_MOVED:
+                    observer.onPlayerMoved(copyOf(event), event.getFrom(), event.getTo(), event.getRoll());
+                    break;
+                case SNAKE_ENCOUNTERED:
+                    observer.onSnakeEncountered(copyOf(event), event.getFrom(), event.getTo());
+                    break;
+                case LADDER_ENCOUNTERED:
+                    observer.onLadderEncountered(copyOf(event), event.getFrom(), event.getTo());
+                    break;
+                case GAME_WON:
+                    observer.onGameWon(copyOf(event));
+                    break;
+                case GAME_STARTED:
+                    // Players of earlier games will not be seen again
+                    copies.clear();
+                    observer.onGameStarted();
+                    break;
+                case TURN_CHANGED:
+                    observer.onTurnChanged(copyOf(event));
+                    break;
+                case TURN_PASSED:
+                case MOVE_UNDONE:
+                case MOVE_REDONE:
+                    // GameObserver has no callbacks for these
+                    break;
+                default:
+                    throw new IllegalStateException("Unknown event type " + event.getType());
+            }
+        }
+    }
+    
+    /**
+     * The adapter's copy of the event's player, placed where the event left it
+     */
+    private Player copyOf(GameEvent event) {
+        Player player = players.get(event.getSeat());
+        Player copy = copies.get(player);
+        if (copy == null) {
+            copy = new Player(player.getName(), player.getId());
+            copies.put(player, copy);
+        }
+        copy.setPosition(event.getTo());
+        return copy;
+    }
+    
+    public GameObserver getObserver() {
+        return observer;
+    }
+}
@@ -0,0 +1,349 @@
+package com.snakeladder.persistence;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Append-only, segmented binary journal of game turns. Appending threads only copy a
+ * record into an in-memory buffer; a committer thread writes the whole buffer and
+ * forces it to disk in one call (group commit), either once enough records have
+ * accumulated or when the commit interval expires.
+ *
+ * Opening an existing directory resumes after the last complete record, cutting off
+ * a record that was only partly written when the process died.
+ */
+public class GameJournal implements AutoCloseable {
+    public static final int DEFAULT_SEGMENT_RECORDS = 1 << 20;
+    public static final int DEFAULT_GROUP_COMMIT_RECORDS = 256;
+    public static final Duration DEFAULT_COMMIT_INTERVAL = Duration.ofMillis(5);
+    
+    private final Path directory;
+    private final int segmentRecords;
+    private final int groupCommitRecords;
+    private final long commitIntervalNanos;
+    private final Thread committer;
+    
+    // Guarded by this
+    private ByteBuffer active;
+    private ByteBuffer standby;
+    private long appended;
+    private long durable;
+    private boolean commitRequested;
+    private boolean closed;
+    private IOException failure;
+    
+    // Owned by the committer thread after construction
+    private FileChannel channel;
+    private long segmentIndex;
+    private long recordsInSegment;
+    
+    public GameJournal(Path directory) throws IOException {
+        this(directory, DEFAULT_SEGMENT_RECORDS, DEFAULT_GROUP_COMMIT_RECORDS, DEFAULT_COMMIT_INTERVAL);
+    }
+    
+    public GameJournal(Path directory, int segmentRecords, int groupCommitRecords, Duration commitInterval)
+            throws IOException {
+        if (segmentRecords < 1 || groupCommitRecords < 1) {
+            throw new IllegalArgumentException("Segment and group commit sizes must be positive");
+        }
+        this.directory = directory;
+        this.segmentRecords = segmentRecords;
+        this.groupCommitRecords = groupCommitRecords;
+        this.commitIntervalNanos = commitInterval.toNanos();
+        int bufferSize = groupCommitRecords * 4 * JournalFormat.RECORD_SIZE;
+        this.active = ByteBuffer.allocateDirect(bufferSize).order(JournalFormat.BYTE_ORDER);
+        this.standby = ByteBuffer.allocateDirect(bufferSize).order(JournalFormat.BYTE_ORDER);
+        
+        Files.createDirectories(directory);
+        recover();
+        
+        this.committer = new Thread(this::commitLoop, "game-journal-committer");
+        this.committer.setDaemon(true);
+        this.committer.start();
+    }
+    
+    private void recover() throws IOException {
+        List<Path> segments = listSegments(directory);
+        if (segments.isEmpty()) {
+            openSegment(0);
+            return;
+        }
+        Path last = segments.get(segments.size() - 1);
+        segmentIndex = JournalFormat.segmentIndex(last);
+        channel = FileChannel.open(last, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        long size = channel.size();
+        if (size < JournalFormat.HEADER_SIZE) {
+            channel.truncate(0);
+            writeHeader();
+            size = JournalFormat.HEADER_SIZE;
+        }
+        recordsInSegment = (size - JournalFormat.HEADER_SIZE) / JournalFormat.RECORD_SIZE;
+        long end = JournalFormat.HEADER_SIZE + recordsInSegment * JournalFormat.RECORD_SIZE;
+        if (end < size) {
+            // Drop the torn record left behind by a crash mid-write
+            channel.truncate(end);
+        }
+        ByteBuffer header = ByteBuffer.allocate(8).order(JournalFormat.BYTE_ORDER);
+        channel.read(header, 0);
+        if (header.getInt(4) != JournalFormat.VERSION) {
+            // Records are not mixed across versions, so an older segment is left as it is
+            openSegment(segmentIndex + 1);
+            return;
+        }
+        channel.position(end);
+    }
+    
+    static List<Path> listSegments(Path directory) throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(JournalFormat::isSegment)
+                    .sorted()
+                    .collect(Collectors.toList());
+        }
+    }
+    
+    private void openSegment(long index) throws IOException {
+        if (channel != null) {
+            channel.force(false);
+            channel.close();
+        }
+        segmentIndex = index;
+        recordsInSegment = 0;
+        channel = FileChannel.open(JournalFormat.segmentPath(directory, index),
+                StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE, StandardOpenOption.READ);
+        writeHeader();
+    }
+    
+    private void writeHeader() throws IOException {
+        ByteBuffer header = ByteBuffer.allocate(JournalFormat.HEADER_SIZE).order(JournalFormat.BYTE_ORDER);
+        header.putInt(JournalFormat.MAGIC).putInt(JournalFormat.VERSION).putLong(0L).flip();
+        while (header.hasRemaining()) {
+            channel.write(header);
+        }
+    }
+    
+    /**
+     * Buffers one turn record and returns its sequence number, which can be passed to
+     * {@link #awaitDurable(long)}. Blocks only if the committer has fallen a full buffer behind.
+     */
+    public synchronized long append(long gameId, int turn, int seat, int from, int to, int roll,
+                                    boolean won, int nextSeat, int playerCount) throws IOException {
+        return put(gameId, turn, seat, from, to, roll, JournalFormat.flags(won, nextSeat, playerCount));
+    }
+    
+    /**
+     * Buffers a record that takes back the seat's last turn, moving it from {@code from}
+     * back to {@code to} and handing the turn back to it
+     */
+    public synchronized long appendUndo(long gameId, int turn, int seat, int from, int to, int roll,
+                                        int playerCount) throws IOException {
+        return put(gameId, turn, seat, from, to, roll,
+                JournalFormat.flags(false, seat, playerCount) | JournalFormat.FLAG_UNDO);
+    }
+    
+    private long put(long gameId, int turn, int seat, int from, int to, int roll, int flags) throws IOException {
+        boolean interrupted = false;
+        try {
+            while (active.remaining() < JournalFormat.RECORD_SIZE) {
+                checkUsable();
+                commitRequested = true;
+                notifyAll();
+                interrupted |= waitUninterruptibly();
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        checkUsable();
+        active.putLong(gameId)
+                .putInt(turn)
+                .putInt(seat)
+                .putInt(from)
+                .putInt(to)
+                .putInt(roll)
+                .putInt(flags);
+        appended++;
+        if (active.position() >= groupCommitRecords * JournalFormat.RECORD_SIZE) {
+            notifyAll();
+        }
+        return appended;
+    }
+    
+    /**
+     * Waits until the record with the given sequence number is on disk
+     */
+    public synchronized void awaitDurable(long sequence) throws IOException {
+        boolean interrupted = false;
+        try {
+            while (durable < sequence) {
+                if (failure != null) {
+                    throw failure;
+                }
+                if (closed && durable < sequence && !committer.isAlive()) {
+                    throw new IOException("Journal closed before record " + sequence + " was committed");
+                }
+                commitRequested = true;
+                notifyAll();
+                interrupted |= waitUninterruptibly();
+            }
+        } finally {
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+    
+    /**
+     * Forces every record appended so far to disk
+     */
+    public void commit() throws IOException {
+        long target;
+        synchronized (this) {
+            target = appended;
+        }
+        awaitDurable(target);
+    }
+    
+    public synchronized long getAppendedCount() {
+        return appended;
+    }
+    
+    public synchronized long getDurableCount() {
+        return durable;
+    }
+    
+    public Path getDirectory() {
+        return directory;
+    }
+    
+    private void commitLoop() {
+        while (true) {
+            ByteBuffer batch;
+            long upTo;
+            synchronized (this) {
+                long deadline = System.nanoTime() + commitIntervalNanos;
+                while (!closed && !commitRequested
+                        && active.position() < groupCommitRecords * JournalFormat.RECORD_SIZE) {
+                    long remaining = deadline - System.nanoTime();
+                    if (remaining <= 0 && active.position() > 0) {
+                        break;
+                    }
+                    if (remaining <= 0) {
+                        deadline = System.nanoTime() + commitIntervalNanos;
+                        remaining = commitIntervalNanos;
+                    }
+                    waitNanos(remaining);
+                }
+                if (closed && active.position() == 0) {
+                    notifyAll();
+                    return;
+                }
+                commitRequested = false;
+                batch = active;
+                active = standby;
+                standby = batch;
+                upTo = appended;
+                notifyAll();
+            }
+            
+            try {
+                batch.flip();
+                writeBatch(batch);
+                channel.force(false);
+                batch.clear();
+            } catch (IOException e) {
+                synchronized (this) {
+                    failure = e;
+                    notifyAll();
+                }
+                return;
+            }
+            
+            synchronized (this) {
+                durable = upTo;
+                notifyAll();
+            }
+        }
+    }
+    
+    private void writeBatch(ByteBuffer batch) throws IOException {
+        while (batch.hasRemaining()) {
+            if (recordsInSegment == segmentRecords) {
+                openSegment(segmentIndex + 1);
+            }
+            long records = Math.min(batch.remaining() / JournalFormat.RECORD_SIZE, segmentRecords - recordsInSegment);
+            int limit = batch.limit();
+            batch.limit(batch.position() + (int) records * JournalFormat.RECORD_SIZE);
+            while (batch.hasRemaining()) {
+                channel.write(batch);
+            }
+            batch.limit(limit);
+            recordsInSegment += records;
+        }
+    }
+    
+    private void checkUsable() throws IOException {
+        if (failure != null) {
+            throw failure;
+        }
+        if (closed) {
+            throw new IOException("Journal is closed");
+        }
+    }
+    
+    /**
+     * Waits for a notification and returns whether the wait was interrupted. The
+     * caller restores the interrupt once it stops waiting; setting it here would make
+     * every further wait in its loop return at once.
+     */
+    private boolean waitUninterruptibly() {
+        try {
+            wait();
+            return false;
+        } catch (InterruptedException e) {
+            return true;
+        }
+    }
+    
+    private void waitNanos(long nanos) {
+        try {
+            wait(nanos / 1_000_000L, (int) (nanos % 1_000_000L));
+        } catch (InterruptedException e) {
+            // The committer is the journal's own thread and stops on close, not on interrupt
+        }
+    }
+    
+    /**
+     * Commits everything still buffered and closes the current segment
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (this) {
+            if (closed) {
+                return;
+            }
+            closed = true;
+            notifyAll();
+        }
+        try {
+            committer.join();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        channel.force(false);
+        channel.close();
+        synchronized (this) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+}
@@ -0,0 +1,178 @@
+package com.snakeladder.persistence;
+
+import com.snakeladder.engine.GameState;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Read-only view of a journal directory. Every segment is memory-mapped and records
+ * are read in place by index, so scanning and replay never deserialize objects.
+ * Records appended after the reader was opened are not visible.
+ */
+public class GameJournalReader implements AutoCloseable {
+    private final ByteBuffer[] segments;
+    private final int[] versions;
+    private final long[] firstRecord;
+    private final long recordCount;
+    
+    public GameJournalReader(Path directory) throws IOException {
+        List<Path> paths = GameJournal.listSegments(directory);
+        this.segments = new ByteBuffer[paths.size()];
+        this.versions = new int[paths.size()];
+        this.firstRecord = new long[paths.size()];
+        long total = 0;
+        for (int i = 0; i < paths.size(); i++) {
+            try (FileChannel channel = FileChannel.open(paths.get(i), StandardOpenOption.READ)) {
+                long size = channel.size();
+                if (size > Integer.MAX_VALUE) {
+                    throw new IOException("Segment too large to map: " + paths.get(i));
+                }
+                MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+                mapped.order(JournalFormat.BYTE_ORDER);
+                versions[i] = checkHeader(mapped, paths.get(i));
+                segments[i] = mapped;
+                firstRecord[i] = total;
+                total += (size - JournalFormat.HEADER_SIZE) / JournalFormat.RECORD_SIZE;
+            }
+        }
+        this.recordCount = total;
+    }
+    
+    private static int checkHeader(ByteBuffer segment, Path path) throws IOException {
+        if (segment.limit() < JournalFormat.HEADER_SIZE
+                || segment.getInt(0) != JournalFormat.MAGIC) {
+            throw new IOException("Not a journal segment: " + path);
+        }
+        int version = segment.getInt(4);
+        if (version < 1 || version > JournalFormat.VERSION) {
+            throw new IOException("Unsupported journal version " + version + " in " + path);
+        }
+        return version;
+    }
+    
+    public long getRecordCount() {
+        return recordCount;
+    }
+    
+    public long getGameId(long record) {
+        return segmentFor(record).getLong(offsetOf(record) + JournalFormat.GAME_ID);
+    }
+    
+    public int getTurn(long record) {
+        return intAt(record, JournalFormat.TURN);
+    }
+    
+    public int getSeat(long record) {
+        return intAt(record, JournalFormat.SEAT);
+    }
+    
+    public int getFrom(long record) {
+        return intAt(record, JournalFormat.FROM);
+    }
+    
+    public int getTo(long record) {
+        return intAt(record, JournalFormat.TO);
+    }
+    
+    public int getRoll(long record) {
+        return intAt(record, JournalFormat.ROLL);
+    }
+    
+    public boolean isWinningTurn(long record) {
+        return (intAt(record, JournalFormat.FLAGS) & JournalFormat.FLAG_WON) != 0;
+    }
+    
+    /**
+     * Whether the record takes back the seat's last turn rather than playing one
+     */
+    public boolean isUndo(long record) {
+        return (intAt(record, JournalFormat.FLAGS) & JournalFormat.FLAG_UNDO) != 0;
+    }
+    
+    public int getPlayerCount(long record) {
+        return (intAt(record, JournalFormat.FLAGS) >>> JournalFormat.PLAYER_COUNT_SHIFT) & 0xFF;
+    }
+    
+    /**
+     * Seat the turn passed to: the same seat after an extra turn or a win, and the
+     * following seat in version 1 records, which predate extra turns
+     */
+    public int getNextSeat(long record) {
+        if (versions[segmentIndex(record)] == 1) {
+            int seat = getSeat(record);
+            return isWinningTurn(record) ? seat : (seat + 1) % getPlayerCount(record);
+        }
+        return (intAt(record, JournalFormat.FLAGS) >>> JournalFormat.NEXT_SEAT_SHIFT) & 0xFF;
+    }
+    
+    /**
+     * Rebuilds a game's state from its journaled turns and undos, stopping before record
+     * {@code uptoTurn} of the game. Returns null if the journal holds nothing for the game.
+     */
+    public GameState replay(long gameId, int uptoTurn) {
+        GameState state = null;
+        for (long record = 0; record < recordCount; record++) {
+            if (getGameId(record) != gameId || getTurn(record) >= uptoTurn) {
+                continue;
+            }
+            if (state == null) {
+                state = new GameState(getPlayerCount(record));
+            }
+            if (isUndo(record)) {
+                state.undoTurn(getSeat(record), getTo(record));
+            } else {
+                state.applyTurn(getSeat(record), getTo(record), isWinningTurn(record), getNextSeat(record));
+            }
+        }
+        return state;
+    }
+    
+    public GameState replay(long gameId) {
+        return replay(gameId, Integer.MAX_VALUE);
+    }
+    
+    private int intAt(long record, int field) {
+        return segmentFor(record).getInt(offsetOf(record) + field);
+    }
+    
+    private ByteBuffer segmentFor(long record) {
+        return segments[segmentIndex(record)];
+    }
+    
+    private int offsetOf(long record) {
+        int segment = segmentIndex(record);
+        return JournalFormat.HEADER_SIZE + (int) (record - firstRecord[segment]) * JournalFormat.RECORD_SIZE;
+    }
+    
+    private int segmentIndex(long record) {
+        if (record < 0 || record >= recordCount) {
+            throw new IndexOutOfBoundsException("Record " + record + " of " + recordCount);
+        }
+        int low = 0;
+        int high = firstRecord.length - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (firstRecord[mid] <= record) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+    
+    /**
+     * Drops the mappings; the buffers are released once they are garbage collected
+     */
+    @Override
+    public void close() {
+        Arrays.fill(segments, null);
+    }
+}
@@ -0,0 +1,67 @@
+package com.snakeladder.persistence;
+
+import java.nio.ByteOrder;
+import java.nio.file.Path;
+
+/**
+ * On-disk layout of the game journal. Each segment starts with a 16 byte header
+ * (magic, version, reserved) followed by fixed-width 32 byte turn records:
+ *
+ * offset 0   long  game id
+ * offset 8   int   record number within the game, starting at 0
+ * offset 12  int   seat that moved
+ * offset 16  int   position before the roll
+ * offset 20  int   final position after the roll and any snake or ladder
+ * offset 24  int   dice roll
+ * offset 28  int   flags: bit 0 = winning turn, bit 1 = undo, bits 8-15 = player count,
+ *                  bits 16-23 = seat to move next
+ *
+ * An undo record takes back the seat's last turn, with from the position before the
+ * undo and to the position restored; a redone turn is journaled as a turn again.
+ * Version 1 records have no next seat; the turn always passed to the following seat.
+ */
+final class JournalFormat {
+    static final int MAGIC = 0x534C4A31; // "SLJ1"
+    static final int VERSION = 2;
+    static final int HEADER_SIZE = 16;
+    static final int RECORD_SIZE = 32;
+    static final ByteOrder BYTE_ORDER = ByteOrder.LITTLE_ENDIAN;
+    
+    static final int GAME_ID = 0;
+    static final int TURN = 8;
+    static final int SEAT = 12;
+    static final int FROM = 16;
+    static final int TO = 20;
+    static final int ROLL = 24;
+    static final int FLAGS = 28;
+    
+    static final int FLAG_WON = 1;
+    static final int FLAG_UNDO = 2;
+    static final int PLAYER_COUNT_SHIFT = 8;
+    static final int NEXT_SEAT_SHIFT = 16;
+    
+    private static final String PREFIX = "journal-";
+    private static final String SUFFIX = ".seg";
+    
+    private JournalFormat() {
+    }
+    
+    static int flags(boolean won, int nextSeat, int playerCount) {
+        return (won ? FLAG_WON : 0) | ((playerCount & 0xFF) << PLAYER_COUNT_SHIFT)
+                | ((nextSeat & 0xFF) << NEXT_SEAT_SHIFT);
+    }
+    
+    static Path segmentPath(Path directory, long index) {
+        return directory.resolve(String.format("%s%016d%s", PREFIX, index, SUFFIX));
+    }
+    
+    static boolean isSegment(Path path) {
+        String name = path.getFileName().toString();
+        return name.startsWith(PREFIX) && name.endsWith(SUFFIX);
+    }
+    
+    static long segmentIndex(Path path) {
+        String name = path.getFileName().toString();
+        return Long.parseLong(name.substring(PREFIX.length(), name.length() - SUFFIX.length()));
+    }
+}
@@ -0,0 +1,109 @@
+package com.snakeladder.persistence;
+
+import com.snakeladder.observer.BatchGameObserver;
+import com.snakeladder.observer.GameEvent;
+import com.snakeladder.observer.GameEventType;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+
+/**
+ * Writes one journal record per turn of a single game. The move, any snake or ladder,
+ * and the win or the seat the turn passed to arrive in the same batch and are folded
+ * into one record, so replay follows extra turns exactly as the engine played them.
+ * Undone turns get an undo record and redone turns are journaled again, so replay
+ * never reaches a state the engine did not have.
+ */
+public class JournalingObserver implements BatchGameObserver {
+    private final GameJournal journal;
+    private final long gameId;
+    private final int playerCount;
+    
+    private int turn;
+    private boolean pending;
+    private int seat;
+    private int from;
+    private int to;
+    private int roll;
+    private boolean won;
+    private boolean undo;
+    private int nextSeat;
+    private long lastSequence;
+    
+    public JournalingObserver(GameJournal journal, long gameId, int playerCount) {
+        if (playerCount < 1 || playerCount > 255) {
+            throw new IllegalArgumentException("Player count must be between 1 and 255");
+        }
+        this.journal = journal;
+        this.gameId = gameId;
+        this.playerCount = playerCount;
+    }
+    
+    @Override
+    public void onEvents(GameEvent[] events, int count) {
+        for (int i = 0; i < count; i++) {
+            GameEvent event = events[i];
+            switch (event.getType()) {
+                case PLAYER_MOVED:
+                case MOVE_REDONE:
+                case MOVE_UNDONE:
+                    emitPending();
+                    pending = true;
+                    seat = event.getSeat();
+                    from = event.getFrom();
+                    to = event.getTo();
+                    roll = event.getRoll();
+                    won = false;
+                    undo = event.getType() == GameEventType.MOVE_UNDONE;
+                    nextSeat = (seat + 1) % playerCount;
+                    break;
+                case SNAKE_ENCOUNTERED:
+                case LADDER_ENCOUNTERED:
+                    to = event.getTo();
+                    break;
+                case GAME_WON:
+                    won = true;
+                    nextSeat = seat;
+                    break;
+                case TURN_PASSED:
+                    nextSeat = event.getSeat();
+                    break;
+                default:
+                    break;
+            }
+        }
+        emitPending();
+    }
+    
+    private void emitPending() {
+        if (!pending) {
+            return;
+        }
+        pending = false;
+        try {
+            lastSequence = undo
+                    ? journal.appendUndo(gameId, turn++, seat, from, to, roll, playerCount)
+                    : journal.append(gameId, turn++, seat, from, to, roll, won, nextSeat, playerCount);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+    
+    /**
+     * Sequence number of the last record written, for GameJournal.awaitDurable
+     */
+    public long getLastSequence() {
+        return lastSequence;
+    }
+    
+    public long getGameId() {
+        return gameId;
+    }
+    
+    /**
+     * Records written so far, undo records included
+     */
+    public int getTurnsJournaled() {
+        return turn;
+    }
+}
@@ -0,0 +1,13 @@
+package com.snakeladder.rules;
+
+/**
+ * What happens when a roll would carry a player past the last cell
+ */
+public enum OvershootRule {
+    /** The move is forfeited and the player stays put; finishing needs the exact roll */
+    STAY,
+    /** The player counts the excess back down from the last cell; finishing needs the exact roll */
+    BOUNCE_BACK,
+    /** Reaching or passing the last cell finishes */
+    FINISH
+}
@@ -0,0 +1,165 @@
+package com.snakeladder.rules;
+
+import com.snakeladder.models.GameBoard;
+
+/**
+ * Immutable choice of game rules. The positional rules, overshoot and jump chaining,
+ * are compiled once per board and die into a TransitionTable, so the engine resolves
+ * any combination with the same two array reads per turn.
+ * The standard rules need no table and play straight from the board's jump table.
+ *
+ * The standard rules are the ones GameEngine has always played: an overshoot keeps
+ * the player where they are, one snake or ladder is followed per turn, and there
+ * are no extra turns.
+ */
+public final class RuleSet {
+    private static final RuleSet STANDARD = builder().build();
+    private static final int COMPILED_CACHE_SIZE = 8;
+    
+    private final OvershootRule overshoot;
+    private final boolean rollAgainOnTopFace;
+    private final int forfeitStreak;
+    private final boolean chainJumps;
+    private final TransitionTable[] compiled = new TransitionTable[COMPILED_CACHE_SIZE];
+    private int nextCompiled;
+    
+    private RuleSet(Builder builder) {
+        this.overshoot = builder.overshoot;
+        this.rollAgainOnTopFace = builder.rollAgainOnTopFace;
+        this.forfeitStreak = builder.forfeitStreak;
+        this.chainJumps = builder.chainJumps;
+    }
+    
+    public static RuleSet standard() {
+        return STANDARD;
+    }
+    
+    public static Builder builder() {
+        return new Builder();
+    }
+    
+    /**
+     * Transition table for the given board and die. The last few tables compiled are
+     * kept, so engines sharing a rule set and board share one table; the standard
+     * rules hold no arrays and are built fresh each time.
+     */
+    public TransitionTable compile(GameBoard board, int faces) {
+        if (isStandard()) {
+            return new TransitionTable(this, board, faces);
+        }
+        synchronized (compiled) {
+            for (TransitionTable table : compiled) {
+                if (table != null && table.getBoard() == board && table.getFaces() == faces) {
+                    return table;
+                }
+            }
+            TransitionTable table = new TransitionTable(this, board, faces);
+            compiled[nextCompiled] = table;
+            nextCompiled = (nextCompiled + 1) % COMPILED_CACHE_SIZE;
+            return table;
+        }
+    }
+    
+    /**
+     * Whether these are the rules GameEngine plays by default
+     */
+    public boolean isStandard() {
+        return equals(STANDARD);
+    }
+    
+    public OvershootRule getOvershoot() {
+        return overshoot;
+    }
+    
+    /**
+     * Whether rolling the die's highest face, a six on a standard die, earns another turn
+     */
+    public boolean isRollAgainOnTopFace() {
+        return rollAgainOnTopFace;
+    }
+    
+    /**
+     * Number of top-face rolls in a row whose last one is forfeited, ending the turn;
+     * 0 if there is no such penalty
+     */
+    public int getForfeitStreak() {
+        return forfeitStreak;
+    }
+    
+    /**
+     * Whether a jump that ends on another snake or ladder carries on along it
+     */
+    public boolean isChainJumps() {
+        return chainJumps;
+    }
+    
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) return true;
+        if (obj == null || getClass() != obj.getClass()) return false;
+        RuleSet rules = (RuleSet) obj;
+        return overshoot == rules.overshoot && rollAgainOnTopFace == rules.rollAgainOnTopFace
+                && forfeitStreak == rules.forfeitStreak && chainJumps == rules.chainJumps;
+    }
+    
+    @Override
+    public int hashCode() {
+        int hash = overshoot.hashCode();
+        hash = 31 * hash + Boolean.hashCode(rollAgainOnTopFace);
+        hash = 31 * hash + forfeitStreak;
+        return 31 * hash + Boolean.hashCode(chainJumps);
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("RuleSet{overshoot=%s, rollAgain=%b, forfeitStreak=%d, chainJumps=%b}",
+                overshoot, rollAgainOnTopFace, forfeitStreak, chainJumps);
+    }
+    
+    public static final class Builder {
+        private OvershootRule overshoot = OvershootRule.STAY;
+        private boolean rollAgainOnTopFace;
+        private int forfeitStreak;
+        private boolean chainJumps;
+        
+        private Builder() {
+        }
+        
+        public Builder overshoot(OvershootRule overshoot) {
+            if (overshoot == null) {
+                throw new IllegalArgumentException("Overshoot rule cannot be null");
+            }
+            this.overshoot = overshoot;
+            return this;
+        }
+        
+        public Builder rollAgainOnTopFace(boolean rollAgain) {
+            this.rollAgainOnTopFace = rollAgain;
+            return this;
+        }
+        
+        /**
+         * Forfeits the roll that completes a streak of this many top faces in a row,
+         * three for the classic three-sixes rule; 0 turns the penalty off
+         */
+        public Builder forfeitStreak(int rolls) {
+            if (rolls < 0 || rolls == 1) {
+                throw new IllegalArgumentException("Forfeit streak must be 0 or at least 2");
+            }
+            this.forfeitStreak = rolls;
+            return this;
+        }
+        
+        public Builder chainJumps(boolean chainJumps) {
+            this.chainJumps = chainJumps;
+            return this;
+        }
+        
+        public RuleSet build() {
+            if (forfeitStreak > 0 && !rollAgainOnTopFace) {
+                throw new IllegalArgumentException("A forfeit streak needs roll-again on the top face");
+            }
+            return new RuleSet(this);
+        }
+    }
+}
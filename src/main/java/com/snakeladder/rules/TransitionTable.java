@@ -0,0 +1,181 @@
+package com.snakeladder.rules;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+
+/**
+ * A RuleSet compiled for one board and die: for every resting cell and roll, the
+ * cell the dice move lands on and the cell the player finally rests on after any
+ * snakes and ladders.
+ *
+ * Non-standard rules on boards of up to {@link #TABLE_LIMIT} (cell, roll) pairs are
+ * tabulated in flat int arrays indexed by position * faces + roll - 1, so a turn costs
+ * the same two reads whichever rules were chosen. The standard rules, and any rules
+ * on larger boards, are worked out per move from the board's jump table instead, so
+ * they cost no more memory than the board itself.
+ */
+public final class TransitionTable {
+    /**
+     * Most (cell, roll) pairs tabulated, 16 MB for the two arrays
+     */
+    public static final int TABLE_LIMIT = 1 << 21;
+    
+    private final RuleSet rules;
+    private final GameBoard board;
+    private final JumpTable jumps;
+    private final int boardSize;
+    private final int faces;
+    private final OvershootRule overshoot;
+    private final boolean chainJumps;
+    private final int maxChain;
+    private final int[] landed;
+    private final int[] destinations;
+    private final int rollAgainFace;
+    private final int forfeitStreak;
+    
+    TransitionTable(RuleSet rules, GameBoard board, int faces) {
+        if (faces < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        this.rules = rules;
+        this.board = board;
+        this.jumps = board.compile();
+        this.boardSize = board.getBoardSize();
+        this.faces = faces;
+        this.overshoot = rules.getOvershoot();
+        this.chainJumps = rules.isChainJumps();
+        // 0 can never be rolled, so the standard rules cost one failed compare per turn
+        this.rollAgainFace = rules.isRollAgainOnTopFace() ? faces : 0;
+        this.forfeitStreak = rules.getForfeitStreak();
+        this.maxChain = chainJumps ? longestChain() : Math.min(1, jumps.getJumpCount());
+        
+        if (rules.isStandard() || (long) (boardSize + 1) * faces > TABLE_LIMIT) {
+            this.landed = null;
+            this.destinations = null;
+            return;
+        }
+        this.landed = new int[(boardSize + 1) * faces];
+        this.destinations = new int[landed.length];
+        for (int position = 0; position <= boardSize; position++) {
+            for (int roll = 1; roll <= faces; roll++) {
+                int index = position * faces + roll - 1;
+                int target = land(position, roll);
+                landed[index] = target;
+                destinations[index] = jumpEnd(target);
+            }
+        }
+    }
+    
+    private int land(int position, int roll) {
+        int target = position + roll;
+        if (target <= boardSize) {
+            return target;
+        }
+        switch (overshoot) {
+            case BOUNCE_BACK:
+                return Math.max(0, 2 * boardSize - target);
+            case FINISH:
+                return boardSize;
+            default:
+                return position;
+        }
+    }
+    
+    /**
+     * Where a player who lands on the cell ends up; chains always end, as loops were
+     * rejected when the table was built
+     */
+    private int jumpEnd(int cell) {
+        int end = jumps.destinationOf(cell);
+        if (chainJumps) {
+            for (int next = jumps.destinationOf(end); next != end; next = jumps.destinationOf(end)) {
+                end = next;
+            }
+        }
+        return end;
+    }
+    
+    /**
+     * Most jumps one landing can trigger when jumps chain. Only the start of each
+     * snake and ladder is walked, so this costs time per jump, not per cell; a chain
+     * that comes back on itself is rejected.
+     */
+    private int longestChain() {
+        int[] longest = new int[1];
+        board.forEachSnake((head, tail) -> longest[0] = Math.max(longest[0], chainFrom(head)));
+        board.forEachLadder((bottom, top) -> longest[0] = Math.max(longest[0], chainFrom(bottom)));
+        return longest[0];
+    }
+    
+    private int chainFrom(int cell) {
+        int steps = 0;
+        for (int position = cell; jumps.hasJump(position); position = jumps.destinationOf(position)) {
+            if (++steps > jumps.getJumpCount()) {
+                throw new IllegalArgumentException("Jumps from cell " + cell + " loop forever");
+            }
+        }
+        return steps;
+    }
+    
+    /**
+     * Cell the dice move lands on, before any snake or ladder
+     */
+    public int landed(int position, int roll) {
+        int[] landed = this.landed;
+        return landed != null ? landed[position * faces + roll - 1] : land(position, roll);
+    }
+    
+    /**
+     * Cell the player rests on after the move and every jump it triggers
+     */
+    public int destination(int position, int roll) {
+        int[] destinations = this.destinations;
+        return destinations != null ? destinations[position * faces + roll - 1] : jumpEnd(land(position, roll));
+    }
+    
+    /**
+     * Whether the roll earns another turn
+     */
+    public boolean rollsAgain(int roll) {
+        return roll == rollAgainFace;
+    }
+    
+    /**
+     * Whether the roll is forfeited, given how many top faces in a row the player has
+     * already rolled this turn
+     */
+    public boolean forfeits(int roll, int streak) {
+        return roll == rollAgainFace && forfeitStreak > 0 && streak + 1 >= forfeitStreak;
+    }
+    
+    /**
+     * Most snakes and ladders a single move can pass through: 1 without chained
+     * jumps, the longest chain with them, and 0 on a board without jumps
+     */
+    public int getMaxChain() {
+        return maxChain;
+    }
+    
+    /**
+     * Whether moves are read from precomputed arrays rather than worked out per move
+     */
+    public boolean isTabulated() {
+        return landed != null;
+    }
+    
+    public RuleSet getRules() {
+        return rules;
+    }
+    
+    public GameBoard getBoard() {
+        return board;
+    }
+    
+    public int getBoardSize() {
+        return boardSize;
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+}
@@ -0,0 +1,85 @@
+package com.snakeladder.server;
+
+import com.snakeladder.engine.GameEngine;
+
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+
+/**
+ * A hosted game. Every operation on the engine is queued and run by one task at a
+ * time, so the engine only ever has a single writer even though work for different
+ * sessions runs concurrently on the shared executor. An idle session holds no thread.
+ */
+public class GameSession {
+    private final long id;
+    private final GameEngine engine;
+    private final Executor executor;
+    private final Queue<Runnable> mailbox = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean();
+    private volatile long lastAccessNanos;
+    
+    GameSession(long id, GameEngine engine, Executor executor) {
+        this.id = id;
+        this.engine = engine;
+        this.executor = executor;
+        this.lastAccessNanos = System.nanoTime();
+    }
+    
+    public long getId() {
+        return id;
+    }
+    
+    public long getLastAccessNanos() {
+        return lastAccessNanos;
+    }
+    
+    /**
+     * Runs an action against the engine on the session's single writer
+     */
+    public <T> CompletableFuture<T> submit(Function<GameEngine, T> action) {
+        lastAccessNanos = System.nanoTime();
+        CompletableFuture<T> result = new CompletableFuture<>();
+        mailbox.add(() -> {
+            try {
+                result.complete(action.apply(engine));
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+            }
+        });
+        if (scheduled.compareAndSet(false, true)) {
+            executor.execute(this::drain);
+        }
+        return result;
+    }
+    
+    private void drain() {
+        boolean finished = false;
+        try {
+            while (true) {
+                Runnable task;
+                while ((task = mailbox.poll()) != null) {
+                    task.run();
+                }
+                scheduled.set(false);
+                // A task queued after the last poll but before the reset would otherwise be stranded
+                if (mailbox.isEmpty() || !scheduled.compareAndSet(false, true)) {
+                    finished = true;
+                    return;
+                }
+            }
+        } finally {
+            if (!finished) {
+                // A task threw an Error past its future; hand the rest of the queue to a
+                // new drain so the session is not left marked as draining forever
+                scheduled.set(false);
+                if (!mailbox.isEmpty() && scheduled.compareAndSet(false, true)) {
+                    executor.execute(this::drain);
+                }
+            }
+        }
+    }
+}
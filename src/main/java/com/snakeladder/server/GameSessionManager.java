@@ -0,0 +1,237 @@
+package com.snakeladder.server;
+
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.engine.GameSnapshot;
+import com.snakeladder.metrics.EngineMetrics;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.strategy.SplitMixDice;
+
+import java.lang.reflect.Method;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Creates, looks up and expires hosted GameEngine sessions by id. Session work runs
+ * on virtual threads when the runtime provides them and on a work-stealing pool
+ * otherwise; either way each game is confined to a single writer.
+ */
+public class GameSessionManager implements AutoCloseable {
+    private static final int SESSION_UNDO_DEPTH = 16;
+    
+    private final ConcurrentMap<Long, GameSession> sessions = new ConcurrentHashMap<>();
+    private final AtomicLong nextId = new AtomicLong(1);
+    private final ExecutorService executor;
+    private ScheduledExecutorService expiryScheduler;
+    private volatile EngineMetrics metrics;
+    
+    public GameSessionManager() {
+        this(newTaskExecutor());
+    }
+    
+    public GameSessionManager(ExecutorService executor) {
+        this.executor = executor;
+    }
+    
+    /**
+     * Reports every game created or restored from now on to the given metrics; null
+     * turns reporting off for new games
+     */
+    public void setMetrics(EngineMetrics metrics) {
+        this.metrics = metrics;
+    }
+    
+    public EngineMetrics getMetrics() {
+        return metrics;
+    }
+    
+    /**
+     * Prefers a virtual-thread-per-task executor, which is looked up reflectively so
+     * the code still runs on runtimes that predate virtual threads.
+     */
+    static ExecutorService newTaskExecutor() {
+        try {
+            Method factory = Executors.class.getMethod("newVirtualThreadPerTaskExecutor");
+            return (ExecutorService) factory.invoke(null);
+        } catch (ReflectiveOperationException e) {
+            return Executors.newWorkStealingPool();
+        }
+    }
+    
+    /**
+     * Creates and starts a game on the given board and returns its session id. Hosted
+     * games roll SplitMixDice so they can always be checkpointed.
+     */
+    public long create(GameBoard board, List<String> playerNames) {
+        Dice dice = new Dice(new SplitMixDice(ThreadLocalRandom.current().nextLong()));
+        GameEngine engine = new GameEngine(board, dice);
+        engine.setUndoDepth(SESSION_UNDO_DEPTH);
+        engine.setMetrics(metrics);
+        for (int i = 0; i < playerNames.size(); i++) {
+            engine.addPlayer(new Player(playerNames.get(i), i + 1));
+        }
+        engine.startGame();
+        return register(engine);
+    }
+    
+    public long create(List<String> playerNames) {
+        return create(GameBoard.standard(), playerNames);
+    }
+    
+    /**
+     * Returns the session with this id, or null if it does not exist or has expired
+     */
+    public GameSession get(long id) {
+        return sessions.get(id);
+    }
+    
+    public CompletableFuture<TurnResult> playTurn(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            return unknownSession(id);
+        }
+        return session.submit(engine -> {
+            if (engine.isGameWon()) {
+                throw new IllegalStateException("Game " + id + " is already over");
+            }
+            int seat = engine.getCurrentPlayerIndex();
+            Player player = engine.getCurrentPlayer();
+            int from = player.getPosition();
+            boolean continues = engine.playTurn();
+            // Hosted games are slow enough to publish every turn
+            engine.flushMetrics();
+            return new TurnResult(id, seat, from, player.getPosition(), !continues);
+        });
+    }
+    
+    public CompletableFuture<SessionState> getState(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            return unknownSession(id);
+        }
+        return session.submit(engine -> {
+            List<Player> players = engine.getPlayers();
+            int[] positions = new int[players.size()];
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = players.get(i).getPosition();
+            }
+            return new SessionState(id, positions, engine.getCurrentPlayerIndex(), engine.isGameWon());
+        });
+    }
+    
+    /**
+     * Captures a GameSnapshot of the session between turns
+     */
+    public CompletableFuture<byte[]> checkpoint(long id) {
+        GameSession session = sessions.get(id);
+        if (session == null) {
+            return unknownSession(id);
+        }
+        return session.submit(GameSnapshot::capture);
+    }
+    
+    /**
+     * Hosts the game stored in a snapshot under a new session id
+     */
+    public long restore(byte[] snapshot) {
+        GameEngine engine = GameSnapshot.restore(snapshot);
+        EngineMetrics metrics = this.metrics;
+        if (metrics != null) {
+            engine.setMetrics(metrics);
+            if (!engine.isGameWon()) {
+                metrics.gameStarted();
+            }
+        }
+        return register(engine);
+    }
+    
+    private long register(GameEngine engine) {
+        long id = nextId.getAndIncrement();
+        sessions.put(id, new GameSession(id, engine, executor));
+        return id;
+    }
+    
+    public boolean remove(long id) {
+        GameSession session = sessions.remove(id);
+        if (session == null) {
+            return false;
+        }
+        retire(session);
+        return true;
+    }
+    
+    /**
+     * Counts a game dropped before anyone won as abandoned, after any queued turns
+     */
+    private void retire(GameSession session) {
+        session.submit(engine -> {
+            EngineMetrics metrics = engine.getMetrics();
+            if (metrics != null && !engine.isGameWon()) {
+                metrics.gameAbandoned();
+            }
+            return null;
+        });
+    }
+    
+    public int size() {
+        return sessions.size();
+    }
+    
+    /**
+     * Removes every session that has not been used within the given time and
+     * returns how many were removed
+     */
+    public int expireIdle(Duration idleTimeout) {
+        long cutoff = System.nanoTime() - idleTimeout.toNanos();
+        int removed = 0;
+        for (Iterator<GameSession> it = sessions.values().iterator(); it.hasNext(); ) {
+            GameSession session = it.next();
+            if (session.getLastAccessNanos() - cutoff < 0) {
+                it.remove();
+                retire(session);
+                removed++;
+            }
+        }
+        return removed;
+    }
+    
+    /**
+     * Expires idle sessions in the background at the given interval
+     */
+    public synchronized void startExpiry(Duration idleTimeout, Duration interval) {
+        if (expiryScheduler != null) {
+            throw new IllegalStateException("Expiry is already running");
+        }
+        expiryScheduler = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "session-expiry");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long period = interval.toNanos();
+        expiryScheduler.scheduleAtFixedRate(() -> expireIdle(idleTimeout), period, period, TimeUnit.NANOSECONDS);
+    }
+    
+    @Override
+    public synchronized void close() {
+        if (expiryScheduler != null) {
+            expiryScheduler.shutdownNow();
+        }
+        executor.shutdown();
+        sessions.clear();
+    }
+    
+    private static <T> CompletableFuture<T> unknownSession(long id) {
+        return CompletableFuture.failedFuture(new IllegalArgumentException("Unknown session " + id));
+    }
+}
@@ -0,0 +1,129 @@
+package com.snakeladder.server;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintWriter;
+import java.io.OutputStreamWriter;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.net.SocketException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+
+/**
+ * Optional line-based socket front end for a GameSessionManager, bound to the
+ * loopback interface only. Commands, one per line:
+ *
+ * NEW name1 name2 ...  -> OK id
+ * TURN id              -> OK seat from to won
+ * STATE id             -> OK currentSeat won position1 position2 ...
+ * CLOSE id             -> OK
+ * QUIT                 -> closes the connection
+ *
+ * Failures are answered with ERR followed by a message.
+ */
+public class LoopbackGameServer implements AutoCloseable {
+    private final GameSessionManager manager;
+    private final ServerSocket serverSocket;
+    private final ExecutorService connections;
+    private final Thread acceptor;
+    private volatile boolean running = true;
+    
+    public LoopbackGameServer(GameSessionManager manager, int port) throws IOException {
+        this.manager = manager;
+        this.serverSocket = new ServerSocket(port, 128, InetAddress.getLoopbackAddress());
+        this.connections = GameSessionManager.newTaskExecutor();
+        this.acceptor = new Thread(this::acceptLoop, "loopback-game-server");
+        this.acceptor.setDaemon(true);
+        this.acceptor.start();
+    }
+    
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+    
+    private void acceptLoop() {
+        while (running) {
+            try {
+                Socket socket = serverSocket.accept();
+                connections.execute(() -> serve(socket));
+            } catch (SocketException e) {
+                // Socket closed by close()
+                return;
+            } catch (IOException e) {
+                if (running) {
+                    System.err.println("Failed to accept connection: " + e.getMessage());
+                }
+            }
+        }
+    }
+    
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             PrintWriter out = new PrintWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8), true)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] parts = line.trim().split("\\s+");
+                if (parts[0].equalsIgnoreCase("QUIT")) {
+                    return;
+                }
+                out.println(handle(parts));
+            }
+        } catch (IOException e) {
+            // Client went away; nothing to clean up beyond the socket
+        }
+    }
+    
+    private String handle(String[] parts) {
+        try {
+            switch (parts[0].toUpperCase()) {
+                case "NEW": {
+                    List<String> names = Arrays.asList(Arrays.copyOfRange(parts, 1, parts.length));
+                    return "OK " + manager.create(names);
+                }
+                case "TURN": {
+                    TurnResult result = manager.playTurn(parseId(parts)).join();
+                    return String.format("OK %d %d %d %b", result.getSeat(), result.getFromPosition(),
+                            result.getToPosition(), result.isGameWon());
+                }
+                case "STATE": {
+                    SessionState state = manager.getState(parseId(parts)).join();
+                    StringBuilder sb = new StringBuilder("OK ");
+                    sb.append(state.getCurrentSeat()).append(' ').append(state.isGameWon());
+                    for (int seat = 0; seat < state.getPlayerCount(); seat++) {
+                        sb.append(' ').append(state.getPosition(seat));
+                    }
+                    return sb.toString();
+                }
+                case "CLOSE":
+                    return manager.remove(parseId(parts)) ? "OK" : "ERR Unknown session";
+                default:
+                    return "ERR Unknown command " + parts[0];
+            }
+        } catch (CompletionException e) {
+            return "ERR " + e.getCause().getMessage();
+        } catch (RuntimeException e) {
+            return "ERR " + e.getMessage();
+        }
+    }
+    
+    private static long parseId(String[] parts) {
+        if (parts.length < 2) {
+            throw new IllegalArgumentException("Missing session id");
+        }
+        return Long.parseLong(parts[1]);
+    }
+    
+    @Override
+    public void close() throws IOException {
+        running = false;
+        serverSocket.close();
+        connections.shutdownNow();
+    }
+}
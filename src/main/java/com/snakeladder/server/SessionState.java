@@ -0,0 +1,46 @@
+package com.snakeladder.server;
+
+import java.util.Arrays;
+
+/**
+ * Immutable snapshot of a hosted game, safe to hand to other threads
+ */
+public final class SessionState {
+    private final long sessionId;
+    private final int[] positions;
+    private final int currentSeat;
+    private final boolean gameWon;
+    
+    SessionState(long sessionId, int[] positions, int currentSeat, boolean gameWon) {
+        this.sessionId = sessionId;
+        this.positions = positions;
+        this.currentSeat = currentSeat;
+        this.gameWon = gameWon;
+    }
+    
+    public long getSessionId() {
+        return sessionId;
+    }
+    
+    public int getPlayerCount() {
+        return positions.length;
+    }
+    
+    public int getPosition(int seat) {
+        return positions[seat];
+    }
+    
+    public int getCurrentSeat() {
+        return currentSeat;
+    }
+    
+    public boolean isGameWon() {
+        return gameWon;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("SessionState{session=%d, positions=%s, currentSeat=%d, won=%b}",
+                sessionId, Arrays.toString(positions), currentSeat, gameWon);
+    }
+}
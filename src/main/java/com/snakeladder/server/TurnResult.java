@@ -0,0 +1,46 @@
+package com.snakeladder.server;
+
+/**
+ * Outcome of one turn played in a hosted session
+ */
+public final class TurnResult {
+    private final long sessionId;
+    private final int seat;
+    private final int fromPosition;
+    private final int toPosition;
+    private final boolean gameWon;
+    
+    TurnResult(long sessionId, int seat, int fromPosition, int toPosition, boolean gameWon) {
+        this.sessionId = sessionId;
+        this.seat = seat;
+        this.fromPosition = fromPosition;
+        this.toPosition = toPosition;
+        this.gameWon = gameWon;
+    }
+    
+    public long getSessionId() {
+        return sessionId;
+    }
+    
+    public int getSeat() {
+        return seat;
+    }
+    
+    public int getFromPosition() {
+        return fromPosition;
+    }
+    
+    public int getToPosition() {
+        return toPosition;
+    }
+    
+    public boolean isGameWon() {
+        return gameWon;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("TurnResult{session=%d, seat=%d, from=%d, to=%d, won=%b}",
+                sessionId, seat, fromPosition, toPosition, gameWon);
+    }
+}
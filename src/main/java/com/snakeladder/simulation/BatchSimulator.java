@@ -0,0 +1,93 @@
+package com.snakeladder.simulation;
+
+import com.snakeladder.engine.BatchGameEngine;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.strategy.SplittableDice;
+import com.snakeladder.strategy.SplittableDiceStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * MonteCarloSimulator counterpart that plays each chunk of games on a BatchGameEngine,
+ * many games in lock-step per thread. Statistics follow the same rules; the games
+ * themselves differ because rolls are dealt out across lanes.
+ */
+public class BatchSimulator {
+    private static final int GAMES_PER_CHUNK = 1 << 16;
+    
+    private final GameBoard board;
+    private final int playerCount;
+    private final int parallelism;
+    private final int lanes;
+    private final LongFunction<? extends SplittableDiceStrategy> diceFactory;
+    
+    public BatchSimulator(GameBoard board, int playerCount) {
+        this(board, playerCount, Runtime.getRuntime().availableProcessors(),
+                BatchGameEngine.DEFAULT_LANES, SplittableDice::new);
+    }
+    
+    public BatchSimulator(GameBoard board, int playerCount, int parallelism, int lanes,
+                          LongFunction<? extends SplittableDiceStrategy> diceFactory) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least 1 player required to simulate");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        if (lanes < 1) {
+            throw new IllegalArgumentException("At least 1 lane required");
+        }
+        this.board = board;
+        this.playerCount = playerCount;
+        this.parallelism = parallelism;
+        this.lanes = lanes;
+        this.diceFactory = diceFactory;
+    }
+    
+    /**
+     * Plays the given number of games. Results are reproducible for a given
+     * seed regardless of how many threads take part.
+     */
+    public SimulationResult run(long games, long seed) {
+        int chunks = (int) ((games + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK);
+        
+        SplittableDiceStrategy root = diceFactory.apply(seed);
+        SplittableDiceStrategy[] chunkDice = new SplittableDiceStrategy[chunks];
+        for (int i = 0; i < chunks; i++) {
+            chunkDice[i] = root.split();
+        }
+        
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Tally tally;
+        try {
+            tally = pool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(i -> {
+                        long first = (long) i * GAMES_PER_CHUNK;
+                        int count = (int) Math.min(GAMES_PER_CHUNK, games - first);
+                        return runChunk(chunkDice[i], count);
+                    })
+                    .reduce(new Tally(playerCount), Tally::merge))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+        return tally.toResult(System.nanoTime() - start);
+    }
+    
+    private Tally runChunk(SplittableDiceStrategy dice, int games) {
+        Tally tally = new Tally(playerCount);
+        new BatchGameEngine(board, dice, playerCount, lanes).playGames(games, tally::record);
+        return tally;
+    }
+    
+    /**
+     * Whether this JVM runs the batch engine on the Vector API
+     */
+    public boolean isVectorized() {
+        return new BatchGameEngine(board, diceFactory.apply(0L), playerCount, lanes).isVectorized();
+    }
+}
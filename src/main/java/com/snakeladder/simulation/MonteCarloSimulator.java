@@ -0,0 +1,98 @@
+package com.snakeladder.simulation;
+
+import com.snakeladder.engine.CompactGameEngine;
+import com.snakeladder.engine.GameState;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.strategy.SplittableDice;
+import com.snakeladder.strategy.SplittableDiceStrategy;
+
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.LongFunction;
+import java.util.stream.IntStream;
+
+/**
+ * Headless simulator that plays many complete games in parallel on
+ * CompactGameEngine instances, one per chunk of games.
+ */
+public class MonteCarloSimulator {
+    private static final int GAMES_PER_CHUNK = 4096;
+    
+    private final GameBoard board;
+    private final int playerCount;
+    private final int parallelism;
+    private final LongFunction<? extends SplittableDiceStrategy> diceFactory;
+    
+    public MonteCarloSimulator(GameBoard board, int playerCount) {
+        this(board, playerCount, Runtime.getRuntime().availableProcessors());
+    }
+    
+    public MonteCarloSimulator(GameBoard board, int playerCount, int parallelism) {
+        this(board, playerCount, parallelism, SplittableDice::new);
+    }
+    
+    /**
+     * @param diceFactory creates the root dice for a run from its seed; every chunk of
+     *                    games rolls its own split of that root
+     */
+    public MonteCarloSimulator(GameBoard board, int playerCount, int parallelism,
+                               LongFunction<? extends SplittableDiceStrategy> diceFactory) {
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least 1 player required to simulate");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.board = board;
+        this.playerCount = playerCount;
+        this.parallelism = parallelism;
+        this.diceFactory = diceFactory;
+    }
+    
+    /**
+     * Plays the given number of games. Results are reproducible for a given
+     * seed regardless of how many threads take part.
+     */
+    public SimulationResult run(long games, long seed) {
+        int chunks = (int) ((games + GAMES_PER_CHUNK - 1) / GAMES_PER_CHUNK);
+        
+        // Split the dice up front so each chunk gets the same stream on every run
+        SplittableDiceStrategy root = diceFactory.apply(seed);
+        SplittableDiceStrategy[] chunkDice = new SplittableDiceStrategy[chunks];
+        for (int i = 0; i < chunks; i++) {
+            chunkDice[i] = root.split();
+        }
+        
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Tally tally;
+        try {
+            tally = pool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(i -> {
+                        long first = (long) i * GAMES_PER_CHUNK;
+                        int count = (int) Math.min(GAMES_PER_CHUNK, games - first);
+                        return runChunk(chunkDice[i], count);
+                    })
+                    .reduce(new Tally(playerCount), Tally::merge))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        return tally.toResult(elapsed);
+    }
+    
+    private Tally runChunk(SplittableDiceStrategy dice, int games) {
+        Tally tally = new Tally(playerCount);
+        CompactGameEngine engine = new CompactGameEngine(board, dice, playerCount);
+        GameState state = engine.getState();
+        
+        for (int game = 0; game < games; game++) {
+            engine.reset();
+            int winner = engine.playGame();
+            tally.record((int) state.getTurns(), winner);
+        }
+        return tally;
+    }
+}
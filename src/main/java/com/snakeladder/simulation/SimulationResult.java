@@ -0,0 +1,88 @@
+package com.snakeladder.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Aggregated statistics from a batch of simulated games
+ */
+public class SimulationResult {
+    private final long games;
+    private final long elapsedNanos;
+    private final long[] turnHistogram;
+    private final long[] wins;
+    private final long totalTurns;
+    
+    SimulationResult(long games, long elapsedNanos, long[] turnHistogram, long[] wins, long totalTurns) {
+        this.games = games;
+        this.elapsedNanos = elapsedNanos;
+        this.turnHistogram = turnHistogram;
+        this.wins = wins;
+        this.totalTurns = totalTurns;
+    }
+    
+    public long getGames() {
+        return games;
+    }
+    
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+    
+    public double getGamesPerSecond() {
+        return elapsedNanos == 0 ? 0 : games * 1_000_000_000.0 / elapsedNanos;
+    }
+    
+    /**
+     * Mean number of turns (dice rolls across all players) per game
+     */
+    public double getMeanTurns() {
+        return games == 0 ? 0 : (double) totalTurns / games;
+    }
+    
+    /**
+     * Smallest turn count such that at least the given fraction of games finished within it
+     */
+    public int getTurnPercentile(double percentile) {
+        if (percentile < 0 || percentile > 100) {
+            throw new IllegalArgumentException("Percentile must be between 0 and 100");
+        }
+        long threshold = (long) Math.ceil(games * percentile / 100.0);
+        long seen = 0;
+        for (int turns = 0; turns < turnHistogram.length; turns++) {
+            seen += turnHistogram[turns];
+            if (seen >= threshold && seen > 0) {
+                return turns;
+            }
+        }
+        return turnHistogram.length - 1;
+    }
+    
+    public int getPlayerCount() {
+        return wins.length;
+    }
+    
+    public long getWins(int seat) {
+        return wins[seat];
+    }
+    
+    public double getWinRate(int seat) {
+        return games == 0 ? 0 : (double) wins[seat] / games;
+    }
+    
+    public long[] getTurnHistogram() {
+        return Arrays.copyOf(turnHistogram, turnHistogram.length);
+    }
+    
+    public String summary() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(String.format("Games: %,d in %.3f s (%,.0f games/sec)%n",
+                games, elapsedNanos / 1e9, getGamesPerSecond()));
+        sb.append(String.format("Turns: mean %.2f, p50 %d, p90 %d, p99 %d, max %d%n",
+                getMeanTurns(), getTurnPercentile(50), getTurnPercentile(90),
+                getTurnPercentile(99), getTurnPercentile(100)));
+        for (int seat = 0; seat < wins.length; seat++) {
+            sb.append(String.format("Seat %d win rate: %.4f%n", seat + 1, getWinRate(seat)));
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,52 @@
+package com.snakeladder.simulation;
+
+import java.util.Arrays;
+
+/**
+ * Per-chunk accumulator of finished games, merged once the chunk finishes
+ */
+final class Tally {
+    private long games;
+    private long totalTurns;
+    private int maxTurns;
+    private long[] turnHistogram = new long[256];
+    private final long[] wins;
+    
+    Tally(int playerCount) {
+        this.wins = new long[playerCount];
+    }
+    
+    void record(int turns, int winner) {
+        if (turns >= turnHistogram.length) {
+            turnHistogram = Arrays.copyOf(turnHistogram, Math.max(turns + 1, turnHistogram.length * 2));
+        }
+        turnHistogram[turns]++;
+        maxTurns = Math.max(maxTurns, turns);
+        totalTurns += turns;
+        wins[winner]++;
+        games++;
+    }
+    
+    Tally merge(Tally other) {
+        Tally merged = new Tally(wins.length);
+        merged.games = games + other.games;
+        merged.totalTurns = totalTurns + other.totalTurns;
+        merged.maxTurns = Math.max(maxTurns, other.maxTurns);
+        merged.turnHistogram = new long[Math.max(turnHistogram.length, other.turnHistogram.length)];
+        for (int i = 0; i < turnHistogram.length; i++) {
+            merged.turnHistogram[i] += turnHistogram[i];
+        }
+        for (int i = 0; i < other.turnHistogram.length; i++) {
+            merged.turnHistogram[i] += other.turnHistogram[i];
+        }
+        for (int i = 0; i < wins.length; i++) {
+            merged.wins[i] = wins[i] + other.wins[i];
+        }
+        return merged;
+    }
+    
+    SimulationResult toResult(long elapsedNanos) {
+        return new SimulationResult(games, elapsedNanos,
+                Arrays.copyOf(turnHistogram, maxTurns + 1), wins, totalTurns);
+    }
+}
@@ -0,0 +1,148 @@
+package com.snakeladder.simulation;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.JumpTable;
+import com.snakeladder.strategy.RollTape;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.stream.IntStream;
+
+/**
+ * Plays the same RollTape on several boards in one pass: each roll is read once and
+ * applied to the running game on every board, so layouts are compared under exactly
+ * the same randomness and no random numbers are generated at all.
+ *
+ * The tape is cut into fixed-size chunks that are played in parallel. Every board starts
+ * a fresh game at the start of each chunk and drops the game still running at its end,
+ * which keeps the results independent of the number of threads.
+ */
+public class TapeSimulator {
+    public static final int DEFAULT_ROLLS_PER_CHUNK = 1 << 20;
+    
+    private final List<GameBoard> boards;
+    private final JumpTable[] jumpTables;
+    private final int[] boardSizes;
+    private final int playerCount;
+    private final int parallelism;
+    
+    public TapeSimulator(List<GameBoard> boards, int playerCount) {
+        this(boards, playerCount, Runtime.getRuntime().availableProcessors());
+    }
+    
+    public TapeSimulator(List<GameBoard> boards, int playerCount, int parallelism) {
+        if (boards.isEmpty()) {
+            throw new IllegalArgumentException("At least 1 board required to simulate");
+        }
+        if (playerCount < 1) {
+            throw new IllegalArgumentException("At least 1 player required to simulate");
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.boards = List.copyOf(boards);
+        this.jumpTables = new JumpTable[boards.size()];
+        this.boardSizes = new int[boards.size()];
+        for (int b = 0; b < jumpTables.length; b++) {
+            jumpTables[b] = boards.get(b).compile();
+            boardSizes[b] = boards.get(b).getBoardSize();
+        }
+        this.playerCount = playerCount;
+        this.parallelism = parallelism;
+    }
+    
+    public List<SimulationResult> run(RollTape tape) {
+        return run(tape, DEFAULT_ROLLS_PER_CHUNK);
+    }
+    
+    /**
+     * Plays the whole tape and returns one result per board, in the order the boards were given
+     */
+    public List<SimulationResult> run(RollTape tape, int rollsPerChunk) {
+        if (rollsPerChunk < 1) {
+            throw new IllegalArgumentException("Chunks must hold at least one roll");
+        }
+        int length = tape.length();
+        int chunks = (int) (((long) length + rollsPerChunk - 1) / rollsPerChunk);
+        
+        long start = System.nanoTime();
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        Tally[] tallies;
+        try {
+            tallies = pool.submit(() -> IntStream.range(0, chunks)
+                    .parallel()
+                    .mapToObj(i -> {
+                        int from = i * rollsPerChunk;
+                        return runChunk(tape, from, (int) Math.min(length, (long) from + rollsPerChunk));
+                    })
+                    .reduce(emptyTallies(), TapeSimulator::merge))
+                    .join();
+        } finally {
+            pool.shutdown();
+        }
+        long elapsed = System.nanoTime() - start;
+        
+        List<SimulationResult> results = new ArrayList<>(tallies.length);
+        for (Tally tally : tallies) {
+            results.add(tally.toResult(elapsed));
+        }
+        return results;
+    }
+    
+    private Tally[] runChunk(RollTape tape, int from, int to) {
+        int boardCount = jumpTables.length;
+        int playerCount = this.playerCount;
+        Tally[] tallies = emptyTallies();
+        int[] positions = new int[boardCount * playerCount];
+        int[] seats = new int[boardCount];
+        int[] turns = new int[boardCount];
+        
+        for (int i = from; i < to; i++) {
+            int roll = tape.rollAt(i);
+            for (int b = 0; b < boardCount; b++) {
+                int seat = seats[b];
+                int slot = b * playerCount + seat;
+                int oldPosition = positions[slot];
+                int target = oldPosition + roll;
+                int boardSize = boardSizes[b];
+                
+                // Same rule as CompactGameEngine: an overshoot keeps the old position
+                int newPosition = jumpTables[b].destinationOf(target > boardSize ? oldPosition : target);
+                turns[b]++;
+                
+                if (newPosition == boardSize) {
+                    tallies[b].record(turns[b], seat);
+                    Arrays.fill(positions, b * playerCount, (b + 1) * playerCount, 0);
+                    seats[b] = 0;
+                    turns[b] = 0;
+                } else {
+                    positions[slot] = newPosition;
+                    seats[b] = seat + 1 == playerCount ? 0 : seat + 1;
+                }
+            }
+        }
+        return tallies;
+    }
+    
+    private Tally[] emptyTallies() {
+        Tally[] tallies = new Tally[jumpTables.length];
+        for (int b = 0; b < tallies.length; b++) {
+            tallies[b] = new Tally(playerCount);
+        }
+        return tallies;
+    }
+    
+    private static Tally[] merge(Tally[] left, Tally[] right) {
+        Tally[] merged = new Tally[left.length];
+        for (int b = 0; b < merged.length; b++) {
+            merged[b] = left[b].merge(right[b]);
+        }
+        return merged;
+    }
+    
+    public List<GameBoard> getBoards() {
+        return boards;
+    }
+}
@@ -6,4 +6,15 @@ package com.snakeladder.strategy;
 public interface DiceStrategy {
     int roll();
     int getMaxValue();
+    
+    /**
+     * Fills {@code count} slots of {@code rolls} starting at {@code offset} with consecutive
+     * rolls, in the order roll() would have produced them. Implementations override this
+     * to roll a whole block inside one call instead of one interface call per roll.
+     */
+    default void roll(int[] rolls, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            rolls[i] = roll();
+        }
+    }
 }
@@ -0,0 +1,71 @@
+package com.snakeladder.strategy;
+
+import java.util.random.RandomGenerator;
+import java.util.random.RandomGeneratorFactory;
+
+/**
+ * Dice backed by any splittable or jumpable java.util.random algorithm, such as
+ * L64X128MixRandom (the default) or Xoshiro256PlusPlus, seeded explicitly.
+ */
+public class RandomGeneratorDice implements SplittableDiceStrategy {
+    public static final String DEFAULT_ALGORITHM = "L64X128MixRandom";
+    
+    private final RandomGenerator generator;
+    private final int maxValue;
+    
+    public RandomGeneratorDice(long seed) {
+        this(DEFAULT_ALGORITHM, seed, 6);
+    }
+    
+    public RandomGeneratorDice(String algorithm, long seed) {
+        this(algorithm, seed, 6);
+    }
+    
+    public RandomGeneratorDice(String algorithm, long seed, int maxValue) {
+        this(RandomGeneratorFactory.of(algorithm).create(seed), maxValue);
+    }
+    
+    private RandomGeneratorDice(RandomGenerator generator, int maxValue) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        if (!(generator instanceof RandomGenerator.SplittableGenerator)
+                && !(generator instanceof RandomGenerator.JumpableGenerator)) {
+            throw new IllegalArgumentException(generator.getClass().getSimpleName()
+                    + " can neither split nor jump, so it cannot feed parallel workers");
+        }
+        this.generator = generator;
+        this.maxValue = maxValue;
+    }
+    
+    /**
+     * Splittable algorithms split; jumpable ones hand out the current stream and
+     * jump this dice ahead past everything that copy will ever use.
+     */
+    @Override
+    public RandomGeneratorDice split() {
+        if (generator instanceof RandomGenerator.SplittableGenerator) {
+            return new RandomGeneratorDice(((RandomGenerator.SplittableGenerator) generator).split(), maxValue);
+        }
+        return new RandomGeneratorDice(((RandomGenerator.JumpableGenerator) generator).copyAndJump(), maxValue);
+    }
+    
+    @Override
+    public int roll() {
+        return generator.nextInt(maxValue) + 1;
+    }
+    
+    @Override
+    public void roll(int[] rolls, int offset, int count) {
+        RandomGenerator generator = this.generator;
+        int maxValue = this.maxValue;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            rolls[i] = generator.nextInt(maxValue) + 1;
+        }
+    }
+    
+    @Override
+    public int getMaxValue() {
+        return maxValue;
+    }
+}
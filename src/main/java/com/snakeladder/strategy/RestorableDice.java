@@ -0,0 +1,11 @@
+package com.snakeladder.strategy;
+
+/**
+ * Dice whose whole random stream position fits in one long, so a game can be
+ * checkpointed and resumed with exactly the rolls it would have produced
+ */
+public interface RestorableDice extends DiceStrategy {
+    long getState();
+    
+    void restoreState(long state);
+}
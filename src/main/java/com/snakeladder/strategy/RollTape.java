@@ -0,0 +1,133 @@
+package com.snakeladder.strategy;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Pre-generated sequence of dice rolls, one byte per roll, held off-heap either in a
+ * direct buffer or in a memory-mapped file. A tape is read-only once created and can
+ * be shared by any number of readers; each TapeDice keeps its own cursor.
+ *
+ * Files start with an 8 byte little-endian header (magic, faces) followed by the rolls.
+ * A tape holds at most Integer.MAX_VALUE minus the header rolls, the limit of one mapping.
+ */
+public final class RollTape {
+    private static final int MAGIC = 0x534C5254; // "SLRT"
+    private static final int HEADER_SIZE = 8;
+    private static final int MAX_ROLLS = Integer.MAX_VALUE - HEADER_SIZE;
+    private static final int BLOCK = 1 << 16;
+    
+    private final ByteBuffer rolls;
+    private final int faces;
+    
+    private RollTape(ByteBuffer rolls, int faces) {
+        this.rolls = rolls;
+        this.faces = faces;
+    }
+    
+    /**
+     * Records the given number of rolls from the dice into a direct buffer
+     */
+    public static RollTape record(DiceStrategy dice, int length) {
+        checkRecordable(dice, length);
+        ByteBuffer buffer = ByteBuffer.allocateDirect(length);
+        fill(dice, buffer);
+        buffer.flip();
+        return new RollTape(buffer.asReadOnlyBuffer(), dice.getMaxValue());
+    }
+    
+    /**
+     * Records the given number of rolls from the dice into a file and maps it
+     */
+    public static RollTape record(DiceStrategy dice, int length, Path file) throws IOException {
+        checkRecordable(dice, length);
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE).order(ByteOrder.LITTLE_ENDIAN);
+            header.putInt(MAGIC).putInt(dice.getMaxValue()).flip();
+            writeFully(channel, header);
+            
+            ByteBuffer block = ByteBuffer.allocateDirect(BLOCK);
+            for (int written = 0; written < length; written += block.limit()) {
+                block.clear().limit(Math.min(BLOCK, length - written));
+                fill(dice, block);
+                block.flip();
+                writeFully(channel, block);
+            }
+            channel.force(false);
+        }
+        return open(file);
+    }
+    
+    /**
+     * Maps a tape file written by {@link #record(DiceStrategy, int, Path)} read-only
+     */
+    public static RollTape open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE || size > Integer.MAX_VALUE) {
+                throw new IOException("Not a roll tape: " + file);
+            }
+            ByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size).order(ByteOrder.LITTLE_ENDIAN);
+            if (mapped.getInt(0) != MAGIC) {
+                throw new IOException("Not a roll tape: " + file);
+            }
+            int faces = mapped.getInt(4);
+            mapped.position(HEADER_SIZE);
+            return new RollTape(mapped.slice(), faces);
+        }
+    }
+    
+    private static void checkRecordable(DiceStrategy dice, int length) {
+        if (dice.getMaxValue() > Byte.MAX_VALUE) {
+            throw new IllegalArgumentException("A tape stores one byte per roll; "
+                    + dice.getMaxValue() + " faces do not fit");
+        }
+        if (length < 0 || length > MAX_ROLLS) {
+            throw new IllegalArgumentException("Tape length must be between 0 and " + MAX_ROLLS);
+        }
+    }
+    
+    private static void fill(DiceStrategy dice, ByteBuffer target) {
+        int[] block = new int[Math.min(BLOCK, target.remaining())];
+        while (target.hasRemaining()) {
+            int count = Math.min(block.length, target.remaining());
+            dice.roll(block, 0, count);
+            for (int i = 0; i < count; i++) {
+                target.put((byte) block[i]);
+            }
+        }
+    }
+    
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+    
+    public int length() {
+        return rolls.limit();
+    }
+    
+    public int getFaces() {
+        return faces;
+    }
+    
+    /**
+     * Roll at the given index, between 1 and getFaces()
+     */
+    public int rollAt(int index) {
+        return rolls.get(index);
+    }
+    
+    /**
+     * Dice that replay this tape from the start
+     */
+    public TapeDice newDice() {
+        return new TapeDice(this, 0);
+    }
+}
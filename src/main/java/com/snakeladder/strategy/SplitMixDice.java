@@ -0,0 +1,58 @@
+package com.snakeladder.strategy;
+
+/**
+ * Seeded SplitMix64 dice. The generator state is a single counter, which makes the
+ * stream position trivially saveable and restorable.
+ */
+public class SplitMixDice implements RestorableDice {
+    private static final long GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private final int maxValue;
+    private long state;
+    
+    public SplitMixDice(long seed) {
+        this(seed, 6);
+    }
+    
+    public SplitMixDice(long seed, int maxValue) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        this.state = seed;
+        this.maxValue = maxValue;
+    }
+    
+    @Override
+    public int roll() {
+        // Same rejection rule as java.util.Random.nextInt(bound), so every face is equally likely
+        int bits;
+        int value;
+        do {
+            bits = (int) (nextLong() >>> 33);
+            value = bits % maxValue;
+        } while (bits - value + (maxValue - 1) < 0);
+        return value + 1;
+    }
+    
+    private long nextLong() {
+        long z = (state += GAMMA);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    @Override
+    public int getMaxValue() {
+        return maxValue;
+    }
+    
+    @Override
+    public long getState() {
+        return state;
+    }
+    
+    @Override
+    public void restoreState(long state) {
+        this.state = state;
+    }
+}
@@ -0,0 +1,54 @@
+package com.snakeladder.strategy;
+
+import java.util.SplittableRandom;
+
+/**
+ * Dice backed by SplittableRandom, cheap to split into independent per-thread instances
+ */
+public class SplittableDice implements SplittableDiceStrategy {
+    private final SplittableRandom random;
+    private final int maxValue;
+    
+    public SplittableDice(long seed) {
+        this(new SplittableRandom(seed), 6);
+    }
+    
+    public SplittableDice(long seed, int maxValue) {
+        this(new SplittableRandom(seed), maxValue);
+    }
+    
+    private SplittableDice(SplittableRandom random, int maxValue) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        this.random = random;
+        this.maxValue = maxValue;
+    }
+    
+    /**
+     * Returns a new dice with a statistically independent stream, for use on another thread
+     */
+    @Override
+    public SplittableDice split() {
+        return new SplittableDice(random.split(), maxValue);
+    }
+    
+    @Override
+    public int roll() {
+        return random.nextInt(maxValue) + 1;
+    }
+    
+    @Override
+    public void roll(int[] rolls, int offset, int count) {
+        SplittableRandom random = this.random;
+        int maxValue = this.maxValue;
+        for (int i = offset, end = offset + count; i < end; i++) {
+            rolls[i] = random.nextInt(maxValue) + 1;
+        }
+    }
+    
+    @Override
+    public int getMaxValue() {
+        return maxValue;
+    }
+}
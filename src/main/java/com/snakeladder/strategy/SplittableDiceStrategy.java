@@ -0,0 +1,12 @@
+package com.snakeladder.strategy;
+
+/**
+ * Dice that can hand out statistically independent copies, one per parallel worker
+ */
+public interface SplittableDiceStrategy extends DiceStrategy {
+    /**
+     * Returns new dice with their own stream. Splitting the same seeded dice in the
+     * same order always yields the same streams.
+     */
+    SplittableDiceStrategy split();
+}
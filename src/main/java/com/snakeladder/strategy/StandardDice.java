@@ -14,6 +14,21 @@ public class StandardDice implements DiceStrategy {
         this.maxValue = 6;
     }
     
+    /**
+     * Seeded dice, for games that must be replayable roll for roll
+     */
+    public StandardDice(long seed) {
+        this(seed, 6);
+    }
+    
+    public StandardDice(long seed, int maxValue) {
+        if (maxValue < 1) {
+            throw new IllegalArgumentException("Dice must have at least one face");
+        }
+        this.random = new Random(seed);
+        this.maxValue = maxValue;
+    }
+    
     @Override
     public int roll() {
         return random.nextInt(maxValue) + 1;
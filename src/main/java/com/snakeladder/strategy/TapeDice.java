@@ -0,0 +1,61 @@
+package com.snakeladder.strategy;
+
+/**
+ * Dice that replay a RollTape from a cursor. Running past the end of the tape is an
+ * error rather than a wrap-around, so no game ever silently reuses rolls.
+ */
+public class TapeDice implements DiceStrategy {
+    private final RollTape tape;
+    private final int end;
+    private int cursor;
+    
+    public TapeDice(RollTape tape, int start) {
+        if (start < 0 || start > tape.length()) {
+            throw new IllegalArgumentException("Start " + start + " is outside a tape of " + tape.length());
+        }
+        this.tape = tape;
+        this.end = tape.length();
+        this.cursor = start;
+    }
+    
+    @Override
+    public int roll() {
+        if (cursor == end) {
+            throw new IllegalStateException("Roll tape exhausted after " + end + " rolls");
+        }
+        return tape.rollAt(cursor++);
+    }
+    
+    @Override
+    public void roll(int[] rolls, int offset, int count) {
+        if (count > end - cursor) {
+            throw new IllegalStateException("Roll tape exhausted after " + end + " rolls");
+        }
+        for (int i = offset, last = offset + count; i < last; i++) {
+            rolls[i] = tape.rollAt(cursor++);
+        }
+    }
+    
+    @Override
+    public int getMaxValue() {
+        return tape.getFaces();
+    }
+    
+    /**
+     * Index of the next roll on the tape
+     */
+    public int getPosition() {
+        return cursor;
+    }
+    
+    public void setPosition(int position) {
+        if (position < 0 || position > end) {
+            throw new IllegalArgumentException("Position " + position + " is outside a tape of " + end);
+        }
+        this.cursor = position;
+    }
+    
+    public int remaining() {
+        return end - cursor;
+    }
+}
@@ -0,0 +1,62 @@
+package com.snakeladder.tournament;
+
+import com.snakeladder.models.Player;
+
+/**
+ * One player's row in the standings at the moment they were read
+ */
+public class Standing {
+    private final Player player;
+    private final int seed;
+    private final int wins;
+    private final int losses;
+    private final int byes;
+    
+    Standing(Player player, int seed, int wins, int losses, int byes) {
+        this.player = player;
+        this.seed = seed;
+        this.wins = wins;
+        this.losses = losses;
+        this.byes = byes;
+    }
+    
+    public Player getPlayer() {
+        return player;
+    }
+    
+    /**
+     * Position of the player in the roster, starting at 0
+     */
+    public int getSeed() {
+        return seed;
+    }
+    
+    public int getWins() {
+        return wins;
+    }
+    
+    public int getLosses() {
+        return losses;
+    }
+    
+    public int getByes() {
+        return byes;
+    }
+    
+    public int getPlayed() {
+        return wins + losses;
+    }
+    
+    /**
+     * One point per win or bye
+     */
+    public int getPoints() {
+        return wins + byes;
+    }
+    
+    @Override
+    public String toString() {
+        return String.format("Standing{player='%s', points=%d, wins=%d, losses=%d, byes=%d}",
+                player.getName(), getPoints(), wins, losses, byes);
+    }
+}
@@ -0,0 +1,100 @@
+package com.snakeladder.tournament;
+
+import com.snakeladder.models.Player;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Live tournament table. Match tasks update it as each match finishes, so it can be
+ * read from any thread while the tournament is still running.
+ */
+public class Standings {
+    /**
+     * Largest roster the ranking can order; seeds, points and losses each fit in 21 bits
+     */
+    public static final int MAX_ROSTER = 1 << 21;
+    private static final int FIELD_MASK = MAX_ROSTER - 1;
+    
+    private final List<Player> roster;
+    private final AtomicIntegerArray wins;
+    private final AtomicIntegerArray losses;
+    private final AtomicIntegerArray byes;
+    private final LongAdder matches = new LongAdder();
+    private final LongAdder turns = new LongAdder();
+    
+    public Standings(List<Player> roster) {
+        if (roster.size() > MAX_ROSTER) {
+            throw new IllegalArgumentException("At most " + MAX_ROSTER + " players supported");
+        }
+        this.roster = Collections.unmodifiableList(new ArrayList<>(roster));
+        this.wins = new AtomicIntegerArray(roster.size());
+        this.losses = new AtomicIntegerArray(roster.size());
+        this.byes = new AtomicIntegerArray(roster.size());
+    }
+    
+    void recordMatch(int winner, int loser, long gameTurns) {
+        wins.incrementAndGet(winner);
+        losses.incrementAndGet(loser);
+        matches.increment();
+        turns.add(gameTurns);
+    }
+    
+    void recordBye(int seed) {
+        byes.incrementAndGet(seed);
+    }
+    
+    public List<Player> getRoster() {
+        return roster;
+    }
+    
+    public int getPoints(int seed) {
+        return wins.get(seed) + byes.get(seed);
+    }
+    
+    public long getMatchesPlayed() {
+        return matches.sum();
+    }
+    
+    /**
+     * Mean game length in turns over the matches played so far
+     */
+    public double getMeanTurns() {
+        long played = matches.sum();
+        return played == 0 ? 0 : (double) turns.sum() / played;
+    }
+    
+    /**
+     * Current table ordered by points, then fewest losses, then roster order
+     */
+    public List<Standing> getRanking() {
+        int size = roster.size();
+        long[] keys = new long[size];
+        int[] won = new int[size];
+        int[] lost = new int[size];
+        int[] free = new int[size];
+        for (int seed = 0; seed < size; seed++) {
+            won[seed] = wins.get(seed);
+            lost[seed] = losses.get(seed);
+            free[seed] = byes.get(seed);
+            int points = won[seed] + free[seed];
+            // Sorts ascending: more points, then fewer losses, then lower seed first
+            keys[seed] = ((long) (FIELD_MASK - points) << 42) | ((long) lost[seed] << 21) | seed;
+        }
+        Arrays.sort(keys);
+        List<Standing> ranking = new ArrayList<>(size);
+        for (long key : keys) {
+            int seed = (int) (key & FIELD_MASK);
+            ranking.add(new Standing(roster.get(seed), seed, won[seed], lost[seed], free[seed]));
+        }
+        return ranking;
+    }
+    
+    public Standing getLeader() {
+        return getRanking().get(0);
+    }
+}
@@ -0,0 +1,349 @@
+package com.snakeladder.tournament;
+
+import com.snakeladder.engine.CompactGameEngine;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.strategy.SplitMixDice;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Plays a league or bracket of heads-up games on a work-stealing pool and keeps the
+ * Standings up to date as matches finish.
+ *
+ * Round-robin rounds are independent and run side by side. A Swiss round is paired
+ * as soon as the previous round's last match finishes. A knockout match starts the
+ * moment both of its feeder matches are decided, so different parts of the bracket
+ * move ahead at their own pace.
+ *
+ * Every match rolls its own dice seeded from the tournament seed and the match's
+ * place in the schedule, so a seed gives the same results however the matches are
+ * scheduled. Matches are played on CompactGameEngine, which follows GameEngine's rules.
+ */
+public class Tournament {
+    private static final int MATCHES_PER_TASK = 256;
+    private static final long GOLDEN_GAMMA = 0x9E3779B97F4A7C15L;
+    
+    private final GameBoard board;
+    private final List<Player> roster;
+    private final TournamentFormat format;
+    private final int swissRounds;
+    private final int parallelism;
+    
+    public Tournament(GameBoard board, List<Player> roster, TournamentFormat format) {
+        this(board, roster, format, defaultSwissRounds(roster.size()), Runtime.getRuntime().availableProcessors());
+    }
+    
+    /**
+     * @param swissRounds rounds to play in the SWISS format; ignored by the others
+     */
+    public Tournament(GameBoard board, List<Player> roster, TournamentFormat format,
+                      int swissRounds, int parallelism) {
+        if (roster.size() < 2) {
+            throw new IllegalArgumentException("At least 2 players required for a tournament");
+        }
+        if (roster.size() > Standings.MAX_ROSTER) {
+            throw new IllegalArgumentException("At most " + Standings.MAX_ROSTER + " players supported");
+        }
+        if (format == TournamentFormat.SWISS && swissRounds < 1) {
+            throw new IllegalArgumentException("A Swiss tournament needs at least 1 round");
+        }
+        if (format == TournamentFormat.SWISS && (long) roster.size() * swissRounds > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Too many Swiss rounds for a roster of " + roster.size());
+        }
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("Parallelism must be at least 1");
+        }
+        this.board = board;
+        this.roster = List.copyOf(roster);
+        this.format = format;
+        this.swissRounds = swissRounds;
+        this.parallelism = parallelism;
+    }
+    
+    /**
+     * Enough Swiss rounds to separate a single undefeated leader
+     */
+    static int defaultSwissRounds(int players) {
+        return Math.max(1, 32 - Integer.numberOfLeadingZeros(Math.max(1, players - 1)));
+    }
+    
+    public int getMatchCount() {
+        int n = roster.size();
+        switch (format) {
+            case ROUND_ROBIN:
+                return (int) Math.min(Integer.MAX_VALUE, (long) n * (n - 1) / 2);
+            case SWISS:
+                return (int) Math.min(Integer.MAX_VALUE, (long) swissRounds * (n / 2));
+            default:
+                return n - 1;
+        }
+    }
+    
+    /**
+     * Plays the whole tournament and returns the final standings
+     */
+    public Standings run(long seed) {
+        Standings standings = new Standings(roster);
+        start(seed, standings).join();
+        return standings;
+    }
+    
+    /**
+     * Starts the tournament in the background. The given standings are updated as
+     * each match finishes and are complete once the returned future completes.
+     */
+    public CompletableFuture<Standings> start(long seed, Standings standings) {
+        if (!standings.getRoster().equals(roster)) {
+            throw new IllegalArgumentException("Standings were created for a different roster");
+        }
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        CompletableFuture<Void> done;
+        switch (format) {
+            case ROUND_ROBIN:
+                done = roundRobin(pool, seed, standings);
+                break;
+            case SWISS:
+                done = swiss(pool, seed, standings);
+                break;
+            default:
+                done = knockout(pool, seed, standings);
+                break;
+        }
+        return done.whenComplete((ignored, failure) -> pool.shutdown())
+                .thenApply(ignored -> standings);
+    }
+    
+    // Round robin: circle method, one task per round
+    
+    private CompletableFuture<Void> roundRobin(ForkJoinPool pool, long seed, Standings standings) {
+        int n = roster.size();
+        // An odd roster gets a phantom seat; pairing with it means sitting the round out
+        int seats = n + (n & 1);
+        CompletableFuture<?>[] rounds = new CompletableFuture<?>[seats - 1];
+        for (int round = 0; round < rounds.length; round++) {
+            int r = round;
+            rounds[round] = CompletableFuture.runAsync(() -> {
+                for (int table = 0; table < seats / 2; table++) {
+                    int a = circleSeat(table, r, seats);
+                    int b = circleSeat(seats - 1 - table, r, seats);
+                    if (a < n && b < n) {
+                        playMatch(seed, (long) Math.min(a, b) * n + Math.max(a, b), a, b, standings);
+                    }
+                }
+            }, pool);
+        }
+        return CompletableFuture.allOf(rounds);
+    }
+    
+    /**
+     * Player at the given position in a round of the circle method: the last seat
+     * stays put and everyone else rotates one place per round
+     */
+    private static int circleSeat(int position, int round, int seats) {
+        if (position == seats - 1) {
+            return seats - 1;
+        }
+        return (position + round) % (seats - 1);
+    }
+    
+    // Swiss: each round is paired from the standings once the previous round is done
+    
+    private CompletableFuture<Void> swiss(ForkJoinPool pool, long seed, Standings standings) {
+        int n = roster.size();
+        int[] opponents = new int[n * swissRounds];
+        int[] met = new int[n];
+        boolean[] hadBye = new boolean[n];
+        CompletableFuture<Void> previous = CompletableFuture.completedFuture(null);
+        for (int round = 0; round < swissRounds; round++) {
+            int r = round;
+            previous = previous.thenComposeAsync(ignored -> {
+                int[] pairs = pairSwissRound(standings, opponents, met, hadBye);
+                return playPairs(pool, seed, r, pairs, standings);
+            }, pool);
+        }
+        return previous;
+    }
+    
+    /**
+     * Pairs players in score order with the nearest opponent they have not met, giving
+     * an odd player out a bye. Returns the pairs as consecutive seeds.
+     */
+    private int[] pairSwissRound(Standings standings, int[] opponents, int[] met, boolean[] hadBye) {
+        int n = roster.size();
+        long[] order = new long[n];
+        for (int seed = 0; seed < n; seed++) {
+            order[seed] = ((long) (Standings.MAX_ROSTER - standings.getPoints(seed)) << 32) | seed;
+        }
+        Arrays.sort(order);
+        int[] ranked = new int[n];
+        for (int i = 0; i < n; i++) {
+            ranked[i] = (int) order[i];
+        }
+        
+        boolean[] paired = new boolean[n];
+        if ((n & 1) == 1) {
+            // The lowest ranked player without a bye sits out for a point
+            int bye = -1;
+            for (int i = n - 1; i >= 0 && bye < 0; i--) {
+                if (!hadBye[ranked[i]]) {
+                    bye = ranked[i];
+                }
+            }
+            if (bye < 0) {
+                bye = ranked[n - 1];
+            }
+            hadBye[bye] = true;
+            paired[bye] = true;
+            standings.recordBye(bye);
+        }
+        
+        int[] pairs = new int[n / 2 * 2];
+        int count = 0;
+        for (int i = 0; i < n; i++) {
+            int a = ranked[i];
+            if (paired[a]) {
+                continue;
+            }
+            int fallback = -1;
+            int b = -1;
+            for (int j = i + 1; j < n; j++) {
+                int candidate = ranked[j];
+                if (paired[candidate]) {
+                    continue;
+                }
+                if (fallback < 0) {
+                    fallback = candidate;
+                }
+                if (!haveMet(opponents, met, a, candidate)) {
+                    b = candidate;
+                    break;
+                }
+            }
+            // Everyone left has already played a; a rematch beats leaving a unpaired
+            if (b < 0) {
+                b = fallback;
+            }
+            paired[a] = true;
+            paired[b] = true;
+            opponents[a * swissRounds + met[a]++] = b;
+            opponents[b * swissRounds + met[b]++] = a;
+            pairs[count++] = a;
+            pairs[count++] = b;
+        }
+        return pairs;
+    }
+    
+    private boolean haveMet(int[] opponents, int[] met, int a, int b) {
+        int base = a * swissRounds;
+        for (int i = 0; i < met[a]; i++) {
+            if (opponents[base + i] == b) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
+    private CompletableFuture<Void> playPairs(ForkJoinPool pool, long seed, int round, int[] pairs,
+                                              Standings standings) {
+        int matches = pairs.length / 2;
+        int tasks = (matches + MATCHES_PER_TASK - 1) / MATCHES_PER_TASK;
+        CompletableFuture<?>[] chunks = new CompletableFuture<?>[tasks];
+        for (int task = 0; task < tasks; task++) {
+            int first = task * MATCHES_PER_TASK;
+            int last = Math.min(matches, first + MATCHES_PER_TASK);
+            chunks[task] = CompletableFuture.runAsync(() -> {
+                for (int table = first; table < last; table++) {
+                    long key = (long) round * roster.size() + table;
+                    playMatch(seed, key, pairs[2 * table], pairs[2 * table + 1], standings);
+                }
+            }, pool);
+        }
+        return CompletableFuture.allOf(chunks);
+    }
+    
+    // Knockout: each match waits only on its two feeder matches
+    
+    private CompletableFuture<Void> knockout(ForkJoinPool pool, long seed, Standings standings) {
+        int n = roster.size();
+        int size = Integer.highestOneBit(n - 1) << 1;
+        int[] bracket = bracketOrder(size);
+        
+        // Seeds past the roster are byes; -1 stands for an empty slot
+        List<CompletableFuture<Integer>> slots = new ArrayList<>(size);
+        for (int position : bracket) {
+            slots.add(CompletableFuture.completedFuture(position < n ? position : -1));
+        }
+        for (int round = 0; slots.size() > 1; round++) {
+            List<CompletableFuture<Integer>> next = new ArrayList<>(slots.size() / 2);
+            for (int match = 0; match < slots.size(); match += 2) {
+                long key = (long) round * size + match / 2;
+                next.add(slots.get(match).thenCombineAsync(slots.get(match + 1),
+                        (a, b) -> decide(seed, key, a, b, standings), pool));
+            }
+            slots = next;
+        }
+        return slots.get(0).thenApply(champion -> null);
+    }
+    
+    private int decide(long seed, long key, int a, int b, Standings standings) {
+        if (a < 0 || b < 0) {
+            int through = Math.max(a, b);
+            if (through >= 0) {
+                standings.recordBye(through);
+            }
+            return through;
+        }
+        return playMatch(seed, key, a, b, standings);
+    }
+    
+    /**
+     * Standard seeding so the top two seeds can only meet in the final: 0, 3, 1, 2
+     * for four players, and so on
+     */
+    static int[] bracketOrder(int size) {
+        int[] order = {0};
+        while (order.length < size) {
+            int doubled = order.length * 2;
+            int[] next = new int[doubled];
+            for (int i = 0; i < order.length; i++) {
+                next[2 * i] = order[i];
+                next[2 * i + 1] = doubled - 1 - order[i];
+            }
+            order = next;
+        }
+        return order;
+    }
+    
+    /**
+     * Plays one game between two seeds and returns the winner's seed
+     */
+    private int playMatch(long seed, long key, int a, int b, Standings standings) {
+        long matchSeed = mix(seed + key * GOLDEN_GAMMA);
+        // Who moves first is part of the draw
+        int first = (matchSeed & 1) == 0 ? a : b;
+        int second = first == a ? b : a;
+        CompactGameEngine engine = new CompactGameEngine(board, new SplitMixDice(matchSeed), 2);
+        int winner = engine.playGame() == 0 ? first : second;
+        standings.recordMatch(winner, winner == a ? b : a, engine.getState().getTurns());
+        return winner;
+    }
+    
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+    
+    public TournamentFormat getFormat() {
+        return format;
+    }
+    
+    public List<Player> getRoster() {
+        return roster;
+    }
+}
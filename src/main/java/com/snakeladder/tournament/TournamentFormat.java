@@ -0,0 +1,21 @@
+package com.snakeladder.tournament;
+
+/**
+ * How a Tournament pairs its roster
+ */
+public enum TournamentFormat {
+    /**
+     * Every player meets every other player once
+     */
+    ROUND_ROBIN,
+    /**
+     * A fixed number of rounds, each pairing players with equal or close scores who
+     * have not met yet
+     */
+    SWISS,
+    /**
+     * Single elimination over a seeded bracket; top seeds get byes when the roster is
+     * not a power of two
+     */
+    KNOCKOUT
+}
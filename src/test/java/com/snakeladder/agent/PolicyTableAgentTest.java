@@ -0,0 +1,61 @@
+package com.snakeladder.agent;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicyTableAgentTest {
+    private static final GameBoard BOARD = GameBoard.standard();
+    
+    @Test
+    void playsTheGameItWasSolvedFor() {
+        RuleSet rules = RuleSet.builder().overshoot(OvershootRule.BOUNCE_BACK).build();
+        PolicyTableAgent agent = PolicyTableAgent.forRules(BOARD, rules, 6, 2, false);
+        
+        int option = agent.choose(options(rules, 6, 2, false));
+        
+        assertTrue(option == 0 || option == 1);
+    }
+    
+    @Test
+    void rejectsOtherRules() {
+        PolicyTableAgent agent = PolicyTableAgent.forRules(BOARD, 6, 2, false);
+        RuleSet bounce = RuleSet.builder().overshoot(OvershootRule.BOUNCE_BACK).build();
+        RuleSet chained = RuleSet.builder().chainJumps(true).build();
+        
+        assertThrows(IllegalStateException.class, () -> agent.choose(options(bounce, 6, 2, false)));
+        assertThrows(IllegalStateException.class, () -> agent.choose(options(chained, 6, 2, false)));
+    }
+    
+    @Test
+    void rejectsOtherDice() {
+        PolicyTableAgent agent = PolicyTableAgent.forRules(BOARD, 6, 2, false);
+        
+        assertThrows(IllegalStateException.class, () -> agent.choose(options(RuleSet.standard(), 8, 2, false)));
+        assertThrows(IllegalStateException.class, () -> agent.choose(options(RuleSet.standard(), 6, 3, false)));
+        assertThrows(IllegalStateException.class, () -> agent.choose(options(RuleSet.standard(), 6, 2, true)));
+    }
+    
+    @Test
+    void rejectsAnotherBoard() {
+        PolicyTableAgent agent = PolicyTableAgent.forRules(BOARD, 6, 2, false);
+        GameBoard other = GameBoard.builder(50).addLadder(3, 40).build();
+        MoveOptions options = new MoveOptions(RuleSet.standard().compile(other, 6), false);
+        options.begin(0, 1, 6);
+        options.offer(new int[] {1, 2}, 2);
+        
+        assertThrows(IllegalStateException.class, () -> agent.choose(options));
+    }
+    
+    private static MoveOptions options(RuleSet rules, int faces, int dice, boolean optionalLadders) {
+        MoveOptions options = new MoveOptions(rules.compile(BOARD, faces), optionalLadders);
+        options.begin(0, 1, faces);
+        options.setPosition(0, 0);
+        options.offer(new int[] {1, 2, 3}, dice);
+        return options;
+    }
+}
@@ -0,0 +1,88 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.simulation.MonteCarloSimulator;
+import com.snakeladder.simulation.SimulationResult;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class MarkovChainSolverTest {
+    private static final long GAMES = 200_000;
+    
+    @Test
+    void solvesSmallBoardExactly() {
+        // From 1 a two-faced die finishes on a 1 and overshoots on a 2, so E(1) = 2,
+        // and from 0 a 2 finishes at once while a 1 leads to cell 1: E(0) = 1 + E(1) / 2
+        double[] expected = new MarkovChainSolver(GameBoard.builder(2).build(), 2).expectedTurns();
+        
+        assertEquals(2.0, expected[0], 1e-12);
+        assertEquals(2.0, expected[1], 1e-12);
+        assertEquals(0.0, expected[2], 1e-12);
+    }
+    
+    @Test
+    void reportsCellsThatNeverFinishAsInfinite() {
+        // A one-faced die always lands on the snake at 2 and slides back to 0
+        GameBoard board = GameBoard.builder(3).addSnake(2, 0).build();
+        double[] expected = new MarkovChainSolver(board, 1).expectedTurns();
+        
+        assertEquals(Double.POSITIVE_INFINITY, expected[0]);
+        assertEquals(Double.POSITIVE_INFINITY, expected[1]);
+    }
+    
+    @Test
+    void expectedTurnsMatchSimulation() {
+        GameBoard board = GameBoard.standard();
+        double solved = new MarkovChainSolver(board, 6).expectedTurns()[0];
+        SimulationResult simulated = new MonteCarloSimulator(board, 1, 1).run(GAMES, 17);
+        
+        assertEquals(solved, simulated.getMeanTurns(), 0.25);
+    }
+    
+    @Test
+    void winProbabilitiesAndGameLengthMatchSimulation() {
+        GameBoard board = GameBoard.standard();
+        MarkovSolution solution = new MarkovChainSolver(board, 6).solve(2);
+        SimulationResult simulated = new MonteCarloSimulator(board, 2, 1).run(GAMES, 29);
+        
+        assertTrue(solution.getUnresolvedProbability() < 1e-9);
+        assertEquals(solution.getExpectedGameTurns(), simulated.getMeanTurns(), 0.25);
+        for (int seat = 0; seat < 2; seat++) {
+            assertEquals(solution.getWinProbability(seat), simulated.getWinRate(seat), 0.006);
+        }
+    }
+    
+    @Test
+    void largeBoardMatchesSimulation() {
+        GameBoard.Builder builder = GameBoard.builder(5_000);
+        for (int block = 1; block < 50; block++) {
+            builder.addLadder(block * 100 - 37, block * 100 + 13).addSnake(block * 100 + 41, block * 100 - 61);
+        }
+        GameBoard board = builder.build();
+        MarkovSolution solution = new MarkovChainSolver(board, 6).solve(2);
+        SimulationResult simulated = new MonteCarloSimulator(board, 2, 1).run(20_000, 5);
+        
+        assertTrue(solution.getUnresolvedProbability() < 1e-9);
+        assertEquals(1.0, simulated.getMeanTurns() / solution.getExpectedGameTurns(), 0.01);
+        assertEquals(solution.getWinProbability(0), simulated.getWinRate(0), 0.015);
+    }
+    
+    @Test
+    void rejectsGamesLongerThanTheTurnLimit() {
+        // About 285,000 turns are needed on average, well past the default limit
+        MarkovChainSolver solver = new MarkovChainSolver(GameBoard.builder(1_000_000).build(), 6);
+        
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> solver.solve(2));
+        assertTrue(error.getMessage().contains("100000"));
+    }
+    
+    @Test
+    void rejectsDistributionsCutOffByTheTurnLimit() {
+        MarkovChainSolver solver = new MarkovChainSolver(GameBoard.standard(), 6);
+        
+        assertThrows(IllegalStateException.class, () -> solver.solve(2, 1e-12, 100));
+    }
+}
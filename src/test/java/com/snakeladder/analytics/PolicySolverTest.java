@@ -0,0 +1,121 @@
+package com.snakeladder.analytics;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PolicySolverTest {
+    @Test
+    void oneDieMatchesTheMarkovChain() {
+        GameBoard board = GameBoard.standard();
+        double[] exact = new MarkovChainSolver(board, 6).expectedTurns();
+        PolicySolution solution = new PolicySolver(board, 6, 1, false).solve();
+        
+        assertTrue(solution.isConverged());
+        for (int cell = 0; cell <= board.getBoardSize(); cell++) {
+            assertEquals(exact[cell], solution.getExpectedTurnsFrom(cell), 1e-6, "cell " + cell);
+        }
+    }
+    
+    @Test
+    void solvesUnderTheGivenOvershootRule() {
+        // With FINISH any roll from 1 finishes, and from 0 a 2 finishes while a 1 leads
+        // to cell 1: E(0) = 1 + E(1) / 2. Under STAY a 2 from 1 overshoots, so E(1) = 2.
+        GameBoard board = GameBoard.builder(2).build();
+        RuleSet finish = RuleSet.builder().overshoot(OvershootRule.FINISH).build();
+        
+        PolicySolution solution = new PolicySolver(board, finish, 2, 1, false).solve();
+        
+        assertEquals(1.0, solution.getExpectedTurnsFrom(1), 1e-9);
+        assertEquals(1.5, solution.getExpectedTurnsFrom(0), 1e-9);
+        assertEquals(2.0, new PolicySolver(board, 2, 1, false).solve().getExpectedTurnsFrom(1), 1e-9);
+    }
+    
+    @Test
+    void rejectsRulesWithExtraTurns() {
+        RuleSet rollAgain = RuleSet.builder().rollAgainOnTopFace(true).build();
+        
+        assertThrows(IllegalArgumentException.class,
+                () -> new PolicySolver(GameBoard.standard(), rollAgain, 6, 2, false));
+    }
+    
+    @Test
+    void tableSurvivesARoundTrip() {
+        GameBoard board = GameBoard.standard();
+        RuleSet rules = RuleSet.builder().overshoot(OvershootRule.BOUNCE_BACK).chainJumps(true).build();
+        PolicyTable table = new PolicySolver(board, rules, 6, 2, true).solve().toPolicyTable();
+        
+        PolicyTable read = PolicyTable.fromBytes(table.toBytes());
+        
+        assertTrue(read.isFor(board));
+        assertTrue(read.isFor(rules));
+        assertFalse(read.isFor(RuleSet.standard()));
+        assertEquals(OvershootRule.BOUNCE_BACK, read.getOvershoot());
+        assertTrue(read.isChainJumps());
+        assertEquals(6, read.getFaces());
+        assertEquals(2, read.getDiceOffered());
+        assertTrue(read.isOptionalLadders());
+        for (int cell = 0; cell <= board.getBoardSize(); cell++) {
+            assertEquals(table.rankOf(cell), read.rankOf(cell));
+        }
+        assertArrayEquals(table.toBytes(), read.toBytes());
+    }
+    
+    @Test
+    void readsVersion1TablesAsStandardRules() {
+        byte[] current = PolicyTable.fromValues(GameBoard.standard(), 6, 1, false,
+                new MarkovChainSolver(GameBoard.standard(), 6).expectedTurns()).toBytes();
+        // Version 1 is version 2 without the overshoot byte at offset 24
+        byte[] legacy = new byte[current.length - 1];
+        System.arraycopy(current, 0, legacy, 0, 24);
+        System.arraycopy(current, 25, legacy, 24, current.length - 25);
+        ByteBuffer.wrap(legacy).order(ByteOrder.LITTLE_ENDIAN).putShort(4, (short) 1);
+        
+        PolicyTable read = PolicyTable.fromBytes(legacy);
+        
+        assertTrue(read.isFor(RuleSet.standard()));
+        assertEquals(OvershootRule.STAY, read.getOvershoot());
+    }
+    
+    @Test
+    void rejectsCorruptTables() {
+        byte[] valid = PolicyTable.fromValues(GameBoard.standard(), 6, 1, false,
+                new MarkovChainSolver(GameBoard.standard(), 6).expectedTurns()).toBytes();
+        
+        assertRejected("Not a policy table", patched(valid, 0, 0));
+        assertRejected("Unsupported policy table version", patched(valid, 4, 9));
+        assertRejected("Truncated policy table", Arrays.copyOf(valid, 10));
+        assertRejected("Corrupt policy table", Arrays.copyOf(valid, valid.length - 1));
+        assertRejected("Corrupt policy table", Arrays.copyOf(valid, valid.length + 1));
+        assertRejected("Corrupt policy table", patched(valid, 24, OvershootRule.values().length));
+        assertRejected("Corrupt policy table", patched(valid, 25, 5));
+        assertRejected("Corrupt policy table", patched(valid, 16, 0));
+    }
+    
+    private static byte[] patched(byte[] encoded, int offset, int value) {
+        byte[] copy = encoded.clone();
+        copy[offset] = (byte) value;
+        if (offset == 16) {
+            // Faces is an int; clear the rest of it too
+            Arrays.fill(copy, 17, 20, (byte) 0);
+        }
+        return copy;
+    }
+    
+    private static void assertRejected(String message, byte[] encoded) {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> PolicyTable.fromBytes(encoded));
+        assertTrue(error.getMessage().startsWith(message), error.getMessage());
+    }
+}
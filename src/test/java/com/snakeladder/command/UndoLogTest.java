@@ -0,0 +1,85 @@
+package com.snakeladder.command;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class UndoLogTest {
+    @Test
+    void undoesAndRedoesInOrder() {
+        UndoLog log = new UndoLog(8);
+        for (int turn = 0; turn < 5; turn++) {
+            log.record(turn % 2, turn, turn + 1, turn + 2, turn + 3, turn);
+        }
+        
+        for (int turn = 4; turn >= 0; turn--) {
+            int slot = log.undo();
+            assertEquals(turn % 2, log.seat(slot));
+            assertEquals(turn, log.from(slot));
+            assertEquals(turn + 1, log.to(slot));
+            assertEquals(turn + 2, log.roll(slot));
+            assertEquals(turn + 3, log.jump(slot));
+            assertEquals(turn, log.streak(slot));
+        }
+        assertEquals(-1, log.undo());
+        
+        for (int turn = 0; turn < 5; turn++) {
+            assertEquals(turn, log.from(log.redo()));
+        }
+        assertEquals(-1, log.redo());
+    }
+    
+    @Test
+    void keepsOnlyTheNewestTurnsOnceFull() {
+        UndoLog log = new UndoLog(3);
+        for (int turn = 0; turn < 10; turn++) {
+            log.record(0, turn, turn, 1, turn, 0);
+        }
+        
+        assertEquals(3, log.size());
+        assertEquals(9, log.from(log.undo()));
+        assertEquals(8, log.from(log.undo()));
+        assertEquals(7, log.from(log.undo()));
+        assertFalse(log.canUndo());
+    }
+    
+    @Test
+    void recordingDiscardsTheRedoHistory() {
+        UndoLog log = new UndoLog(4);
+        log.record(0, 0, 1, 1, 1, 0);
+        log.record(1, 0, 2, 2, 2, 0);
+        log.undo();
+        assertTrue(log.canRedo());
+        
+        log.record(1, 0, 3, 3, 3, 0);
+        
+        assertFalse(log.canRedo());
+        assertEquals(3, log.roll(log.undo()));
+        assertEquals(1, log.roll(log.undo()));
+    }
+    
+    @Test
+    void clearEmptiesBothDirections() {
+        UndoLog log = new UndoLog(2);
+        log.record(0, 0, 1, 1, 1, 0);
+        log.record(0, 1, 2, 1, 2, 0);
+        log.undo();
+        
+        log.clear();
+        
+        assertFalse(log.canUndo());
+        assertFalse(log.canRedo());
+    }
+    
+    @Test
+    void acceptsDepthsFromOneUpToTheLimitOnly() {
+        assertEquals(UndoLog.MAX_DEPTH, new UndoLog(UndoLog.MAX_DEPTH).getDepth());
+        assertThrows(IllegalArgumentException.class, () -> new UndoLog(UndoLog.MAX_DEPTH + 1));
+        assertThrows(IllegalArgumentException.class, () -> new UndoLog(Integer.MAX_VALUE));
+        assertThrows(IllegalArgumentException.class, () -> new UndoLog(0));
+        assertEquals(1, new UndoLog(1).getDepth());
+    }
+}
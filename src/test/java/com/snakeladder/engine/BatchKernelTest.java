@@ -0,0 +1,93 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.strategy.SplitMixDice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assumptions.assumeTrue;
+
+class BatchKernelTest {
+    private static final int[] LANE_COUNTS = {1, 3, 7, 8, 16, 33, 256, 1000};
+    
+    @Test
+    void vectorKernelMovesEveryLaneLikeTheScalarOne() {
+        assumeTrue(vectorApiPresent());
+        int[] destinations = GameBoard.standard().compile().toArray();
+        BatchKernel scalar = new ScalarBatchKernel(destinations);
+        BatchKernel vector = new VectorBatchKernel(destinations);
+        assertTrue(vector.isVectorized());
+        assertFalse(scalar.isVectorized());
+        
+        SplittableRandom random = new SplittableRandom(3);
+        for (int lanes : LANE_COUNTS) {
+            for (int round = 0; round < 50; round++) {
+                int rowOffset = random.nextInt(5);
+                int step = random.nextInt(1, 10);
+                int[] row = new int[rowOffset + lanes];
+                int[] rolls = new int[lanes];
+                int[] startSteps = new int[lanes];
+                for (int lane = 0; lane < lanes; lane++) {
+                    // Bias towards the last cells so overshoots and wins are common
+                    row[rowOffset + lane] = random.nextBoolean() ? random.nextInt(100) : random.nextInt(90, 100);
+                    rolls[lane] = random.nextInt(1, 7);
+                    startSteps[lane] = random.nextInt(4) == 0 ? Integer.MAX_VALUE : random.nextInt(step + 3);
+                }
+                
+                int[] scalarRow = row.clone();
+                int[] scalarWon = new int[lanes];
+                int scalarCount = scalar.advance(scalarRow, rowOffset, rolls, startSteps, step, lanes, scalarWon);
+                int[] vectorRow = row.clone();
+                int[] vectorWon = new int[lanes];
+                int vectorCount = vector.advance(vectorRow, rowOffset, rolls, startSteps, step, lanes, vectorWon);
+                
+                String context = lanes + " lanes, round " + round;
+                assertArrayEquals(scalarRow, vectorRow, context);
+                assertEquals(scalarCount, vectorCount, context);
+                assertArrayEquals(Arrays.copyOf(scalarWon, scalarCount), Arrays.copyOf(vectorWon, vectorCount), context);
+            }
+        }
+    }
+    
+    @Test
+    void vectorAndScalarEnginesPlayTheSameGames() {
+        assumeTrue(vectorApiPresent());
+        GameBoard board = GameBoard.standard();
+        
+        List<long[]> scalarGames;
+        System.setProperty(BatchGameEngine.SCALAR_PROPERTY, "true");
+        try {
+            BatchGameEngine scalar = new BatchGameEngine(board, new SplitMixDice(77), 3, 37);
+            assertFalse(scalar.isVectorized());
+            scalarGames = play(scalar);
+        } finally {
+            System.clearProperty(BatchGameEngine.SCALAR_PROPERTY);
+        }
+        BatchGameEngine vector = new BatchGameEngine(board, new SplitMixDice(77), 3, 37);
+        assertTrue(vector.isVectorized());
+        List<long[]> vectorGames = play(vector);
+        
+        assertEquals(scalarGames.size(), vectorGames.size());
+        for (int game = 0; game < scalarGames.size(); game++) {
+            assertArrayEquals(scalarGames.get(game), vectorGames.get(game), "game " + game);
+        }
+    }
+    
+    private static List<long[]> play(BatchGameEngine engine) {
+        List<long[]> games = new ArrayList<>();
+        engine.playGames(5_000, (turns, winner) -> games.add(new long[]{turns, winner}));
+        return games;
+    }
+    
+    private static boolean vectorApiPresent() {
+        return ModuleLayer.boot().findModule("jdk.incubator.vector").isPresent();
+    }
+}
@@ -0,0 +1,137 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.agent.GreedyAgent;
+import com.snakeladder.metrics.EngineMetrics;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.observer.BatchGameObserver;
+import com.snakeladder.observer.GameEvent;
+import com.snakeladder.observer.GameObserver;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.strategy.SplitMixDice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEnginePoolTest {
+    private static final GameBoard BOARD = GameBoard.standard();
+    
+    @Test
+    void reacquiredEnginePlaysLikeANewOne() {
+        GameEnginePool pool = new GameEnginePool(1);
+        GameEngine engine = pool.acquire(BOARD, new Dice(new SplitMixDice(3)));
+        EngineMetrics metrics = new EngineMetrics();
+        CountingObserver observer = new CountingObserver();
+        List<String> staleEvents = new ArrayList<>();
+        engine.setRules(RuleSet.builder()
+                .overshoot(OvershootRule.BOUNCE_BACK)
+                .rollAgainOnTopFace(true)
+                .forfeitStreak(3)
+                .chainJumps(true)
+                .build());
+        engine.setUndoDepth(3);
+        engine.setDiceOffered(2);
+        engine.setOptionalLadders(true);
+        engine.setMetrics(metrics);
+        engine.addObserver(observer);
+        engine.addBatchObserver(recorder(staleEvents));
+        engine.setBatchFlushInterval(5);
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        engine.setPlayerAgent(0, new GreedyAgent());
+        engine.startGame();
+        for (int turn = 0; turn < 10 && engine.playTurn(); turn++) {
+            // Leave the game unfinished with undo history and buffered events
+        }
+        engine.setUndoEnabled(false);
+        
+        pool.release(engine);
+        long turnsMeasured = metrics.getTurns();
+        int eventsSeen = observer.events;
+        int staleCount = staleEvents.size();
+        GameEngine reused = pool.acquire(BOARD, new Dice(new SplitMixDice(11)));
+        
+        assertSame(engine, reused);
+        assertTrue(reused.getRules().isStandard());
+        assertEquals(GameEngine.DEFAULT_UNDO_DEPTH, reused.getUndoDepth());
+        assertTrue(reused.isUndoEnabled());
+        assertEquals(1, reused.getDiceOffered());
+        assertFalse(reused.isOptionalLadders());
+        assertNull(reused.getMetrics());
+        assertNull(reused.getPlayerAgent(0));
+        assertFalse(reused.canUndo());
+        assertTrue(reused.getPlayers().isEmpty());
+        
+        GameEngine fresh = new GameEngine(BOARD, new Dice(new SplitMixDice(11)));
+        assertEquals(play(fresh), play(reused));
+        assertEquals(turnsMeasured, metrics.getTurns());
+        assertEquals(eventsSeen, observer.events);
+        assertEquals(staleCount, staleEvents.size());
+    }
+    
+    private static List<String> play(GameEngine engine) {
+        List<String> events = new ArrayList<>();
+        engine.addBatchObserver(recorder(events));
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        engine.startGame();
+        while (engine.playTurn()) {
+            // Play to the end
+        }
+        for (Player player : engine.getPlayers()) {
+            events.add(player.getName() + "@" + player.getPosition());
+        }
+        return events;
+    }
+    
+    private static BatchGameObserver recorder(List<String> events) {
+        return (GameEvent[] batch, int count) -> {
+            for (int i = 0; i < count; i++) {
+                events.add(batch[i].toString());
+            }
+        };
+    }
+    
+    private static final class CountingObserver implements GameObserver {
+        int events;
+        
+        @Override
+        public void onPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+            events++;
+        }
+        
+        @Override
+        public void onSnakeEncountered(Player player, int snakeHead, int snakeTail) {
+            events++;
+        }
+        
+        @Override
+        public void onLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+            events++;
+        }
+        
+        @Override
+        public void onGameWon(Player winner) {
+            events++;
+        }
+        
+        @Override
+        public void onGameStarted() {
+            events++;
+        }
+        
+        @Override
+        public void onTurnChanged(Player currentPlayer) {
+            events++;
+        }
+    }
+}
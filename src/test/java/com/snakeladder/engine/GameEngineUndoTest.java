@@ -0,0 +1,120 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.strategy.SplitMixDice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameEngineUndoTest {
+    @Test
+    void undoingAndRedoingAWholeGameRetracesEveryTurn() {
+        GameEngine engine = newGame(RuleSet.standard(), 11);
+        roundTrip(engine);
+    }
+    
+    @Test
+    void roundTripKeepsExtraTurnsAndStreaks() {
+        RuleSet rules = RuleSet.builder().rollAgainOnTopFace(true).forfeitStreak(3).build();
+        GameEngine engine = newGame(rules, 23);
+        roundTrip(engine);
+    }
+    
+    @Test
+    void playingAfterUndoDropsTheRedoHistory() {
+        GameEngine engine = newGame(RuleSet.standard(), 5);
+        engine.playTurn();
+        engine.playTurn();
+        assertTrue(engine.undoLastMove());
+        assertTrue(engine.canRedo());
+        
+        engine.playTurn();
+        
+        assertFalse(engine.canRedo());
+        assertFalse(engine.redoLastMove());
+    }
+    
+    @Test
+    void undoDepthBoundsTheHistory() {
+        GameEngine engine = newGame(RuleSet.standard(), 7);
+        engine.setUndoDepth(3);
+        for (int turn = 0; turn < 10; turn++) {
+            engine.playTurn();
+        }
+        
+        int undone = 0;
+        while (engine.undoLastMove()) {
+            undone++;
+        }
+        assertEquals(3, undone);
+    }
+    
+    @Test
+    void disabledHistoryHasNothingToUndo() {
+        GameEngine engine = newGame(RuleSet.standard(), 3);
+        engine.setUndoEnabled(false);
+        engine.playTurn();
+        
+        assertFalse(engine.canUndo());
+        assertFalse(engine.undoLastMove());
+    }
+    
+    private static GameEngine newGame(RuleSet rules, long seed) {
+        GameEngine engine = new GameEngine(GameBoard.standard(), new Dice(new SplitMixDice(seed)));
+        engine.setRules(rules);
+        engine.setUndoDepth(100_000);
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        engine.addPlayer(new Player("Carol", 3));
+        engine.startGame();
+        return engine;
+    }
+    
+    /**
+     * Plays the game out, undoes every turn and redoes them all, checking the state
+     * after each step against the one seen while playing
+     */
+    private static void roundTrip(GameEngine engine) {
+        List<int[]> states = new ArrayList<>();
+        states.add(state(engine));
+        while (engine.playTurn()) {
+            states.add(state(engine));
+        }
+        states.add(state(engine));
+        assertTrue(engine.isGameWon());
+        
+        for (int turn = states.size() - 2; turn >= 0; turn--) {
+            assertTrue(engine.undoLastMove());
+            assertArrayEquals(states.get(turn), state(engine), "after undoing to turn " + turn);
+        }
+        assertFalse(engine.undoLastMove());
+        
+        for (int turn = 1; turn < states.size(); turn++) {
+            assertTrue(engine.redoLastMove());
+            assertArrayEquals(states.get(turn), state(engine), "after redoing turn " + turn);
+        }
+        assertFalse(engine.redoLastMove());
+        assertTrue(engine.isGameWon());
+    }
+    
+    private static int[] state(GameEngine engine) {
+        List<Player> players = engine.getPlayers();
+        int[] state = new int[players.size() + 3];
+        for (int seat = 0; seat < players.size(); seat++) {
+            state[seat] = players.get(seat).getPosition();
+        }
+        state[players.size()] = engine.getCurrentPlayerIndex();
+        state[players.size() + 1] = engine.getTopStreak();
+        state[players.size() + 2] = engine.isGameWon() ? 1 : 0;
+        return state;
+    }
+}
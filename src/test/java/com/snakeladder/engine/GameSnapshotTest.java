@@ -0,0 +1,316 @@
+package com.snakeladder.engine;
+
+import com.snakeladder.models.BoardRegistry;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.rules.OvershootRule;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.strategy.SplitMixDice;
+import com.snakeladder.strategy.StandardDice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSnapshotTest {
+    @Test
+    void restoredGameRollsExactlyAsTheOriginal() {
+        GameEngine original = newGame(GameBoard.standard(), 31, "Alice", "Bob", "Carol");
+        for (int turn = 0; turn < 12; turn++) {
+            original.playTurn();
+        }
+        GameEngine restored = GameSnapshot.restore(GameSnapshot.capture(original));
+        
+        assertEquals(original.getBoard(), restored.getBoard());
+        assertEquals(original.getUndoDepth(), restored.getUndoDepth());
+        for (int seat = 0; seat < 3; seat++) {
+            assertEquals(original.getPlayers().get(seat).getName(), restored.getPlayers().get(seat).getName());
+            assertEquals(original.getPlayers().get(seat).getId(), restored.getPlayers().get(seat).getId());
+        }
+        boolean running = true;
+        while (running) {
+            assertSameState(original, restored);
+            running = original.playTurn();
+            assertEquals(running, restored.playTurn());
+        }
+        assertSameState(original, restored);
+        assertTrue(restored.isGameWon());
+    }
+    
+    @Test
+    void keepsUndoSettingsAndTheOutcome() {
+        GameEngine original = newGame(GameBoard.standard(), 8, "Alice", "Bob");
+        original.setUndoDepth(17);
+        original.setUndoEnabled(false);
+        while (original.playTurn()) {
+            // play to the end
+        }
+        
+        GameEngine restored = GameSnapshot.restore(GameSnapshot.capture(original));
+        
+        assertEquals(17, restored.getUndoDepth());
+        assertFalse(restored.isUndoEnabled());
+        assertTrue(restored.isGameWon());
+        assertFalse(restored.playTurn());
+        assertSameState(original, restored);
+    }
+    
+    @Test
+    void keepsVariantRulesAndChoiceSettings() {
+        GameBoard board = GameBoard.builder(100).withDefaultLayout().addLadder(14, 37).build();
+        RuleSet rules = RuleSet.builder()
+                .overshoot(OvershootRule.BOUNCE_BACK)
+                .rollAgainOnTopFace(true)
+                .forfeitStreak(3)
+                .chainJumps(true)
+                .build();
+        GameEngine original = newGame(board, 12, "Alice", "Bob");
+        original.setRules(rules);
+        original.setDiceOffered(2);
+        original.setOptionalLadders(true);
+        // Capture in the middle of a roll-again streak
+        while (original.getTopStreak() == 0) {
+            assertTrue(original.playTurn());
+        }
+        
+        GameEngine restored = GameSnapshot.restore(GameSnapshot.capture(original));
+        
+        assertEquals(rules, restored.getRules());
+        assertEquals(2, restored.getDiceOffered());
+        assertTrue(restored.isOptionalLadders());
+        boolean running = true;
+        while (running) {
+            assertSameState(original, restored);
+            running = original.playTurn();
+            assertEquals(running, restored.playTurn());
+        }
+        assertSameState(original, restored);
+    }
+    
+    @Test
+    void readsVersion1SnapshotsWithTheStandardRules() {
+        GameEngine original = newGame(GameBoard.standard(), 5, "Alice", "Bob");
+        for (int turn = 0; turn < 7; turn++) {
+            original.playTurn();
+        }
+        byte[] current = GameSnapshot.capture(original);
+        // Version 1 has no rule block between the undo depth and the player count
+        GameBoard board = original.getBoard();
+        int rulesOffset = 8 + 12 + 8 * (board.getSnakeCount() + board.getLadderCount()) + 1 + 4 + 8 + 4;
+        ByteBuffer legacy = ByteBuffer.allocate(current.length - 14).order(ByteOrder.LITTLE_ENDIAN);
+        legacy.put(current, 0, rulesOffset).put(current, rulesOffset + 14, current.length - rulesOffset - 14);
+        legacy.putShort(4, (short) 1);
+        
+        GameEngine restored = GameSnapshot.restore(legacy.array());
+        
+        assertTrue(restored.getRules().isStandard());
+        assertEquals(1, restored.getDiceOffered());
+        assertFalse(restored.isOptionalLadders());
+        assertSameState(original, restored);
+        assertEquals(original.playTurn(), restored.playTurn());
+        assertSameState(original, restored);
+    }
+    
+    @Test
+    void writesAtTheBufferPositionAndReadsBackFromIt() {
+        GameEngine original = newGame(GameBoard.standard(), 4, "Alice", "Bob");
+        original.playTurn();
+        int size = GameSnapshot.encodedSize(original);
+        ByteBuffer buffer = ByteBuffer.allocate(size + 10);
+        buffer.position(10);
+        
+        GameSnapshot.write(original, buffer);
+        assertEquals(size + 10, buffer.position());
+        
+        buffer.position(10);
+        GameEngine restored = GameSnapshot.restore(buffer);
+        assertEquals(size + 10, buffer.position());
+        assertSameState(original, restored);
+    }
+    
+    @Test
+    void namesUpTo65535BytesRoundTrip() {
+        String longName = "é".repeat(0xFFFF / 2) + "x";
+        GameEngine original = newGame(GameBoard.standard(), 1, longName, "Bob");
+        
+        GameEngine restored = GameSnapshot.restore(GameSnapshot.capture(original));
+        
+        assertEquals(longName, restored.getPlayers().get(0).getName());
+        assertEquals("Bob", restored.getPlayers().get(1).getName());
+    }
+    
+    @Test
+    void rejectsNamesLongerThan65535Bytes() {
+        GameEngine engine = newGame(GameBoard.standard(), 1, "x".repeat(0x10000), "Bob");
+        
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.capture(engine));
+    }
+    
+    @Test
+    void rejectsDiceThatCannotBeRestored() {
+        GameEngine engine = new GameEngine(GameBoard.standard(), new Dice(new StandardDice(5)));
+        engine.addPlayer(new Player("Alice", 1));
+        
+        assertThrows(IllegalStateException.class, () -> GameSnapshot.capture(engine));
+    }
+    
+    @Test
+    void rejectsForeignBytes() {
+        byte[] snapshot = GameSnapshot.capture(newGame(GameBoard.standard(), 2, "Alice", "Bob"));
+        snapshot[0] ^= 0x20;
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.restore(snapshot));
+        assertEquals("Not a game snapshot", error.getMessage());
+    }
+    
+    @Test
+    void rejectsUnknownVersions() {
+        byte[] snapshot = GameSnapshot.capture(newGame(GameBoard.standard(), 2, "Alice", "Bob"));
+        ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN).putShort(4, (short) (GameSnapshot.VERSION + 1));
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.restore(snapshot));
+        assertTrue(error.getMessage().startsWith("Unsupported snapshot version"));
+    }
+    
+    @Test
+    void rejectsEveryTruncation() {
+        byte[] snapshot = GameSnapshot.capture(newGame(GameBoard.standard(), 2, "Alice", "Bob"));
+        for (int length = 0; length < snapshot.length; length++) {
+            byte[] truncated = Arrays.copyOf(snapshot, length);
+            assertThrows(IllegalArgumentException.class, () -> GameSnapshot.restore(truncated),
+                    "restored from " + length + " of " + snapshot.length + " bytes");
+        }
+    }
+    
+    @Test
+    void rejectsSeatsOutsideThePlayers() {
+        byte[] snapshot = GameSnapshot.capture(newGame(GameBoard.standard(), 2, "Alice", "Bob"));
+        // The current seat follows the player count, just before the first player
+        int seatOffset = snapshot.length - 2 * 10 - "Alice".length() - "Bob".length() - 4;
+        ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN).putInt(seatOffset, 2);
+        
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.restore(snapshot));
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+            "boardSize,        0",
+            "snakeCount,       1000000",
+            "faces,            0",
+            "undoDepth,        0",
+            "undoDepth,        2147483647",
+            "forfeitStreak,    1",
+            "topStreak,        -1",
+            "topStreak,        1",
+            "diceOffered,      0",
+            "diceOffered,      2147483647",
+            "playerCount,      0",
+            "playerCount,      2147483647",
+            "seat,             -1",
+            "position,         -1",
+            "position,         101",
+            "position,         5000",
+            "position,         100",
+    })
+    void rejectsFieldsOutsideTheirRange(String field, int value) {
+        GameEngine original = newGame(GameBoard.standard(), 2, "Alice", "Bob");
+        byte[] snapshot = GameSnapshot.capture(original);
+        ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN).putInt(offsetOf(field, original.getBoard()), value);
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.restore(snapshot));
+        assertEquals("Corrupt game snapshot", error.getMessage());
+    }
+    
+    @Test
+    void rejectsSnakesOffTheBoard() {
+        GameEngine original = newGame(GameBoard.standard(), 2, "Alice", "Bob");
+        byte[] snapshot = GameSnapshot.capture(original);
+        // The first snake's head
+        ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN).putInt(20, 101);
+        
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> GameSnapshot.restore(snapshot));
+        assertEquals("Corrupt game snapshot", error.getMessage());
+    }
+    
+    @Test
+    void rejectsAWinWithoutAPlayerOnTheLastCell() {
+        byte[] snapshot = GameSnapshot.capture(newGame(GameBoard.standard(), 2, "Alice", "Bob"));
+        ByteBuffer buffer = ByteBuffer.wrap(snapshot).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putShort(6, (short) (buffer.getShort(6) | 1));
+        
+        assertThrows(IllegalArgumentException.class, () -> GameSnapshot.restore(snapshot));
+    }
+    
+    @Test
+    void internsBoardsOnlyInTheGivenRegistry() {
+        GameBoard board = GameBoard.builder(30).addSnake(29, 3).build();
+        byte[] snapshot = GameSnapshot.capture(newGame(board, 2, "Alice", "Bob"));
+        int sharedBoards = BoardRegistry.shared().size();
+        BoardRegistry registry = new BoardRegistry();
+        
+        GameEngine first = GameSnapshot.restore(snapshot, registry);
+        GameEngine second = GameSnapshot.restore(snapshot, registry);
+        GameEngine unshared = GameSnapshot.restore(snapshot);
+        
+        assertSame(first.getBoard(), second.getBoard());
+        assertTrue(registry.contains(board));
+        assertNotSame(first.getBoard(), unshared.getBoard());
+        assertEquals(sharedBoards, BoardRegistry.shared().size());
+    }
+    
+    /**
+     * Offset of an int field in a version 2 snapshot of a game with players named
+     * Alice and Bob
+     */
+    private static int offsetOf(String field, GameBoard board) {
+        int dice = 8 + 12 + 8 * (board.getSnakeCount() + board.getLadderCount());
+        int rules = dice + 1 + 4 + 8 + 4;
+        switch (field) {
+            case "boardSize": return 8;
+            case "snakeCount": return 12;
+            case "faces": return dice + 1;
+            case "undoDepth": return rules - 4;
+            case "forfeitStreak": return rules + 2;
+            case "topStreak": return rules + 6;
+            case "diceOffered": return rules + 10;
+            case "playerCount": return rules + 14;
+            case "seat": return rules + 18;
+            case "position": return rules + 26;
+            default: throw new IllegalArgumentException(field);
+        }
+    }
+    
+    static GameEngine newGame(GameBoard board, long seed, String... names) {
+        GameEngine engine = new GameEngine(board, new Dice(new SplitMixDice(seed)));
+        for (int seat = 0; seat < names.length; seat++) {
+            engine.addPlayer(new Player(names[seat], seat + 1));
+        }
+        engine.startGame();
+        return engine;
+    }
+    
+    static void assertSameState(GameEngine expected, GameEngine actual) {
+        assertEquals(expected.getPlayers().size(), actual.getPlayers().size());
+        for (int seat = 0; seat < expected.getPlayers().size(); seat++) {
+            assertEquals(expected.getPlayers().get(seat).getPosition(), actual.getPlayers().get(seat).getPosition());
+        }
+        assertEquals(expected.getCurrentPlayerIndex(), actual.getCurrentPlayerIndex());
+        assertEquals(expected.getTopStreak(), actual.getTopStreak());
+        assertEquals(expected.isGameWon(), actual.isGameWon());
+    }
+}
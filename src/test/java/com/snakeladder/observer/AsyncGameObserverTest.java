@@ -0,0 +1,53 @@
+package com.snakeladder.observer;
+
+import com.snakeladder.models.Player;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+
+class AsyncGameObserverTest {
+    @Test
+    void blockingPublishFailsOnceTheConsumerHasDied() {
+        AsyncGameObserver observer = new AsyncGameObserver(new DyingObserver(), 1, BackpressurePolicy.BLOCK);
+        Player player = new Player("Alice", 1);
+        
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () -> assertThrows(IllegalStateException.class, () -> {
+            while (true) {
+                observer.onTurnChanged(player);
+            }
+        }));
+    }
+    
+    /**
+     * Throws an Error on the first turn change, which kills the consumer thread
+     */
+    private static final class DyingObserver implements GameObserver {
+        @Override
+        public void onPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+        }
+        
+        @Override
+        public void onSnakeEncountered(Player player, int snakeHead, int snakeTail) {
+        }
+        
+        @Override
+        public void onLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+        }
+        
+        @Override
+        public void onGameWon(Player winner) {
+        }
+        
+        @Override
+        public void onGameStarted() {
+        }
+        
+        @Override
+        public void onTurnChanged(Player currentPlayer) {
+            throw new AssertionError("listener bug");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package com.snakeladder.observer;
+
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.strategy.SplitMixDice;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+
+class GameObserverBatchAdapterTest {
+    @Test
+    void batchedCallbacksSeeEachPlayerWhereTheEventLeftThem() {
+        GameEngine engine = new GameEngine(GameBoard.standard(), new Dice(new SplitMixDice(11)));
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        RecordingObserver direct = new RecordingObserver();
+        RecordingObserver batched = new RecordingObserver();
+        engine.addObserver(direct);
+        engine.addBatchObserver(new GameObserverBatchAdapter(batched, engine.getPlayers()));
+        // One batch for the whole game, delivered after every player has moved on
+        engine.setBatchFlushInterval(0);
+        
+        engine.startGame();
+        while (engine.playTurn()) {
+            // play to the end
+        }
+        
+        assertEquals(direct.calls, batched.calls);
+        assertNotSame(engine.getPlayers().get(0), batched.lastPlayer);
+    }
+    
+    /**
+     * Records each callback with the player's name and position at the time of the call
+     */
+    private static final class RecordingObserver implements GameObserver {
+        final List<String> calls = new ArrayList<>();
+        Player lastPlayer;
+        
+        private void record(String event, Player player, int a, int b) {
+            calls.add(event + " " + player.getName() + "@" + player.getPosition() + " " + a + " " + b);
+            lastPlayer = player;
+        }
+        
+        @Override
+        public void onPlayerMoved(Player player, int oldPosition, int newPosition, int diceRoll) {
+            record("moved", player, oldPosition, newPosition);
+        }
+        
+        @Override
+        public void onSnakeEncountered(Player player, int snakeHead, int snakeTail) {
+            record("snake", player, snakeHead, snakeTail);
+        }
+        
+        @Override
+        public void onLadderEncountered(Player player, int ladderBottom, int ladderTop) {
+            record("ladder", player, ladderBottom, ladderTop);
+        }
+        
+        @Override
+        public void onGameWon(Player winner) {
+            record("won", winner, 0, 0);
+        }
+        
+        @Override
+        public void onGameStarted() {
+            calls.add("started");
+        }
+        
+        @Override
+        public void onTurnChanged(Player currentPlayer) {
+            record("turn", currentPlayer, 0, 0);
+        }
+    }
+}
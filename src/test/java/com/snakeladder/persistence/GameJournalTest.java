@@ -0,0 +1,253 @@
+package com.snakeladder.persistence;
+
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.engine.GameState;
+import com.snakeladder.models.Dice;
+import com.snakeladder.models.GameBoard;
+import com.snakeladder.models.Player;
+import com.snakeladder.rules.RuleSet;
+import com.snakeladder.strategy.SplitMixDice;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameJournalTest {
+    @TempDir
+    Path directory;
+    
+    @Test
+    void recordsReadBackAcrossSegments() throws IOException {
+        try (GameJournal journal = new GameJournal(directory, 4, 2, Duration.ofMillis(1))) {
+            for (int turn = 0; turn < 10; turn++) {
+                journal.append(7L << 40 | turn % 3, turn, turn % 3, turn * 10, turn * 10 + 5, turn % 6 + 1,
+                        turn == 9, (turn + 1) % 3, 3);
+            }
+            journal.commit();
+            assertEquals(10, journal.getDurableCount());
+        }
+        assertEquals(3, GameJournal.listSegments(directory).size());
+        
+        try (GameJournalReader reader = new GameJournalReader(directory)) {
+            assertEquals(10, reader.getRecordCount());
+            for (int turn = 0; turn < 10; turn++) {
+                assertEquals(7L << 40 | turn % 3, reader.getGameId(turn));
+                assertEquals(turn, reader.getTurn(turn));
+                assertEquals(turn % 3, reader.getSeat(turn));
+                assertEquals(turn * 10, reader.getFrom(turn));
+                assertEquals(turn * 10 + 5, reader.getTo(turn));
+                assertEquals(turn % 6 + 1, reader.getRoll(turn));
+                assertEquals(turn == 9, reader.isWinningTurn(turn));
+                assertEquals(3, reader.getPlayerCount(turn));
+                assertEquals((turn + 1) % 3, reader.getNextSeat(turn));
+            }
+            assertThrows(IndexOutOfBoundsException.class, () -> reader.getTurn(10));
+        }
+    }
+    
+    @Test
+    void reopeningDropsATornRecordAndAppendsAfterIt() throws IOException {
+        try (GameJournal journal = new GameJournal(directory)) {
+            for (int turn = 0; turn < 3; turn++) {
+                journal.append(1, turn, 0, turn, turn + 1, 1, false, 1, 2);
+            }
+            journal.commit();
+        }
+        Path segment = GameJournal.listSegments(directory).get(0);
+        Files.write(segment, new byte[JournalFormat.RECORD_SIZE / 2], StandardOpenOption.APPEND);
+        
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.append(1, 3, 0, 3, 4, 1, true, 0, 2);
+            journal.commit();
+        }
+        
+        try (GameJournalReader reader = new GameJournalReader(directory)) {
+            assertEquals(4, reader.getRecordCount());
+            assertEquals(3, reader.getTurn(3));
+            assertTrue(reader.isWinningTurn(3));
+        }
+    }
+    
+    @Test
+    void replayMatchesTheJournaledGame() throws IOException {
+        // Every even cell up to 300 climbs to the next one, so chained jumps pass
+        // through far more jumps than fit in the default event buffer
+        GameBoard.Builder builder = GameBoard.builder(400).addSnake(399, 1);
+        for (int cell = 2; cell < 300; cell += 2) {
+            builder.addLadder(cell, cell + 2);
+        }
+        GameEngine engine = new GameEngine(builder.build(), new Dice(new SplitMixDice(99)));
+        engine.setRules(RuleSet.builder().chainJumps(true).build());
+        engine.setBatchFlushInterval(0);
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        
+        try (GameJournal journal = new GameJournal(directory)) {
+            JournalingObserver observer = new JournalingObserver(journal, 42, 2);
+            engine.addBatchObserver(observer);
+            engine.startGame();
+            int turns = 1;
+            while (engine.playTurn()) {
+                turns++;
+            }
+            journal.awaitDurable(observer.getLastSequence());
+            assertEquals(turns, observer.getTurnsJournaled());
+        }
+        
+        try (GameJournalReader reader = new GameJournalReader(directory)) {
+            GameState state = reader.replay(42);
+            assertTrue(state.isFinished());
+            assertEquals(engine.getCurrentPlayerIndex(), state.getWinner());
+            for (int seat = 0; seat < 2; seat++) {
+                assertEquals(engine.getPlayers().get(seat).getPosition(), state.getPosition(seat));
+            }
+            assertFalse(reader.replay(42, 1).isFinished());
+            assertNull(reader.replay(43));
+        }
+    }
+    
+    @Test
+    void replayFollowsExtraTurns() throws IOException {
+        GameEngine engine = new GameEngine(GameBoard.standard(), new Dice(new SplitMixDice(5)));
+        engine.setRules(RuleSet.builder().rollAgainOnTopFace(true).forfeitStreak(3).build());
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        engine.addPlayer(new Player("Carol", 3));
+        
+        try (GameJournal journal = new GameJournal(directory)) {
+            JournalingObserver observer = new JournalingObserver(journal, 9, 3);
+            engine.addBatchObserver(observer);
+            engine.startGame();
+            int extraTurns = 0;
+            boolean running = true;
+            while (running) {
+                int seat = engine.getCurrentPlayerIndex();
+                running = engine.playTurn();
+                if (running && engine.getCurrentPlayerIndex() == seat) {
+                    extraTurns++;
+                }
+                assertReplayMatches(journal, observer, engine);
+            }
+            assertTrue(extraTurns > 0);
+        }
+    }
+    
+    @Test
+    void replayFollowsUndoAndRedo() throws IOException {
+        GameEngine engine = new GameEngine(GameBoard.standard(), new Dice(new SplitMixDice(21)));
+        engine.setRules(RuleSet.builder().rollAgainOnTopFace(true).build());
+        engine.addPlayer(new Player("Alice", 1));
+        engine.addPlayer(new Player("Bob", 2));
+        
+        try (GameJournal journal = new GameJournal(directory)) {
+            JournalingObserver observer = new JournalingObserver(journal, 3, 2);
+            engine.addBatchObserver(observer);
+            engine.startGame();
+            boolean running = true;
+            for (int step = 0; running || engine.canUndo(); step++) {
+                // Undo every third turn and replay it differently, and take back and
+                // redo every fifth, including the winning turn
+                if (!running || step % 5 == 4) {
+                    assertTrue(engine.undoLastMove());
+                    assertReplayMatches(journal, observer, engine);
+                    assertTrue(engine.redoLastMove());
+                    if (!running) {
+                        assertReplayMatches(journal, observer, engine);
+                        break;
+                    }
+                } else if (step % 3 == 2) {
+                    assertTrue(engine.undoLastMove());
+                    assertReplayMatches(journal, observer, engine);
+                    running = engine.playTurn();
+                } else {
+                    running = engine.playTurn();
+                }
+                assertReplayMatches(journal, observer, engine);
+            }
+            assertTrue(engine.isGameWon());
+        }
+    }
+    
+    private void assertReplayMatches(GameJournal journal, JournalingObserver observer, GameEngine engine)
+            throws IOException {
+        journal.awaitDurable(observer.getLastSequence());
+        try (GameJournalReader reader = new GameJournalReader(directory)) {
+            GameState state = reader.replay(observer.getGameId());
+            assertEquals(engine.isGameWon(), state.isFinished());
+            assertEquals(engine.getCurrentPlayerIndex(), state.getCurrentSeat());
+            for (int seat = 0; seat < engine.getPlayers().size(); seat++) {
+                assertEquals(engine.getPlayers().get(seat).getPosition(), state.getPosition(seat));
+            }
+        }
+    }
+    
+    @Test
+    void readsVersion1SegmentsAndAppendsAfterThemInANewSegment() throws IOException {
+        // A version 1 record: game 1, turn 0, seat 1 of 2 moved from 0 to 4 with a 4
+        ByteBuffer record = ByteBuffer.allocate(JournalFormat.RECORD_SIZE).order(JournalFormat.BYTE_ORDER)
+                .putLong(1).putInt(0).putInt(1).putInt(0).putInt(4).putInt(4)
+                .putInt(2 << JournalFormat.PLAYER_COUNT_SHIFT);
+        Path legacy = JournalFormat.segmentPath(directory, 0);
+        Files.write(legacy, header(JournalFormat.MAGIC, 1));
+        Files.write(legacy, record.array(), StandardOpenOption.APPEND);
+        
+        try (GameJournal journal = new GameJournal(directory)) {
+            journal.append(1, 1, 0, 0, 5, 5, false, 1, 2);
+            journal.commit();
+        }
+        
+        assertEquals(2, GameJournal.listSegments(directory).size());
+        try (GameJournalReader reader = new GameJournalReader(directory)) {
+            assertEquals(2, reader.getRecordCount());
+            assertEquals(0, reader.getNextSeat(0));
+            assertEquals(1, reader.getNextSeat(1));
+            GameState state = reader.replay(1);
+            assertEquals(5, state.getPosition(0));
+            assertEquals(4, state.getPosition(1));
+            assertEquals(1, state.getCurrentSeat());
+        }
+    }
+    
+    @Test
+    void readerRejectsAForeignFile() throws IOException {
+        Path segment = JournalFormat.segmentPath(directory, 0);
+        Files.write(segment, header(0x12345678, JournalFormat.VERSION));
+        
+        IOException error = assertThrows(IOException.class, () -> new GameJournalReader(directory));
+        assertTrue(error.getMessage().startsWith("Not a journal segment"));
+    }
+    
+    @Test
+    void readerRejectsAnUnknownVersion() throws IOException {
+        Files.write(JournalFormat.segmentPath(directory, 0), header(JournalFormat.MAGIC, JournalFormat.VERSION + 1));
+        
+        IOException error = assertThrows(IOException.class, () -> new GameJournalReader(directory));
+        assertTrue(error.getMessage().startsWith("Unsupported journal version"));
+    }
+    
+    @Test
+    void readerRejectsATruncatedHeader() throws IOException {
+        Files.write(JournalFormat.segmentPath(directory, 0), new byte[JournalFormat.HEADER_SIZE - 1]);
+        
+        assertThrows(IOException.class, () -> new GameJournalReader(directory));
+    }
+    
+    private static byte[] header(int magic, int version) {
+        return ByteBuffer.allocate(JournalFormat.HEADER_SIZE)
+                .order(JournalFormat.BYTE_ORDER)
+                .putInt(magic)
+                .putInt(version)
+                .array();
+    }
+}
@@ -0,0 +1,143 @@
+package com.snakeladder.rules;
+
+import com.snakeladder.models.GameBoard;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class RuleSetTest {
+    // 2 -> 11 -> 5 -> 8 when jumps chain, and a snake from 18 back to 1
+    private static final GameBoard BOARD = GameBoard.builder(20)
+            .addLadder(2, 11)
+            .addSnake(11, 5)
+            .addLadder(5, 8)
+            .addSnake(18, 1)
+            .build();
+    
+    @ParameterizedTest
+    @CsvSource({
+            "STAY,        15, 5, 20, 20",
+            "STAY,        17, 5, 17, 17",
+            "STAY,        18, 6, 18,  1",
+            "BOUNCE_BACK, 15, 5, 20, 20",
+            "BOUNCE_BACK, 17, 5, 18,  1",
+            "BOUNCE_BACK, 19, 2, 19, 19",
+            "BOUNCE_BACK, 16, 6, 18,  1",
+            "FINISH,      15, 5, 20, 20",
+            "FINISH,      17, 5, 20, 20",
+            "FINISH,      19, 6, 20, 20",
+    })
+    void overshoot(OvershootRule overshoot, int position, int roll, int landed, int destination) {
+        TransitionTable table = RuleSet.builder().overshoot(overshoot).build().compile(BOARD, 6);
+        
+        assertEquals(landed, table.landed(position, roll));
+        assertEquals(destination, table.destination(position, roll));
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+            "false,  0, 2,  2, 11, 1",
+            "false,  9, 2, 11,  5, 1",
+            "false,  3, 2,  5,  8, 1",
+            "false, 12, 6, 18,  1, 1",
+            "true,   0, 2,  2,  8, 3",
+            "true,   9, 2, 11,  8, 3",
+            "true,   3, 2,  5,  8, 3",
+            "true,  12, 6, 18,  1, 3",
+    })
+    void chainJumps(boolean chainJumps, int position, int roll, int landed, int destination, int maxChain) {
+        TransitionTable table = RuleSet.builder().chainJumps(chainJumps).build().compile(BOARD, 6);
+        
+        assertEquals(landed, table.landed(position, roll));
+        assertEquals(destination, table.destination(position, roll));
+        assertEquals(maxChain, table.getMaxChain());
+    }
+    
+    @ParameterizedTest
+    @CsvSource({
+            "false, 0, 6, 0, false, false",
+            "true,  0, 6, 0, true,  false",
+            "true,  0, 5, 0, false, false",
+            "true,  0, 6, 7, true,  false",
+            "true,  3, 6, 0, true,  false",
+            "true,  3, 6, 1, true,  false",
+            "true,  3, 6, 2, true,  true",
+            "true,  3, 5, 2, false, false",
+            "true,  2, 6, 1, true,  true",
+    })
+    void rollAgainAndForfeitStreak(boolean rollAgain, int forfeitStreak, int roll, int streak,
+                                   boolean rollsAgain, boolean forfeits) {
+        RuleSet rules = RuleSet.builder().rollAgainOnTopFace(rollAgain).forfeitStreak(forfeitStreak).build();
+        TransitionTable table = rules.compile(BOARD, 6);
+        
+        assertEquals(rollsAgain, table.rollsAgain(roll));
+        assertEquals(forfeits, table.forfeits(roll, streak));
+    }
+    
+    @ParameterizedTest
+    @EnumSource(OvershootRule.class)
+    void movesWorkedOutPerMoveMatchTheTabulatedOnes(OvershootRule overshoot) {
+        for (boolean chainJumps : new boolean[]{false, true}) {
+            RuleSet rules = RuleSet.builder().overshoot(overshoot).chainJumps(chainJumps).build();
+            TransitionTable tabulated = rules.compile(BOARD, 6);
+            // Enough faces to pass the table limit, of which only the first six are rolled here
+            TransitionTable computed = rules.compile(BOARD, TransitionTable.TABLE_LIMIT);
+            assertEquals(!rules.isStandard(), tabulated.isTabulated());
+            assertFalse(computed.isTabulated());
+            
+            for (int position = 0; position <= BOARD.getBoardSize(); position++) {
+                for (int roll = 1; roll <= 6; roll++) {
+                    assertEquals(tabulated.landed(position, roll), computed.landed(position, roll));
+                    assertEquals(tabulated.destination(position, roll), computed.destination(position, roll));
+                }
+            }
+        }
+    }
+    
+    @Test
+    void standardRulesAreNeverTabulated() {
+        TransitionTable table = RuleSet.standard().compile(BOARD, 6);
+        
+        assertTrue(RuleSet.standard().isStandard());
+        assertTrue(RuleSet.builder().build().isStandard());
+        assertFalse(RuleSet.builder().chainJumps(true).build().isStandard());
+        assertFalse(table.isTabulated());
+        assertEquals(1, table.getMaxChain());
+    }
+    
+    @Test
+    void compiledTablesAreSharedPerBoardAndDie() {
+        RuleSet rules = RuleSet.builder().overshoot(OvershootRule.BOUNCE_BACK).build();
+        
+        assertSame(rules.compile(BOARD, 6), rules.compile(BOARD, 6));
+        assertNotSame(rules.compile(BOARD, 6), rules.compile(BOARD, 4));
+        assertNotSame(rules.compile(BOARD, 6), rules.compile(GameBoard.standard(), 6));
+    }
+    
+    @Test
+    void rejectsJumpsThatLoopWhenChained() {
+        GameBoard loop = GameBoard.builder(20).addLadder(3, 7).addSnake(7, 3).build();
+        
+        RuleSet.standard().compile(loop, 6);
+        IllegalArgumentException e = assertThrows(IllegalArgumentException.class,
+                () -> RuleSet.builder().chainJumps(true).build().compile(loop, 6));
+        assertTrue(e.getMessage().contains("loop forever"));
+    }
+    
+    @Test
+    void builderRejectsInvalidOptions() {
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().overshoot(null));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().forfeitStreak(-1));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().forfeitStreak(1));
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.builder().forfeitStreak(3).build());
+        assertThrows(IllegalArgumentException.class, () -> RuleSet.standard().compile(BOARD, 0));
+    }
+}
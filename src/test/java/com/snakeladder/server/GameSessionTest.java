@@ -0,0 +1,39 @@
+package com.snakeladder.server;
+
+import com.snakeladder.engine.GameEngine;
+import com.snakeladder.models.GameBoard;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayDeque;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class GameSessionTest {
+    @Test
+    void keepsDrainingAfterATaskThrowsAnError() {
+        ArrayDeque<Runnable> executor = new ArrayDeque<>();
+        GameSession session = new GameSession(1, new GameEngine(GameBoard.standard()), executor::add);
+        
+        session.submit(engine -> {
+            throw new AssertionError("boom");
+        });
+        CompletableFuture<Integer> queuedBehind = session.submit(engine -> 1);
+        assertEquals(1, executor.size());
+        assertThrows(AssertionError.class, () -> executor.poll().run());
+        
+        // The task queued behind the failure gets a drain of its own
+        assertEquals(1, executor.size());
+        executor.poll().run();
+        assertEquals(1, queuedBehind.join());
+        
+        // and so does a later submission
+        CompletableFuture<Integer> later = session.submit(engine -> 2);
+        assertEquals(1, executor.size());
+        executor.poll().run();
+        assertEquals(2, later.join());
+        assertTrue(executor.isEmpty());
+    }
+}